@@ -16,12 +16,15 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
 import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.SnapshotHealthIndicatorRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,9 +42,39 @@ class HealthEndpointConfiguration {
 	@ConditionalOnMissingBean
 	@ConditionalOnEnabledEndpoint
 	public HealthEndpoint healthEndpoint(HealthAggregator healthAggregator,
-			HealthIndicatorRegistry registry) {
-		return new HealthEndpoint(
-				new CompositeHealthIndicator(healthAggregator, registry));
+			HealthIndicatorRegistry registry, HealthEndpointProperties properties,
+			ObjectProvider<HealthSnapshotExecutor> snapshotExecutor,
+			ObjectProvider<HealthParallelExecutor> parallelExecutor) {
+		HealthSnapshotExecutor executor = snapshotExecutor.getIfAvailable();
+		if (executor != null) {
+			HealthEndpointProperties.Snapshot snapshot = properties.getSnapshot();
+			registry = new SnapshotHealthIndicatorRegistry(registry,
+					executor.getExecutor(), (name) -> snapshot.getRefreshIntervals()
+							.getOrDefault(name, snapshot.getRefreshInterval()));
+		}
+		CompositeHealthIndicator healthIndicator = new CompositeHealthIndicator(
+				healthAggregator, registry);
+		HealthParallelExecutor parallel = parallelExecutor.getIfAvailable();
+		if (parallel != null) {
+			healthIndicator.parallelStrategy(parallel.getExecutor(),
+					properties.getParallel().getTimeout().toMillis());
+		}
+		return new HealthEndpoint(healthIndicator);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "management.endpoint.health.snapshot", name = "enabled")
+	@ConditionalOnEnabledEndpoint(endpoint = HealthEndpoint.class)
+	public HealthSnapshotExecutor healthSnapshotExecutor() {
+		return new HealthSnapshotExecutor(2);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "management.endpoint.health.parallel", name = "enabled")
+	@ConditionalOnEnabledEndpoint(endpoint = HealthEndpoint.class)
+	public HealthParallelExecutor healthParallelExecutor(
+			HealthEndpointProperties properties) {
+		return new HealthParallelExecutor(properties.getParallel().getMaxThreads());
 	}
 
 }
@@ -16,7 +16,10 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.boot.actuate.health.HealthEndpoint;
@@ -42,6 +45,10 @@ public class HealthEndpointProperties {
 	 */
 	private Set<String> roles = new HashSet<>();
 
+	private final Parallel parallel = new Parallel();
+
+	private final Snapshot snapshot = new Snapshot();
+
 	public ShowDetails getShowDetails() {
 		return this.showDetails;
 	}
@@ -58,4 +65,106 @@ public class HealthEndpointProperties {
 		this.roles = roles;
 	}
 
+	public Parallel getParallel() {
+		return this.parallel;
+	}
+
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Parallel evaluation of health indicators.
+	 */
+	public static class Parallel {
+
+		/**
+		 * Whether to invoke health indicators concurrently rather than one after the
+		 * other.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum time to wait for the health indicators. Indicators that have not
+		 * replied in time are reported with an UNKNOWN status.
+		 */
+		private Duration timeout = Duration.ofSeconds(10);
+
+		/**
+		 * Maximum number of threads used to invoke health indicators. When all threads
+		 * are busy and as many invocations are queued, further indicators are reported
+		 * with an UNKNOWN status.
+		 */
+		private int maxThreads = 4;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+		public int getMaxThreads() {
+			return this.maxThreads;
+		}
+
+		public void setMaxThreads(int maxThreads) {
+			this.maxThreads = maxThreads;
+		}
+
+	}
+
+	/**
+	 * Background refresh of health indicators.
+	 */
+	public static class Snapshot {
+
+		/**
+		 * Whether to invoke health indicators on a schedule and respond with the last
+		 * computed health rather than invoking them on each request.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Time between two invocations of a health indicator.
+		 */
+		private Duration refreshInterval = Duration.ofSeconds(10);
+
+		/**
+		 * Time between two invocations of a health indicator, keyed by indicator name.
+		 * Indicators that are not listed use the default refresh interval.
+		 */
+		private final Map<String, Duration> refreshIntervals = new LinkedHashMap<>();
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(Duration refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
+		public Map<String, Duration> getRefreshIntervals() {
+			return this.refreshIntervals;
+		}
+
+	}
+
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Holds the {@link ExecutorService} used by a {@link CompositeHealthIndicator} to invoke
+ * health indicators concurrently and shuts it down when the context is closed. The pool
+ * queues at most as many invocations as it has threads: any further invocation is
+ * rejected and the corresponding health indicator is reported with an unknown status
+ * rather than being run by the calling thread.
+ *
+ * @author agent
+ */
+class HealthParallelExecutor implements DisposableBean {
+
+	private final ThreadPoolExecutor executor;
+
+	HealthParallelExecutor(int maxThreads) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"health-");
+		threadFactory.setDaemon(true);
+		this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<>(maxThreads), threadFactory,
+				new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	ExecutorService getExecutor() {
+		return this.executor;
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.SnapshotHealthIndicatorRegistry;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Holds the {@link ScheduledExecutorService} used to refresh the health indicators of a
+ * {@link SnapshotHealthIndicatorRegistry} and shuts it down when the context is closed.
+ *
+ * @author agent
+ */
+class HealthSnapshotExecutor implements DisposableBean {
+
+	private final ScheduledThreadPoolExecutor executor;
+
+	HealthSnapshotExecutor(int poolSize) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"health-snapshot-");
+		threadFactory.setDaemon(true);
+		this.executor = new ScheduledThreadPoolExecutor(poolSize, threadFactory);
+		this.executor.setRemoveOnCancelPolicy(true);
+	}
+
+	ScheduledExecutorService getExecutor() {
+		return this.executor;
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.boot.actuate.autoconfigure.metrics.health;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
+import org.springframework.boot.actuate.metrics.health.TimedHealthIndicatorRegistry;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+
+/**
+ * {@link BeanPostProcessor} that decorates {@link HealthIndicatorRegistry} beans so that
+ * the latency of each health indicator is recorded.
+ *
+ * @author agent
+ */
+class HealthIndicatorRegistryMetricsPostProcessor implements BeanPostProcessor, Ordered {
+
+	private final ApplicationContext context;
+
+	private volatile MeterRegistry meterRegistry;
+
+	HealthIndicatorRegistryMetricsPostProcessor(ApplicationContext context) {
+		this.context = context;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof HealthIndicatorRegistry
+				&& !(bean instanceof TimedHealthIndicatorRegistry)) {
+			return new TimedHealthIndicatorRegistry((HealthIndicatorRegistry) bean,
+					getMeterRegistry());
+		}
+		return bean;
+	}
+
+	private MeterRegistry getMeterRegistry() {
+		if (this.meterRegistry == null) {
+			this.meterRegistry = this.context.getBean(MeterRegistry.class);
+		}
+		return this.meterRegistry;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+}
@@ -16,19 +16,31 @@
 
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.trace.http.HttpTraceMetrics;
+import org.springframework.boot.actuate.trace.http.AsyncHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
+import org.springframework.boot.actuate.trace.http.HttpTraceSamplingStatistics;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.RateHttpTraceSampler;
+import org.springframework.boot.actuate.trace.http.RingBufferHttpTraceRepository;
 import org.springframework.boot.actuate.web.trace.reactive.HttpTraceWebFilter;
 import org.springframework.boot.actuate.web.trace.servlet.HttpTraceFilter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for HTTP tracing.
@@ -44,8 +56,43 @@ public class HttpTraceAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean(HttpTraceRepository.class)
-	public InMemoryHttpTraceRepository traceRepository() {
-		return new InMemoryHttpTraceRepository();
+	@Conditional(HttpTraceRepositoryTypeCondition.InMemory.class)
+	public InMemoryHttpTraceRepository traceRepository(
+			HttpTraceProperties traceProperties) {
+		InMemoryHttpTraceRepository repository = new InMemoryHttpTraceRepository();
+		repository.setCapacity(traceProperties.getRepository().getCapacity());
+		return repository;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(HttpTraceRepository.class)
+	@Conditional(HttpTraceRepositoryTypeCondition.RingBuffer.class)
+	public RingBufferHttpTraceRepository ringBufferTraceRepository(
+			HttpTraceProperties traceProperties) {
+		return new RingBufferHttpTraceRepository(
+				traceProperties.getRepository().getCapacity());
+	}
+
+	@Bean
+	@Primary
+	@ConditionalOnProperty(prefix = "management.trace.http.async", name = "enabled")
+	public AsyncHttpTraceRepository asyncTraceRepository(HttpTraceRepository repository,
+			HttpTraceProperties traceProperties) {
+		return new AsyncHttpTraceRepository(repository,
+				traceProperties.getAsync().getQueueCapacity());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public HttpTraceSampler httpTraceSampler(HttpTraceProperties traceProperties) {
+		HttpTraceProperties.Sampling sampling = traceProperties.getSampling();
+		return new RateHttpTraceSampler(sampling.getRate(), sampling.getPaths());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public HttpTraceSamplingStatistics httpTraceSamplingStatistics() {
+		return new HttpTraceSamplingStatistics();
 	}
 
 	@Bean
@@ -61,8 +108,10 @@ public class HttpTraceAutoConfiguration {
 		@Bean
 		@ConditionalOnMissingBean
 		public HttpTraceFilter httpTraceFilter(HttpTraceRepository repository,
-				HttpExchangeTracer tracer) {
-			return new HttpTraceFilter(repository, tracer);
+				HttpExchangeTracer tracer, HttpTraceSampler sampler,
+				HttpTraceSamplingStatistics samplingStatistics) {
+			return new HttpTraceFilter(repository, tracer,
+					samplingStatistics.instrument(sampler));
 		}
 
 	}
@@ -74,9 +123,26 @@ public class HttpTraceAutoConfiguration {
 		@Bean
 		@ConditionalOnMissingBean
 		public HttpTraceWebFilter httpTraceWebFilter(HttpTraceRepository repository,
-				HttpExchangeTracer tracer, HttpTraceProperties traceProperties) {
+				HttpExchangeTracer tracer, HttpTraceProperties traceProperties,
+				HttpTraceSampler sampler,
+				HttpTraceSamplingStatistics samplingStatistics) {
 			return new HttpTraceWebFilter(repository, tracer,
-					traceProperties.getInclude());
+					traceProperties.getInclude(), samplingStatistics.instrument(sampler));
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(MeterBinder.class)
+	static class HttpTraceMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public HttpTraceMetrics httpTraceMetrics(
+				ObjectProvider<HttpTraceSamplingStatistics> samplingStatistics,
+				ObjectProvider<AsyncHttpTraceRepository> repository) {
+			return new HttpTraceMetrics(samplingStatistics.getIfAvailable(),
+					repository.getIfAvailable());
 		}
 
 	}
@@ -17,6 +17,8 @@
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.boot.actuate.trace.http.Include;
@@ -42,6 +44,12 @@ public class HttpTraceProperties {
 	 */
 	private Set<Include> include = new HashSet<>(Include.defaultIncludes());
 
+	private final Repository repository = new Repository();
+
+	private final Sampling sampling = new Sampling();
+
+	private final Async async = new Async();
+
 	public Set<Include> getInclude() {
 		return this.include;
 	}
@@ -50,4 +58,134 @@ public class HttpTraceProperties {
 		this.include = include;
 	}
 
+	public Repository getRepository() {
+		return this.repository;
+	}
+
+	public Sampling getSampling() {
+		return this.sampling;
+	}
+
+	public Async getAsync() {
+		return this.async;
+	}
+
+	/**
+	 * Auto-configured trace repository properties.
+	 */
+	public static class Repository {
+
+		/**
+		 * Type of the auto-configured trace repository.
+		 */
+		private RepositoryType type = RepositoryType.IN_MEMORY;
+
+		/**
+		 * Maximum number of request-response exchanges to retain.
+		 */
+		private int capacity = 100;
+
+		public RepositoryType getType() {
+			return this.type;
+		}
+
+		public void setType(RepositoryType type) {
+			this.type = type;
+		}
+
+		public int getCapacity() {
+			return this.capacity;
+		}
+
+		public void setCapacity(int capacity) {
+			this.capacity = capacity;
+		}
+
+	}
+
+	/**
+	 * Sampling properties.
+	 */
+	public static class Sampling {
+
+		/**
+		 * Proportion of request-response exchanges to trace, between 0.0 and 1.0.
+		 */
+		private double rate = 1.0;
+
+		/**
+		 * Per-path sampling rates, keyed by Ant-style path pattern. The first matching
+		 * pattern takes precedence over the default rate.
+		 */
+		private Map<String, Double> paths = new LinkedHashMap<>();
+
+		public double getRate() {
+			return this.rate;
+		}
+
+		public void setRate(double rate) {
+			this.rate = rate;
+		}
+
+		public Map<String, Double> getPaths() {
+			return this.paths;
+		}
+
+		public void setPaths(Map<String, Double> paths) {
+			this.paths = paths;
+		}
+
+	}
+
+	/**
+	 * Asynchronous trace storage properties.
+	 */
+	public static class Async {
+
+		/**
+		 * Whether to store traces on a background thread rather than on the request
+		 * thread.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum number of traces waiting to be stored. Additional traces are dropped.
+		 */
+		private int queueCapacity = 1000;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+	}
+
+	/**
+	 * Type of trace repository.
+	 */
+	public enum RepositoryType {
+
+		/**
+		 * Synchronized list based repository.
+		 */
+		IN_MEMORY,
+
+		/**
+		 * Lock-free ring buffer based repository, better suited to high request rates.
+		 */
+		RING_BUFFER
+
+	}
+
 }
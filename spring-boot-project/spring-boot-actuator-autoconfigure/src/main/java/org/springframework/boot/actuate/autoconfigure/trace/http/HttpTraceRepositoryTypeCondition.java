@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.trace.http;
+
+import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceProperties.RepositoryType;
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.BindResult;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Base condition that matches when {@code management.trace.http.repository.type} binds to
+ * a specific {@link RepositoryType}.
+ *
+ * @author agent
+ */
+abstract class HttpTraceRepositoryTypeCondition extends SpringBootCondition {
+
+	private static final String PROPERTY = "management.trace.http.repository.type";
+
+	private final RepositoryType required;
+
+	HttpTraceRepositoryTypeCondition(RepositoryType required) {
+		this.required = required;
+	}
+
+	@Override
+	public ConditionOutcome getMatchOutcome(ConditionContext context,
+			AnnotatedTypeMetadata metadata) {
+		ConditionMessage.Builder message = ConditionMessage
+				.forCondition("HTTP trace repository type");
+		try {
+			BindResult<RepositoryType> specified = Binder.get(context.getEnvironment())
+					.bind(PROPERTY, RepositoryType.class);
+			RepositoryType type = specified.orElse(RepositoryType.IN_MEMORY);
+			if (type == this.required) {
+				return ConditionOutcome.match(message.because(type + " repository"));
+			}
+			return ConditionOutcome.noMatch(message.because(type + " repository"));
+		}
+		catch (BindException ex) {
+			return ConditionOutcome
+					.noMatch(message.found("invalid " + PROPERTY + " property").atAll());
+		}
+	}
+
+	/**
+	 * Condition that matches the in-memory repository type.
+	 */
+	static class InMemory extends HttpTraceRepositoryTypeCondition {
+
+		InMemory() {
+			super(RepositoryType.IN_MEMORY);
+		}
+
+	}
+
+	/**
+	 * Condition that matches the ring buffer repository type.
+	 */
+	static class RingBuffer extends HttpTraceRepositoryTypeCondition {
+
+		RingBuffer() {
+			super(RepositoryType.RING_BUFFER);
+		}
+
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.endpoint.web.documentation;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.startup.StartupTimelineEndpoint;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for generating documentation describing the {@link StartupTimelineEndpoint}.
+ *
+ * @author agent
+ */
+public class StartupTimelineEndpointDocumentationTests
+		extends MockMvcEndpointDocumentationTests {
+
+	@Test
+	public void startupTimeline() throws Exception {
+		this.mockMvc.perform(get("/actuator/startup")).andExpect(status().isOk())
+				.andDo(document("startup", responseFields(
+						fieldWithPath("startTime").description(
+								"Timestamp of when the timeline was created."),
+						fieldWithPath("droppedEvents").description(
+								"Number of events that were dropped because the timeline "
+										+ "was full."),
+						fieldWithPath("events").description(
+								"Recorded events, ordered by the time at which they started."),
+						fieldWithPath("events.[].name")
+								.description("Name of the startup step."),
+						fieldWithPath("events.[].startTime")
+								.description("Timestamp of when the step started."),
+						fieldWithPath("events.[].duration")
+								.description("How long the step took."),
+						subsectionWithPath("events.[].tags")
+								.description("Tags that describe the step."))));
+	}
+
+	@Configuration
+	@Import(BaseDocumentationConfiguration.class)
+	static class TestConfiguration {
+
+		@Bean
+		public StartupTimelineEndpoint endpoint() {
+			StartupTimeline timeline = new StartupTimeline(16);
+			timeline.start("spring.beans.instantiate").tag("beanName", "exampleService")
+					.tag("beanType", "com.example.ExampleService").end();
+			return new StartupTimelineEndpoint(timeline);
+		}
+
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
@@ -102,6 +105,73 @@ public class HealthEndpointAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void healthEndpointWithParallelStrategy() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.parallel.enabled=true",
+						"management.endpoint.health.parallel.timeout=100ms")
+				.withUserConfiguration(HealthIndicatorConfiguration.class,
+						SlowHealthIndicatorConfiguration.class)
+				.run((context) -> {
+					assertThat(context).hasSingleBean(HealthParallelExecutor.class);
+					Health health = context.getBean(HealthEndpoint.class).health();
+					assertThat(health.getDetails()).containsOnlyKeys("simple", "slow");
+					assertThat(((Health) health.getDetails().get("simple")).getStatus())
+							.isEqualTo(Status.UP);
+					assertThat(((Health) health.getDetails().get("slow")).getStatus())
+							.isEqualTo(Status.UNKNOWN);
+				});
+	}
+
+	@Test
+	public void healthEndpointWithParallelStrategyShutsDownExecutorOnClose() {
+		AtomicReference<ExecutorService> executor = new AtomicReference<>();
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.parallel.enabled=true")
+				.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> executor.set(
+						context.getBean(HealthParallelExecutor.class).getExecutor()));
+		assertThat(executor.get().isShutdown()).isTrue();
+	}
+
+	@Test
+	public void healthEndpointWithoutParallelStrategy() {
+		this.contextRunner.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> assertThat(context)
+						.doesNotHaveBean(HealthParallelExecutor.class));
+	}
+
+	@Test
+	public void healthEndpointWithSnapshot() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.snapshot.enabled=true",
+						"management.endpoint.health.snapshot.refresh-intervals.simple=1h")
+				.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> {
+					assertThat(context).hasSingleBean(HealthSnapshotExecutor.class);
+					HealthIndicator indicator = context.getBean("simpleHealthIndicator",
+							HealthIndicator.class);
+					HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+					Health health = endpoint.health();
+					assertThat(health.getStatus()).isEqualTo(Status.UP);
+					assertThat(((Health) health.getDetails().get("simple")).getDetails())
+							.containsKey("snapshot");
+					endpoint.health();
+					verify(indicator, times(1)).health();
+				});
+	}
+
+	@Test
+	public void healthEndpointWithoutSnapshot() {
+		this.contextRunner.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> {
+					assertThat(context).doesNotHaveBean(HealthSnapshotExecutor.class);
+					Health health = context.getBean(HealthEndpoint.class).health();
+					assertThat(((Health) health.getDetails().get("simple")).getDetails())
+							.doesNotContainKey("snapshot");
+				});
+	}
+
 	@Configuration
 	static class HealthIndicatorConfiguration {
 
@@ -126,4 +196,22 @@ public class HealthEndpointAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	static class SlowHealthIndicatorConfiguration {
+
+		@Bean
+		public HealthIndicator slowHealthIndicator() {
+			return () -> {
+				try {
+					Thread.sleep(5000);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return Health.up().build();
+			};
+		}
+
+	}
+
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.metrics.health;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.autoconfigure.health.HealthIndicatorAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.test.MetricsRun;
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.OrderedHealthAggregator;
+import org.springframework.boot.actuate.metrics.health.TimedHealthIndicatorRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HealthIndicatorMetricsAutoConfiguration}.
+ *
+ * @author agent
+ */
+public class HealthIndicatorMetricsAutoConfigurationTests {
+
+	private ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.with(MetricsRun.simple()).withConfiguration(
+					AutoConfigurations.of(HealthIndicatorAutoConfiguration.class,
+							HealthIndicatorMetricsAutoConfiguration.class));
+
+	@Test
+	public void healthIndicatorRegistryIsInstrumented() {
+		this.contextRunner.run((context) -> {
+			HealthIndicatorRegistry healthIndicatorRegistry = context
+					.getBean(HealthIndicatorRegistry.class);
+			assertThat(healthIndicatorRegistry)
+					.isInstanceOf(TimedHealthIndicatorRegistry.class);
+			new CompositeHealthIndicator(new OrderedHealthAggregator(),
+					healthIndicatorRegistry).health();
+			MeterRegistry registry = context.getBean(MeterRegistry.class);
+			assertThat(registry.get("health.indicator").tag("name", "application").timer()
+					.count()).isEqualTo(1);
+		});
+	}
+
+	@Test
+	public void healthIndicatorRegistryIsNotInstrumentedWithoutMeterRegistry() {
+		new ApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HealthIndicatorAutoConfiguration.class,
+								HealthIndicatorMetricsAutoConfiguration.class))
+				.run((context) -> assertThat(
+						context.getBean(HealthIndicatorRegistry.class))
+								.isNotInstanceOf(TimedHealthIndicatorRegistry.class));
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.startup;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.startup.StartupTimelineEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupTimelineEndpointAutoConfiguration}.
+ *
+ * @author agent
+ */
+public class StartupTimelineEndpointAutoConfigurationTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations
+					.of(StartupTimelineEndpointAutoConfiguration.class));
+
+	@Test
+	public void runWhenTimelineIsPresentShouldHaveEndpointBean() {
+		this.contextRunner.withUserConfiguration(TimelineConfiguration.class)
+				.run((context) -> assertThat(context)
+						.hasSingleBean(StartupTimelineEndpoint.class));
+	}
+
+	@Test
+	public void runWhenTimelineIsMissingShouldNotHaveEndpointBean() {
+		this.contextRunner.run((context) -> assertThat(context)
+				.doesNotHaveBean(StartupTimelineEndpoint.class));
+	}
+
+	@Test
+	public void runWhenEnabledPropertyIsFalseShouldNotHaveEndpointBean() {
+		this.contextRunner.withUserConfiguration(TimelineConfiguration.class)
+				.withPropertyValues("management.endpoint.startup.enabled:false")
+				.run((context) -> assertThat(context)
+						.doesNotHaveBean(StartupTimelineEndpoint.class));
+	}
+
+	@Configuration
+	static class TimelineConfiguration {
+
+		@Bean
+		public StartupTimeline startupTimeline() {
+			return new StartupTimeline(16);
+		}
+
+	}
+
+}
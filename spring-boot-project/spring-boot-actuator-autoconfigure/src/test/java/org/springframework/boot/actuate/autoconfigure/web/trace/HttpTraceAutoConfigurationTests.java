@@ -23,11 +23,18 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceAutoConfiguration;
 import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceProperties;
+import org.springframework.boot.actuate.metrics.trace.http.HttpTraceMetrics;
+import org.springframework.boot.actuate.trace.http.AsyncHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
+import org.springframework.boot.actuate.trace.http.HttpTraceSamplingStatistics;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.Include;
+import org.springframework.boot.actuate.trace.http.RateHttpTraceSampler;
+import org.springframework.boot.actuate.trace.http.RingBufferHttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.TraceableRequest;
 import org.springframework.boot.actuate.web.trace.reactive.HttpTraceWebFilter;
 import org.springframework.boot.actuate.web.trace.servlet.HttpTraceFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -35,8 +42,12 @@ import org.springframework.boot.test.context.runner.ReactiveWebApplicationContex
 import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 /**
  * Tests for {@link HttpTraceAutoConfiguration}.
@@ -54,6 +65,102 @@ public class HttpTraceAutoConfigurationTests {
 						.hasSingleBean(InMemoryHttpTraceRepository.class));
 	}
 
+	@Test
+	public void configuresRepositoryCapacity() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.repository.capacity=1")
+				.run((context) -> {
+					HttpTraceRepository repository = context
+							.getBean(HttpTraceRepository.class);
+					repository.add(new HttpTrace(mock(TraceableRequest.class)));
+					repository.add(new HttpTrace(mock(TraceableRequest.class)));
+					assertThat(repository.findAll()).hasSize(1);
+				});
+	}
+
+	@Test
+	public void configuresRingBufferRepository() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.repository.type=ring-buffer")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(HttpTraceRepository.class);
+					assertThat(context)
+							.hasSingleBean(RingBufferHttpTraceRepository.class);
+				});
+	}
+
+	@Test
+	public void configuresRingBufferRepositoryWithRelaxedValue() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.repository.type=RING_BUFFER")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(HttpTraceRepository.class);
+					assertThat(context)
+							.hasSingleBean(RingBufferHttpTraceRepository.class);
+				});
+	}
+
+	@Test
+	public void configuresInMemoryRepositoryWithRelaxedValue() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.repository.type=InMemory")
+				.run((context) -> assertThat(context)
+						.hasSingleBean(InMemoryHttpTraceRepository.class));
+	}
+
+	@Test
+	public void configuresAsyncRepository() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.async.enabled=true")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(InMemoryHttpTraceRepository.class);
+					assertThat(context).hasSingleBean(AsyncHttpTraceRepository.class);
+					assertThat(context.getBean(HttpTraceRepository.class))
+							.isInstanceOf(AsyncHttpTraceRepository.class);
+				});
+	}
+
+	@Test
+	public void configuresSampler() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.sampling.rate=0.5",
+						"management.trace.http.sampling.paths[/actuator/**]=0")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(RateHttpTraceSampler.class);
+					assertThat(context).hasSingleBean(HttpTraceMetrics.class);
+				});
+	}
+
+	@Test
+	public void recordsSamplingStatisticsForUserProvidedSampler() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withUserConfiguration(CustomSamplerConfiguration.class)
+				.run((context) -> {
+					assertThat(context).hasSingleBean(HttpTraceMetrics.class);
+					context.getBean(HttpTraceFilter.class).doFilter(
+							new MockHttpServletRequest(), new MockHttpServletResponse(),
+							new MockFilterChain());
+					HttpTraceSamplingStatistics statistics = context
+							.getBean(HttpTraceSamplingStatistics.class);
+					assertThat(statistics.getSampledCount()).isEqualTo(0);
+					assertThat(statistics.getSkippedCount()).isEqualTo(1);
+				});
+	}
+
 	@Test
 	public void usesUserProvidedRepository() {
 		new WebApplicationContextRunner()
@@ -167,6 +274,16 @@ public class HttpTraceAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	static class CustomSamplerConfiguration {
+
+		@Bean
+		public HttpTraceSampler customSampler() {
+			return (request) -> false;
+		}
+
+	}
+
 	private static final class CustomHttpExchangeTracer extends HttpExchangeTracer {
 
 		private CustomHttpExchangeTracer(Set<Include> includes) {
@@ -16,8 +16,12 @@
 
 package org.springframework.boot.actuate.endpoint.invoker.cache;
 
+import java.security.Principal;
 import java.util.Map;
-import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.springframework.boot.actuate.endpoint.InvocationContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
@@ -26,18 +30,29 @@ import org.springframework.util.ObjectUtils;
 
 /**
  * An {@link OperationInvoker} that caches the response of an operation with a
- * configurable time to live.
+ * configurable time to live. Responses are cached separately for each distinct set of
+ * non-null arguments. Concurrent invocations with the same input wait for a single
+ * invocation of the target rather than each computing the response. Invocations made by
+ * an authenticated principal are only cached when caching by principal is enabled, in
+ * which case responses are also cached separately for each principal.
  *
  * @author Stephane Nicoll
  * @since 2.0.0
  */
 public class CachingOperationInvoker implements OperationInvoker {
 
+	/**
+	 * The maximum number of responses cached for each operation.
+	 */
+	static final int MAX_CACHE_SIZE = 128;
+
 	private final OperationInvoker invoker;
 
 	private final long timeToLive;
 
-	private volatile CachedResponse cachedResponse;
+	private final boolean cacheByPrincipal;
+
+	private final Map<CacheKey, CachedResponse> cachedResponses = new ConcurrentHashMap<>();
 
 	/**
 	 * Create a new instance with the target {@link OperationInvoker} to use to compute
@@ -46,9 +61,24 @@ public class CachingOperationInvoker implements OperationInvoker {
 	 * @param timeToLive the maximum time in milliseconds that a response can be cached
 	 */
 	CachingOperationInvoker(OperationInvoker invoker, long timeToLive) {
+		this(invoker, timeToLive, false);
+	}
+
+	/**
+	 * Create a new instance with the target {@link OperationInvoker} to use to compute
+	 * the response, the time to live for the cache and whether invocations made by an
+	 * authenticated principal should be cached.
+	 * @param invoker the {@link OperationInvoker} this instance wraps
+	 * @param timeToLive the maximum time in milliseconds that a response can be cached
+	 * @param cacheByPrincipal whether responses to invocations made by an authenticated
+	 * principal should be cached for that principal
+	 */
+	CachingOperationInvoker(OperationInvoker invoker, long timeToLive,
+			boolean cacheByPrincipal) {
 		Assert.isTrue(timeToLive > 0, "TimeToLive must be strictly positive");
 		this.invoker = invoker;
 		this.timeToLive = timeToLive;
+		this.cacheByPrincipal = cacheByPrincipal;
 	}
 
 	/**
@@ -59,30 +89,90 @@ public class CachingOperationInvoker implements OperationInvoker {
 		return this.timeToLive;
 	}
 
+	/**
+	 * Return whether responses to invocations made by an authenticated principal are
+	 * cached.
+	 * @return {@code true} if responses are cached by principal
+	 * @since 2.1.0
+	 */
+	public boolean isCacheByPrincipal() {
+		return this.cacheByPrincipal;
+	}
+
 	@Override
 	public Object invoke(InvocationContext context) {
-		if (hasInput(context)) {
+		CacheKey key = getCacheKey(context);
+		if (key == null) {
 			return this.invoker.invoke(context);
 		}
 		long accessTime = System.currentTimeMillis();
-		CachedResponse cached = this.cachedResponse;
+		CachedResponse cached = this.cachedResponses.get(key);
 		if (cached == null || cached.isStale(accessTime, this.timeToLive)) {
+			CachedResponse candidate = new CachedResponse(accessTime);
+			if (cached == null && !hasCapacity(accessTime)) {
+				return this.invoker.invoke(context);
+			}
+			if (putCachedResponse(key, cached, candidate)) {
+				return invoke(context, key, candidate);
+			}
+			cached = this.cachedResponses.get(key);
+			if (cached == null) {
+				return this.invoker.invoke(context);
+			}
+		}
+		return cached.getResponse();
+	}
+
+	private Object invoke(InvocationContext context, CacheKey key,
+			CachedResponse cachedResponse) {
+		try {
 			Object response = this.invoker.invoke(context);
-			this.cachedResponse = new CachedResponse(response, accessTime);
+			cachedResponse.complete(response);
 			return response;
 		}
-		return cached.getResponse();
+		catch (RuntimeException | Error ex) {
+			this.cachedResponses.remove(key, cachedResponse);
+			cachedResponse.completeExceptionally(ex);
+			throw ex;
+		}
 	}
 
-	private boolean hasInput(InvocationContext context) {
-		if (context.getSecurityContext().getPrincipal() != null) {
+	private boolean putCachedResponse(CacheKey key, CachedResponse existing,
+			CachedResponse cachedResponse) {
+		if (existing == null) {
+			return this.cachedResponses.putIfAbsent(key, cachedResponse) == null;
+		}
+		return this.cachedResponses.replace(key, existing, cachedResponse);
+	}
+
+	private boolean hasCapacity(long accessTime) {
+		if (this.cachedResponses.size() < MAX_CACHE_SIZE) {
 			return true;
 		}
-		Map<String, Object> arguments = context.getArguments();
-		if (!ObjectUtils.isEmpty(arguments)) {
-			return arguments.values().stream().anyMatch(Objects::nonNull);
+		this.cachedResponses.values()
+				.removeIf((cached) -> cached.isStale(accessTime, this.timeToLive));
+		return this.cachedResponses.size() < MAX_CACHE_SIZE;
+	}
+
+	private CacheKey getCacheKey(InvocationContext context) {
+		Principal principal = context.getSecurityContext().getPrincipal();
+		String principalName = null;
+		if (principal != null) {
+			if (!this.cacheByPrincipal) {
+				return null;
+			}
+			principalName = principal.getName();
+			if (principalName == null) {
+				return null;
+			}
 		}
-		return false;
+		Map<String, Object> arguments = new TreeMap<>();
+		context.getArguments().forEach((name, value) -> {
+			if (value != null) {
+				arguments.put(name, value);
+			}
+		});
+		return new CacheKey(principalName, arguments);
 	}
 
 	/**
@@ -93,33 +183,130 @@ public class CachingOperationInvoker implements OperationInvoker {
 	 * required
 	 */
 	public static OperationInvoker apply(OperationInvoker invoker, long timeToLive) {
+		return apply(invoker, timeToLive, false);
+	}
+
+	/**
+	 * Apply caching configuration when appropriate to the given invoker.
+	 * @param invoker the invoker to wrap
+	 * @param timeToLive the maximum time in milliseconds that a response can be cached
+	 * @param cacheByPrincipal whether responses to invocations made by an authenticated
+	 * principal should be cached for that principal
+	 * @return a caching version of the invoker or the original instance if caching is not
+	 * required
+	 * @since 2.1.0
+	 */
+	public static OperationInvoker apply(OperationInvoker invoker, long timeToLive,
+			boolean cacheByPrincipal) {
 		if (timeToLive > 0) {
-			return new CachingOperationInvoker(invoker, timeToLive);
+			return new CachingOperationInvoker(invoker, timeToLive, cacheByPrincipal);
 		}
 		return invoker;
 	}
 
+	/**
+	 * The key of a cached response, composed of the name of the principal and the
+	 * non-null arguments of the invocation.
+	 */
+	private static final class CacheKey {
+
+		private final String principalName;
+
+		private final Map<String, Object> arguments;
+
+		private final int hashCode;
+
+		CacheKey(String principalName, Map<String, Object> arguments) {
+			this.principalName = principalName;
+			this.arguments = arguments;
+			this.hashCode = computeHashCode();
+		}
+
+		private int computeHashCode() {
+			int result = ObjectUtils.nullSafeHashCode(this.principalName);
+			for (Map.Entry<String, Object> entry : this.arguments.entrySet()) {
+				result = 31 * result + entry.getKey().hashCode();
+				result = 31 * result + ObjectUtils.nullSafeHashCode(entry.getValue());
+			}
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			if (!ObjectUtils.nullSafeEquals(this.principalName, other.principalName)
+					|| !this.arguments.keySet().equals(other.arguments.keySet())) {
+				return false;
+			}
+			for (Map.Entry<String, Object> entry : this.arguments.entrySet()) {
+				if (!ObjectUtils.nullSafeEquals(entry.getValue(),
+						other.arguments.get(entry.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+	}
+
 	/**
 	 * A cached response that encapsulates the response itself and the time at which it
-	 * was created.
+	 * was created. The response may still be in the process of being computed, in which
+	 * case callers of {@link #getResponse()} wait for it to complete.
 	 */
 	static class CachedResponse {
 
-		private final Object response;
+		private final CompletableFuture<Object> response = new CompletableFuture<>();
 
 		private final long creationTime;
 
-		CachedResponse(Object response, long creationTime) {
-			this.response = response;
+		CachedResponse(long creationTime) {
 			this.creationTime = creationTime;
 		}
 
+		void complete(Object response) {
+			this.response.complete(response);
+		}
+
+		void completeExceptionally(Throwable ex) {
+			this.response.completeExceptionally(ex);
+		}
+
 		public boolean isStale(long accessTime, long timeToLive) {
-			return (accessTime - this.creationTime) >= timeToLive;
+			return this.response.isDone()
+					&& (accessTime - this.creationTime) >= timeToLive;
 		}
 
 		public Object getResponse() {
-			return this.response;
+			try {
+				return this.response.get();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(
+						"Interrupted while waiting for cached response", ex);
+			}
+			catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
 		}
 
 	}
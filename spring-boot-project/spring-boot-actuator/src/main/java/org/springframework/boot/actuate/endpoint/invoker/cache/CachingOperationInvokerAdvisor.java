@@ -19,10 +19,8 @@ package org.springframework.boot.actuate.endpoint.invoker.cache;
 import java.util.function.Function;
 
 import org.springframework.boot.actuate.endpoint.OperationType;
-import org.springframework.boot.actuate.endpoint.SecurityContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvokerAdvisor;
-import org.springframework.boot.actuate.endpoint.invoke.OperationParameter;
 import org.springframework.boot.actuate.endpoint.invoke.OperationParameters;
 
 /**
@@ -35,30 +33,37 @@ public class CachingOperationInvokerAdvisor implements OperationInvokerAdvisor {
 
 	private final Function<String, Long> endpointIdTimeToLive;
 
+	private final boolean cacheByPrincipal;
+
 	public CachingOperationInvokerAdvisor(Function<String, Long> endpointIdTimeToLive) {
+		this(endpointIdTimeToLive, false);
+	}
+
+	/**
+	 * Create a new advisor.
+	 * @param endpointIdTimeToLive function that provides the time to live of an
+	 * endpoint's cached responses
+	 * @param cacheByPrincipal whether responses to invocations made by an authenticated
+	 * principal should be cached for that principal
+	 * @since 2.1.0
+	 */
+	public CachingOperationInvokerAdvisor(Function<String, Long> endpointIdTimeToLive,
+			boolean cacheByPrincipal) {
 		this.endpointIdTimeToLive = endpointIdTimeToLive;
+		this.cacheByPrincipal = cacheByPrincipal;
 	}
 
 	@Override
 	public OperationInvoker apply(String endpointId, OperationType operationType,
 			OperationParameters parameters, OperationInvoker invoker) {
-		if (operationType == OperationType.READ && !hasMandatoryParameter(parameters)) {
+		if (operationType == OperationType.READ) {
 			Long timeToLive = this.endpointIdTimeToLive.apply(endpointId);
 			if (timeToLive != null && timeToLive > 0) {
-				return new CachingOperationInvoker(invoker, timeToLive);
+				return new CachingOperationInvoker(invoker, timeToLive,
+						this.cacheByPrincipal);
 			}
 		}
 		return invoker;
 	}
 
-	private boolean hasMandatoryParameter(OperationParameters parameters) {
-		for (OperationParameter parameter : parameters) {
-			if (parameter.isMandatory()
-					&& !SecurityContext.class.isAssignableFrom(parameter.getType())) {
-				return true;
-			}
-		}
-		return false;
-	}
-
 }
@@ -18,9 +18,23 @@ package org.springframework.boot.actuate.health;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.util.Assert;
 
 /**
  * {@link HealthIndicator} that returns health indications from all registered delegates.
+ * By default, delegates are invoked sequentially. A
+ * {@link #parallelStrategy(ExecutorService, long) parallel strategy} can be configured so
+ * that delegates are invoked concurrently with an upper bound on the time spent waiting
+ * for them. Delegates that the executor rejects are reported with an
+ * {@link Status#UNKNOWN unknown} status.
  *
  * @author Tyler J. Frederick
  * @author Phillip Webb
@@ -33,6 +47,10 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	private final HealthAggregator aggregator;
 
+	private ExecutorService executor;
+
+	private long timeout;
+
 	/**
 	 * Create a new {@link CompositeHealthIndicator}.
 	 * @param healthAggregator the health aggregator
@@ -90,14 +108,78 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		return this.registry;
 	}
 
+	/**
+	 * Invoke the delegate {@link HealthIndicator health indicators} concurrently using
+	 * the given {@code executor}. A delegate that has not replied within the specified
+	 * {@code timeout} is reported with an {@link Status#UNKNOWN unknown} status and its
+	 * invocation is interrupted.
+	 * @param executor the executor service used to invoke the health indicators
+	 * @param timeout number of milliseconds to wait for the health indicators
+	 * @return this instance
+	 * @since 2.1.0
+	 */
+	public CompositeHealthIndicator parallelStrategy(ExecutorService executor,
+			long timeout) {
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(timeout > 0, "Timeout must be strictly positive");
+		this.executor = executor;
+		this.timeout = timeout;
+		return this;
+	}
+
 	@Override
 	public Health health() {
+		Map<String, HealthIndicator> indicators = this.registry.getAll();
+		if (this.executor != null) {
+			return this.aggregator.aggregate(getHealthsInParallel(indicators));
+		}
 		Map<String, Health> healths = new LinkedHashMap<>();
-		for (Map.Entry<String, HealthIndicator> entry : this.registry.getAll()
-				.entrySet()) {
+		for (Map.Entry<String, HealthIndicator> entry : indicators.entrySet()) {
 			healths.put(entry.getKey(), entry.getValue().health());
 		}
 		return this.aggregator.aggregate(healths);
 	}
 
+	private Map<String, Health> getHealthsInParallel(
+			Map<String, HealthIndicator> indicators) {
+		Map<String, Future<Health>> futures = new LinkedHashMap<>();
+		indicators
+				.forEach((name, indicator) -> futures.put(name, submitHealth(indicator)));
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeout);
+		Map<String, Health> healths = new LinkedHashMap<>();
+		futures.forEach((name, future) -> healths.put(name,
+				getHealth(future, deadline - System.nanoTime())));
+		return healths;
+	}
+
+	private Future<Health> submitHealth(HealthIndicator indicator) {
+		try {
+			return this.executor.submit(indicator::health);
+		}
+		catch (RejectedExecutionException ex) {
+			return CompletableFuture.completedFuture(Health.unknown()
+					.withDetail("error", "Rejected by the health executor").build());
+		}
+	}
+
+	private Health getHealth(Future<Health> future, long timeout) {
+		try {
+			return future.get(Math.max(timeout, 0), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			future.cancel(true);
+			return Health.unknown()
+					.withDetail("error", "Timed out after " + this.timeout + "ms")
+					.build();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			return Health.unknown().withException(ex).build();
+		}
+		catch (ExecutionException ex) {
+			return Health.down().withException(ex.getCause()).build();
+		}
+	}
+
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link HealthIndicatorRegistry} that decorates another registry so that each
+ * {@link HealthIndicator} is invoked on a schedule rather than on demand. Once an
+ * indicator has been invoked for the first time, the indicators returned from
+ * {@link #getAll()} reply immediately with the last {@link Health} that was computed,
+ * along with a {@code snapshot} detail that describes when it was computed. Indicators
+ * returned from {@link #get(String)} are not decorated so that they can still be invoked
+ * on demand.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class SnapshotHealthIndicatorRegistry implements HealthIndicatorRegistry {
+
+	private static final String SNAPSHOT_DETAIL = "snapshot";
+
+	private final HealthIndicatorRegistry delegate;
+
+	private final ScheduledExecutorService executor;
+
+	private final Function<String, Duration> refreshInterval;
+
+	private final Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+
+	/**
+	 * Create a new {@link SnapshotHealthIndicatorRegistry} instance.
+	 * @param delegate the registry to decorate
+	 * @param executor the executor used to refresh the snapshots
+	 * @param refreshInterval a function that returns the refresh interval of the
+	 * indicator with the given name
+	 */
+	public SnapshotHealthIndicatorRegistry(HealthIndicatorRegistry delegate,
+			ScheduledExecutorService executor,
+			Function<String, Duration> refreshInterval) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.notNull(refreshInterval, "RefreshInterval must not be null");
+		this.delegate = delegate;
+		this.executor = executor;
+		this.refreshInterval = refreshInterval;
+	}
+
+	@Override
+	public void register(String name, HealthIndicator healthIndicator) {
+		this.delegate.register(name, healthIndicator);
+	}
+
+	@Override
+	public HealthIndicator unregister(String name) {
+		return this.delegate.unregister(name);
+	}
+
+	@Override
+	public HealthIndicator get(String name) {
+		return this.delegate.get(name);
+	}
+
+	@Override
+	public Map<String, HealthIndicator> getAll() {
+		Map<String, HealthIndicator> indicators = this.delegate.getAll();
+		synchronized (this.snapshots) {
+			Iterator<Map.Entry<String, Snapshot>> iterator = this.snapshots.entrySet()
+					.iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<String, Snapshot> entry = iterator.next();
+				if (indicators.get(entry.getKey()) != entry.getValue().indicator) {
+					entry.getValue().cancel();
+					iterator.remove();
+				}
+			}
+			Map<String, HealthIndicator> result = new LinkedHashMap<>();
+			indicators.forEach((name, indicator) -> result.put(name,
+					this.snapshots.computeIfAbsent(name,
+							(key) -> new Snapshot(indicator, getRefreshInterval(key)))));
+			return Collections.unmodifiableMap(result);
+		}
+	}
+
+	private Duration getRefreshInterval(String name) {
+		Duration interval = this.refreshInterval.apply(name);
+		Assert.state(interval != null && !interval.isNegative() && !interval.isZero(),
+				() -> "Refresh interval of '" + name + "' must be strictly positive");
+		return interval;
+	}
+
+	/**
+	 * Stop refreshing the snapshots of all indicators.
+	 */
+	public void clear() {
+		synchronized (this.snapshots) {
+			this.snapshots.values().forEach(Snapshot::cancel);
+			this.snapshots.clear();
+		}
+	}
+
+	/**
+	 * {@link HealthIndicator} that returns the last computed {@link Health} of its
+	 * delegate.
+	 */
+	private class Snapshot implements HealthIndicator {
+
+		private final HealthIndicator indicator;
+
+		private final ScheduledFuture<?> refresh;
+
+		private volatile Result result;
+
+		Snapshot(HealthIndicator indicator, Duration interval) {
+			this.indicator = indicator;
+			this.refresh = SnapshotHealthIndicatorRegistry.this.executor
+					.scheduleWithFixedDelay(this::refresh, interval.toMillis(),
+							interval.toMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		private void refresh() {
+			Health health;
+			try {
+				health = this.indicator.health();
+			}
+			catch (Throwable ex) {
+				// Errors must not escape either: the executor would silently stop
+				// rescheduling this refresh and the snapshot would become stale forever
+				health = Health.down().withException(ex).build();
+			}
+			this.result = new Result(health, System.currentTimeMillis());
+		}
+
+		void cancel() {
+			this.refresh.cancel(false);
+		}
+
+		@Override
+		public Health health() {
+			Result result = this.result;
+			if (result == null) {
+				synchronized (this) {
+					if (this.result == null) {
+						refresh();
+					}
+					result = this.result;
+				}
+			}
+			Map<String, Object> snapshot = new LinkedHashMap<>();
+			snapshot.put("timestamp", Instant.ofEpochMilli(result.timestamp).toString());
+			snapshot.put("age", (System.currentTimeMillis() - result.timestamp) + "ms");
+			return Health.status(result.health.getStatus())
+					.withDetails(result.health.getDetails())
+					.withDetail(SNAPSHOT_DETAIL, snapshot).build();
+		}
+
+	}
+
+	/**
+	 * A computed {@link Health} and the time at which it was computed.
+	 */
+	private static final class Result {
+
+		private final Health health;
+
+		private final long timestamp;
+
+		Result(Health health, long timestamp) {
+			this.health = health;
+			this.timestamp = timestamp;
+		}
+
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.health;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link HealthIndicatorRegistry} that decorates another registry so that the latency
+ * of each {@link HealthIndicator} is recorded as a {@link Timer} when the indicators
+ * returned from {@link #getAll()} are invoked, typically by a
+ * {@link CompositeHealthIndicator}. The same decorated instance is returned for as long
+ * as an indicator remains registered so that callers can rely on its identity. Indicators
+ * returned from {@link #get(String)} are not decorated so that their type is preserved.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class TimedHealthIndicatorRegistry implements HealthIndicatorRegistry {
+
+	private static final String METRIC_NAME = "health.indicator";
+
+	private final HealthIndicatorRegistry delegate;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, TimedHealthIndicator> timedIndicators = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a new {@link TimedHealthIndicatorRegistry} instance.
+	 * @param delegate the registry to decorate
+	 * @param meterRegistry the meter registry used to record the timers
+	 */
+	public TimedHealthIndicatorRegistry(HealthIndicatorRegistry delegate,
+			MeterRegistry meterRegistry) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.notNull(meterRegistry, "MeterRegistry must not be null");
+		this.delegate = delegate;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void register(String name, HealthIndicator healthIndicator) {
+		this.delegate.register(name, healthIndicator);
+	}
+
+	@Override
+	public HealthIndicator unregister(String name) {
+		return this.delegate.unregister(name);
+	}
+
+	@Override
+	public HealthIndicator get(String name) {
+		return this.delegate.get(name);
+	}
+
+	@Override
+	public Map<String, HealthIndicator> getAll() {
+		Map<String, HealthIndicator> indicators = this.delegate.getAll();
+		this.timedIndicators.keySet().retainAll(indicators.keySet());
+		Map<String, HealthIndicator> timed = new LinkedHashMap<>();
+		indicators.forEach(
+				(name, indicator) -> timed.put(name, this.timedIndicators.compute(name,
+						(key, existing) -> getTimedIndicator(key, indicator, existing))));
+		return timed;
+	}
+
+	private TimedHealthIndicator getTimedIndicator(String name, HealthIndicator indicator,
+			TimedHealthIndicator existing) {
+		if (existing != null && existing.indicator == indicator) {
+			return existing;
+		}
+		return new TimedHealthIndicator(name, indicator);
+	}
+
+	/**
+	 * {@link HealthIndicator} that records the time taken by its delegate.
+	 */
+	private class TimedHealthIndicator implements HealthIndicator {
+
+		private final String name;
+
+		private final HealthIndicator indicator;
+
+		TimedHealthIndicator(String name, HealthIndicator indicator) {
+			this.name = name;
+			this.indicator = indicator;
+		}
+
+		@Override
+		public Health health() {
+			long start = System.nanoTime();
+			String status = "UNKNOWN";
+			try {
+				Health health = this.indicator.health();
+				status = health.getStatus().getCode();
+				return health;
+			}
+			catch (RuntimeException ex) {
+				status = "ERROR";
+				throw ex;
+			}
+			finally {
+				Timer.builder(METRIC_NAME).tag("name", this.name).tag("status", status)
+						.description("Time taken to invoke a health indicator")
+						.register(TimedHealthIndicatorRegistry.this.meterRegistry)
+						.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.trace.http;
+
+import java.util.function.ToDoubleFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.boot.actuate.trace.http.AsyncHttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSamplingStatistics;
+
+/**
+ * A {@link MeterBinder} for HTTP tracing sampling and storage statistics.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class HttpTraceMetrics implements MeterBinder {
+
+	private static final String EXCHANGES = "http.trace.exchanges";
+
+	private final HttpTraceSamplingStatistics samplingStatistics;
+
+	private final AsyncHttpTraceRepository repository;
+
+	/**
+	 * Create a new {@link HttpTraceMetrics} instance.
+	 * @param samplingStatistics the sampling statistics to instrument (may be
+	 * {@code null})
+	 * @param repository the asynchronous repository to instrument (may be {@code null})
+	 */
+	public HttpTraceMetrics(HttpTraceSamplingStatistics samplingStatistics,
+			AsyncHttpTraceRepository repository) {
+		this.samplingStatistics = samplingStatistics;
+		this.repository = repository;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		if (this.samplingStatistics != null) {
+			bindCounter(registry, "sampled", this.samplingStatistics,
+					HttpTraceSamplingStatistics::getSampledCount);
+			bindCounter(registry, "skipped", this.samplingStatistics,
+					HttpTraceSamplingStatistics::getSkippedCount);
+		}
+		if (this.repository != null) {
+			bindCounter(registry, "dropped", this.repository,
+					AsyncHttpTraceRepository::getDroppedCount);
+			Gauge.builder("http.trace.pending", this.repository,
+					AsyncHttpTraceRepository::getPendingCount)
+					.description("Number of HTTP traces waiting to be stored")
+					.register(registry);
+		}
+	}
+
+	private <T> void bindCounter(MeterRegistry registry, String result, T source,
+			ToDoubleFunction<T> count) {
+		FunctionCounter.builder(EXCHANGES, source, count).tag("result", result)
+				.description("Number of HTTP exchanges considered for tracing")
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.startup;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Event;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Endpoint} to expose the steps recorded by a {@link StartupTimeline}.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+@Endpoint(id = "startup")
+public class StartupTimelineEndpoint {
+
+	private final StartupTimeline timeline;
+
+	/**
+	 * Create a new {@link StartupTimelineEndpoint} instance.
+	 * @param timeline the timeline to expose
+	 */
+	public StartupTimelineEndpoint(StartupTimeline timeline) {
+		Assert.notNull(timeline, "Timeline must not be null");
+		this.timeline = timeline;
+	}
+
+	@ReadOperation
+	public StartupTimelineDescriptor startupTimeline() {
+		return new StartupTimelineDescriptor(this.timeline.getStartTime(),
+				this.timeline.getDroppedEvents(), this.timeline.getEvents());
+	}
+
+	/**
+	 * A description of a {@link StartupTimeline}, primarily intended for serialization to
+	 * JSON.
+	 */
+	public static final class StartupTimelineDescriptor {
+
+		private final Instant startTime;
+
+		private final long droppedEvents;
+
+		private final List<Event> events;
+
+		private StartupTimelineDescriptor(Instant startTime, long droppedEvents,
+				List<Event> events) {
+			this.startTime = startTime;
+			this.droppedEvents = droppedEvents;
+			this.events = events;
+		}
+
+		public Instant getStartTime() {
+			return this.startTime;
+		}
+
+		public long getDroppedEvents() {
+			return this.droppedEvents;
+		}
+
+		public List<Event> getEvents() {
+			return this.events;
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HttpTraceRepository} that hands traces to a single background thread which adds
+ * them to a delegate repository. Calls to {@link #add(HttpTrace)} never wait for the
+ * delegate, if the queue of pending traces is full the trace is dropped.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class AsyncHttpTraceRepository implements HttpTraceRepository, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(AsyncHttpTraceRepository.class);
+
+	private final HttpTraceRepository delegate;
+
+	private final BlockingQueue<HttpTrace> queue;
+
+	private final Thread writer;
+
+	private final LongAdder dropped = new LongAdder();
+
+	/**
+	 * Create a new {@link AsyncHttpTraceRepository} instance.
+	 * @param delegate the repository that should store the traces
+	 * @param queueCapacity the maximum number of traces waiting to be stored
+	 */
+	public AsyncHttpTraceRepository(HttpTraceRepository delegate, int queueCapacity) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.isTrue(queueCapacity > 0, "QueueCapacity must be greater than 0");
+		this.delegate = delegate;
+		this.queue = new LinkedBlockingQueue<>(queueCapacity);
+		this.writer = new Thread(this::write, "http-trace-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	@Override
+	public List<HttpTrace> findAll() {
+		return this.delegate.findAll();
+	}
+
+	@Override
+	public void add(HttpTrace trace) {
+		if (!this.queue.offer(trace)) {
+			this.dropped.increment();
+		}
+	}
+
+	private void write() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				write(this.queue.take());
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void write(HttpTrace trace) {
+		try {
+			this.delegate.add(trace);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to store HTTP trace", ex);
+		}
+	}
+
+	/**
+	 * Return the number of traces that have been dropped because the queue was full.
+	 * @return the dropped count
+	 */
+	public long getDroppedCount() {
+		return this.dropped.sum();
+	}
+
+	/**
+	 * Return the number of traces waiting to be stored.
+	 * @return the pending count
+	 */
+	public int getPendingCount() {
+		return this.queue.size();
+	}
+
+	@Override
+	public void destroy() {
+		this.writer.interrupt();
+	}
+
+}
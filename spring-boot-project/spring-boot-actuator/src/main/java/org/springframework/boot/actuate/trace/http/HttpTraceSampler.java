@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+/**
+ * Strategy used to decide if an HTTP request-response exchange should be traced. Called
+ * before any {@link HttpTrace} is created so that requests that are not sampled incur
+ * almost no tracing overhead.
+ *
+ * @author agent
+ * @since 2.1.0
+ * @see RateHttpTraceSampler
+ */
+@FunctionalInterface
+public interface HttpTraceSampler {
+
+	/**
+	 * {@link HttpTraceSampler} that traces every exchange.
+	 */
+	HttpTraceSampler ALWAYS = (request) -> true;
+
+	/**
+	 * Return if the exchange initiated by the given request should be traced.
+	 * @param request the received request
+	 * @return {@code true} if the exchange should be traced
+	 */
+	boolean isSampled(TraceableRequest request);
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Statistics about the decisions made by an {@link HttpTraceSampler}. Decisions are
+ * recorded by a sampler that has been {@link #instrument(HttpTraceSampler) instrumented},
+ * whatever its implementation.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class HttpTraceSamplingStatistics {
+
+	private final LongAdder sampled = new LongAdder();
+
+	private final LongAdder skipped = new LongAdder();
+
+	/**
+	 * Return an {@link HttpTraceSampler} that delegates to the given sampler and records
+	 * each of its decisions in these statistics.
+	 * @param sampler the sampler to instrument
+	 * @return the instrumented sampler
+	 */
+	public HttpTraceSampler instrument(HttpTraceSampler sampler) {
+		Assert.notNull(sampler, "Sampler must not be null");
+		return (request) -> {
+			boolean sampled = sampler.isSampled(request);
+			(sampled ? this.sampled : this.skipped).increment();
+			return sampled;
+		};
+	}
+
+	/**
+	 * Return the number of exchanges that have been sampled.
+	 * @return the sampled count
+	 */
+	public long getSampledCount() {
+		return this.sampled.sum();
+	}
+
+	/**
+	 * Return the number of exchanges that have been skipped.
+	 * @return the skipped count
+	 */
+	public long getSkippedCount() {
+		return this.skipped.sum();
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.PathMatcher;
+
+/**
+ * {@link HttpTraceSampler} that traces a fixed proportion of exchanges. Per-path rates
+ * can be specified using Ant-style patterns, the first matching pattern wins and the
+ * default rate is used when no pattern matches.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class RateHttpTraceSampler implements HttpTraceSampler {
+
+	private static final PathMatcher pathMatcher = new AntPathMatcher();
+
+	private final double rate;
+
+	private final List<PathRate> pathRates;
+
+	/**
+	 * Create a new {@link RateHttpTraceSampler} that applies the same rate to all
+	 * exchanges.
+	 * @param rate the proportion of exchanges to trace, between {@code 0.0} and
+	 * {@code 1.0}
+	 */
+	public RateHttpTraceSampler(double rate) {
+		this(rate, Collections.emptyMap());
+	}
+
+	/**
+	 * Create a new {@link RateHttpTraceSampler} instance.
+	 * @param rate the proportion of exchanges to trace when no path pattern matches,
+	 * between {@code 0.0} and {@code 1.0}
+	 * @param pathRates rates keyed by Ant-style path pattern
+	 */
+	public RateHttpTraceSampler(double rate, Map<String, Double> pathRates) {
+		assertValidRate(rate);
+		this.rate = rate;
+		this.pathRates = new ArrayList<>();
+		if (pathRates != null) {
+			pathRates.forEach((pattern, pathRate) -> {
+				assertValidRate(pathRate);
+				this.pathRates.add(new PathRate(pattern, pathRate));
+			});
+		}
+	}
+
+	private void assertValidRate(Double rate) {
+		Assert.isTrue(rate != null && rate >= 0.0 && rate <= 1.0,
+				() -> "Rate must be between 0.0 and 1.0 but was " + rate);
+	}
+
+	@Override
+	public boolean isSampled(TraceableRequest request) {
+		return isSampled(getRate(request));
+	}
+
+	private double getRate(TraceableRequest request) {
+		if (this.pathRates.isEmpty()) {
+			return this.rate;
+		}
+		String path = request.getUri().getPath();
+		for (PathRate pathRate : this.pathRates) {
+			if (pathMatcher.match(pathRate.pattern, path)) {
+				return pathRate.rate;
+			}
+		}
+		return this.rate;
+	}
+
+	private boolean isSampled(double rate) {
+		if (rate >= 1.0) {
+			return true;
+		}
+		if (rate <= 0.0) {
+			return false;
+		}
+		return ThreadLocalRandom.current().nextDouble() < rate;
+	}
+
+	/**
+	 * A rate that applies to paths matching a pattern.
+	 */
+	private static final class PathRate {
+
+		private final String pattern;
+
+		private final double rate;
+
+		PathRate(String pattern, double rate) {
+			this.pattern = pattern;
+			this.rate = rate;
+		}
+
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * Lock-free, bounded, in-memory implementation of {@link HttpTraceRepository}. Traces are
+ * stored in a fixed size ring buffer where each {@link #add(HttpTrace) add} claims a slot
+ * with a single atomic increment and {@link #findAll()} returns a snapshot without ever
+ * blocking writers. Unlike {@link InMemoryHttpTraceRepository}, a trace that is still
+ * being written when a snapshot is taken may be omitted from it.
+ *
+ * @author agent
+ * @since 2.1.0
+ * @see InMemoryHttpTraceRepository
+ */
+public class RingBufferHttpTraceRepository implements HttpTraceRepository {
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final AtomicReferenceArray<Slot> slots;
+
+	private volatile boolean reverse = true;
+
+	/**
+	 * Create a new {@link RingBufferHttpTraceRepository} with a capacity of 100 traces.
+	 */
+	public RingBufferHttpTraceRepository() {
+		this(100);
+	}
+
+	/**
+	 * Create a new {@link RingBufferHttpTraceRepository} instance.
+	 * @param capacity the maximum number of traces to retain
+	 */
+	public RingBufferHttpTraceRepository(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.slots = new AtomicReferenceArray<>(capacity);
+	}
+
+	/**
+	 * Flag to say that the repository lists traces in reverse order.
+	 * @param reverse flag value (default true)
+	 */
+	public void setReverse(boolean reverse) {
+		this.reverse = reverse;
+	}
+
+	@Override
+	public List<HttpTrace> findAll() {
+		long last = this.sequence.get();
+		long first = Math.max(0, last - this.slots.length());
+		List<HttpTrace> traces = new ArrayList<>((int) (last - first));
+		for (long index = last - 1; index >= first; index--) {
+			Slot slot = this.slots.get(getSlotIndex(index));
+			if (slot != null && slot.sequence == index) {
+				traces.add(slot.trace);
+			}
+		}
+		if (!this.reverse) {
+			Collections.reverse(traces);
+		}
+		return Collections.unmodifiableList(traces);
+	}
+
+	@Override
+	public void add(HttpTrace trace) {
+		long index = this.sequence.getAndIncrement();
+		int slotIndex = getSlotIndex(index);
+		Slot slot = new Slot(index, trace);
+		Slot existing = this.slots.get(slotIndex);
+		while ((existing == null || existing.sequence < index)
+				&& !this.slots.compareAndSet(slotIndex, existing, slot)) {
+			existing = this.slots.get(slotIndex);
+		}
+	}
+
+	private int getSlotIndex(long sequence) {
+		return (int) (sequence % this.slots.length());
+	}
+
+	/**
+	 * A single entry in the ring buffer.
+	 */
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final HttpTrace trace;
+
+		Slot(long sequence, HttpTrace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
+		}
+
+	}
+
+}
@@ -24,6 +24,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
 import org.springframework.boot.actuate.trace.http.Include;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
@@ -55,11 +56,27 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 
 	private final Set<Include> includes;
 
+	private final HttpTraceSampler sampler;
+
 	public HttpTraceWebFilter(HttpTraceRepository repository, HttpExchangeTracer tracer,
 			Set<Include> includes) {
+		this(repository, tracer, includes, HttpTraceSampler.ALWAYS);
+	}
+
+	/**
+	 * Create a new {@link HttpTraceWebFilter} instance.
+	 * @param repository the trace repository
+	 * @param tracer used to trace exchanges
+	 * @param includes the items to include in the trace
+	 * @param sampler used to decide which exchanges are traced
+	 * @since 2.1.0
+	 */
+	public HttpTraceWebFilter(HttpTraceRepository repository, HttpExchangeTracer tracer,
+			Set<Include> includes, HttpTraceSampler sampler) {
 		this.repository = repository;
 		this.tracer = tracer;
 		this.includes = includes;
+		this.sampler = (sampler != null) ? sampler : HttpTraceSampler.ALWAYS;
 	}
 
 	@Override
@@ -73,13 +90,18 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 
 	@Override
 	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		ServerWebExchangeTraceableRequest request = new ServerWebExchangeTraceableRequest(
+				exchange);
+		if (!this.sampler.isSampled(request)) {
+			return chain.filter(exchange);
+		}
 		Mono<?> principal = (this.includes.contains(Include.PRINCIPAL)
 				? exchange.getPrincipal().cast(Object.class).defaultIfEmpty(NONE)
 				: Mono.just(NONE));
 		Mono<?> session = (this.includes.contains(Include.SESSION_ID)
 				? exchange.getSession() : Mono.just(NONE));
 		return Mono.zip(principal, session)
-				.flatMap((tuple) -> filter(exchange, chain,
+				.flatMap((tuple) -> filter(exchange, chain, request,
 						asType(tuple.getT1(), Principal.class),
 						asType(tuple.getT2(), WebSession.class)));
 	}
@@ -92,9 +114,8 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 	}
 
 	private Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain,
-			Principal principal, WebSession session) {
-		ServerWebExchangeTraceableRequest request = new ServerWebExchangeTraceableRequest(
-				exchange);
+			ServerWebExchangeTraceableRequest request, Principal principal,
+			WebSession session) {
 		HttpTrace trace = this.tracer.receivedRequest(request);
 		return chain.filter(exchange).doAfterSuccessOrError((aVoid, ex) -> {
 			TraceableServerHttpResponse response = new TraceableServerHttpResponse(
@@ -31,6 +31,7 @@ import javax.servlet.http.HttpSession;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -55,14 +56,29 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 
 	private final HttpExchangeTracer tracer;
 
+	private final HttpTraceSampler sampler;
+
 	/**
 	 * Create a new {@link HttpTraceFilter} instance.
 	 * @param repository the trace repository
 	 * @param tracer used to trace exchanges
 	 */
 	public HttpTraceFilter(HttpTraceRepository repository, HttpExchangeTracer tracer) {
+		this(repository, tracer, HttpTraceSampler.ALWAYS);
+	}
+
+	/**
+	 * Create a new {@link HttpTraceFilter} instance.
+	 * @param repository the trace repository
+	 * @param tracer used to trace exchanges
+	 * @param sampler used to decide which exchanges are traced
+	 * @since 2.1.0
+	 */
+	public HttpTraceFilter(HttpTraceRepository repository, HttpExchangeTracer tracer,
+			HttpTraceSampler sampler) {
 		this.repository = repository;
 		this.tracer = tracer;
+		this.sampler = (sampler != null) ? sampler : HttpTraceSampler.ALWAYS;
 	}
 
 	@Override
@@ -84,6 +100,10 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 		}
 		TraceableHttpServletRequest traceableRequest = new TraceableHttpServletRequest(
 				request);
+		if (!this.sampler.isSampled(traceableRequest)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
 		HttpTrace trace = this.tracer.receivedRequest(traceableRequest);
 		int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
 		try {
@@ -69,12 +69,11 @@ public class CachingOperationInvokerAdvisorTests {
 	}
 
 	@Test
-	public void applyWhenHasAtLeaseOneMandatoryParameterShouldNotAddAdvise() {
+	public void applyWhenHasAtLeastOneMandatoryParameterShouldAddAdvise() {
 		OperationParameters parameters = getParameters("getWithParameters", String.class,
 				String.class);
-		OperationInvoker advised = this.advisor.apply("foo", OperationType.READ,
-				parameters, this.invoker);
-		assertThat(advised).isSameAs(this.invoker);
+		given(this.timeToLive.apply(any())).willReturn(100L);
+		assertAdviseIsApplied(parameters);
 	}
 
 	@Test
@@ -120,6 +119,24 @@ public class CachingOperationInvokerAdvisorTests {
 		assertAdviseIsApplied(parameters);
 	}
 
+	@Test
+	public void applyShouldNotCacheByPrincipalByDefault() {
+		OperationParameters parameters = getParameters("get");
+		given(this.timeToLive.apply(any())).willReturn(100L);
+		OperationInvoker advised = this.advisor.apply("foo", OperationType.READ,
+				parameters, this.invoker);
+		assertThat(((CachingOperationInvoker) advised).isCacheByPrincipal()).isFalse();
+	}
+
+	@Test
+	public void applyWhenCachingByPrincipalShouldCacheByPrincipal() {
+		OperationParameters parameters = getParameters("get");
+		given(this.timeToLive.apply(any())).willReturn(100L);
+		OperationInvoker advised = new CachingOperationInvokerAdvisor(this.timeToLive,
+				true).apply("foo", OperationType.READ, parameters, this.invoker);
+		assertThat(((CachingOperationInvoker) advised).isCacheByPrincipal()).isTrue();
+	}
+
 	private void assertAdviseIsApplied(OperationParameters parameters) {
 		OperationInvoker advised = this.advisor.apply("foo", OperationType.READ,
 				parameters, this.invoker);
@@ -17,9 +17,17 @@
 package org.springframework.boot.actuate.endpoint.invoker.cache;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -30,6 +38,8 @@ import org.springframework.boot.actuate.endpoint.SecurityContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -82,36 +92,161 @@ public class CachingOperationInvokerTests {
 	}
 
 	@Test
-	public void targetAlwaysInvokedWithParameters() {
-		OperationInvoker target = mock(OperationInvoker.class);
+	public void cacheInTtlRangeWithParameters() {
 		Map<String, Object> parameters = new HashMap<>();
 		parameters.put("test", "value");
 		parameters.put("something", null);
-		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
-				parameters);
-		given(target.invoke(context)).willReturn(new Object());
+		assertCacheIsUsed(parameters);
+	}
+
+	@Test
+	public void cacheInTtlRangeWithArrayParameter() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext first = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("tag", new String[] { "a:b" }));
+		InvocationContext second = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("tag", new String[] { "a:b" }));
+		Object expected = new Object();
+		given(target.invoke(first)).willReturn(expected);
 		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		verify(target, times(3)).invoke(context);
+		assertThat(invoker.invoke(first)).isSameAs(expected);
+		assertThat(invoker.invoke(second)).isSameAs(expected);
+		verify(target, times(1)).invoke(first);
+		verifyNoMoreInteractions(target);
+	}
+
+	@Test
+	public void targetInvokedForEachDistinctParameters() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext first = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("name", "first"));
+		InvocationContext second = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("name", "second"));
+		given(target.invoke(first)).willReturn("one");
+		given(target.invoke(second)).willReturn("two");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThat(invoker.invoke(first)).isEqualTo("one");
+		assertThat(invoker.invoke(second)).isEqualTo("two");
+		assertThat(invoker.invoke(first)).isEqualTo("one");
+		assertThat(invoker.invoke(second)).isEqualTo("two");
+		verify(target, times(1)).invoke(first);
+		verify(target, times(1)).invoke(second);
+	}
+
+	@Test
+	public void targetAlwaysInvokedWithPrincipalByDefault() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext context = new InvocationContext(securityContext("alice"),
+				Collections.emptyMap());
+		given(target.invoke(context)).willReturn("alice");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThat(invoker.invoke(context)).isEqualTo("alice");
+		assertThat(invoker.invoke(context)).isEqualTo("alice");
+		verify(target, times(2)).invoke(context);
 	}
 
 	@Test
-	public void targetAlwaysInvokedWithPrincipal() {
+	public void cacheInTtlRangeWithPrincipalWhenCachingByPrincipal() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext alice = new InvocationContext(securityContext("alice"),
+				Collections.emptyMap());
+		InvocationContext bob = new InvocationContext(securityContext("bob"),
+				Collections.emptyMap());
+		given(target.invoke(alice)).willReturn("alice");
+		given(target.invoke(bob)).willReturn("bob");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L, true);
+		assertThat(invoker.invoke(alice)).isEqualTo("alice");
+		assertThat(invoker.invoke(bob)).isEqualTo("bob");
+		assertThat(invoker.invoke(alice)).isEqualTo("alice");
+		verify(target, times(1)).invoke(alice);
+		verify(target, times(1)).invoke(bob);
+	}
+
+	@Test
+	public void targetAlwaysInvokedWithUnnamedPrincipal() {
 		OperationInvoker target = mock(OperationInvoker.class);
 		Map<String, Object> parameters = new HashMap<>();
 		SecurityContext securityContext = mock(SecurityContext.class);
 		given(securityContext.getPrincipal()).willReturn(mock(Principal.class));
 		InvocationContext context = new InvocationContext(securityContext, parameters);
 		given(target.invoke(context)).willReturn(new Object());
-		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L, true);
 		invoker.invoke(context);
 		invoker.invoke(context);
 		invoker.invoke(context);
 		verify(target, times(3)).invoke(context);
 	}
 
+	@Test
+	public void targetAlwaysInvokedWhenCacheIsFull() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		for (int i = 0; i < CachingOperationInvoker.MAX_CACHE_SIZE; i++) {
+			invoker.invoke(new InvocationContext(mock(SecurityContext.class),
+					Collections.singletonMap("name", i)));
+		}
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("name", "overflow"));
+		invoker.invoke(context);
+		invoker.invoke(context);
+		verify(target, times(2)).invoke(context);
+	}
+
+	@Test
+	public void targetFailureIsNotCached() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		Object expected = new Object();
+		given(target.invoke(context)).willThrow(new IllegalStateException("test"))
+				.willReturn(expected);
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThatIllegalStateException().isThrownBy(() -> invoker.invoke(context))
+				.withMessage("test");
+		assertThat(invoker.invoke(context)).isSameAs(expected);
+		assertThat(invoker.invoke(context)).isSameAs(expected);
+		verify(target, times(2)).invoke(context);
+	}
+
+	@Test
+	public void concurrentInvocationsAreCoalesced() throws Exception {
+		CountDownLatch invoked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		OperationInvoker target = (context) -> {
+			invocations.incrementAndGet();
+			invoked.countDown();
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return "response";
+		};
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 10000L);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("name", "test"));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Object>> responses = new ArrayList<>();
+			responses.add(executor.submit(() -> invoker.invoke(context)));
+			assertThat(invoked.await(5, TimeUnit.SECONDS)).isTrue();
+			for (int i = 0; i < 3; i++) {
+				responses.add(executor.submit(() -> invoker.invoke(context)));
+			}
+			release.countDown();
+			for (Future<Object> response : responses) {
+				assertThat(response.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+			}
+			assertThat(invocations.get()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void targetInvokedWhenCacheExpires() throws InterruptedException {
 		OperationInvoker target = mock(OperationInvoker.class);
@@ -126,4 +261,12 @@ public class CachingOperationInvokerTests {
 		verify(target, times(2)).invoke(context);
 	}
 
+	private SecurityContext securityContext(String name) {
+		Principal principal = mock(Principal.class);
+		given(principal.getName()).willReturn(name);
+		SecurityContext securityContext = mock(SecurityContext.class);
+		given(securityContext.getPrincipal()).willReturn(principal);
+		return securityContext;
+	}
+
 }
@@ -18,7 +18,14 @@ package org.springframework.boot.actuate.health;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Before;
@@ -28,6 +35,8 @@ import org.mockito.MockitoAnnotations;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link CompositeHealthIndicator}
@@ -72,6 +81,138 @@ public class CompositeHealthIndicatorTests {
 				new Health.Builder().unknown().withDetail("2", "2").build());
 	}
 
+	@Test
+	public void createWithParallelStrategy() {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("two", this.two);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator, indicators).parallelStrategy(executor, 1000);
+			Health result = composite.health();
+			assertThat(result.getDetails()).containsOnlyKeys("one", "two");
+			assertThat(result.getDetails()).containsEntry("one",
+					new Health.Builder().unknown().withDetail("1", "1").build());
+			assertThat(result.getDetails()).containsEntry("two",
+					new Health.Builder().unknown().withDetail("2", "2").build());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void parallelStrategyWhenIndicatorTimesOut() {
+		CountDownLatch latch = new CountDownLatch(1);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("slow", () -> {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Health.up().build();
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator, indicators).parallelStrategy(executor, 50);
+			Health result = composite.health();
+			assertThat(result.getDetails()).containsEntry("one",
+					new Health.Builder().unknown().withDetail("1", "1").build());
+			assertThat(result.getDetails()).containsEntry("slow", new Health.Builder()
+					.unknown().withDetail("error", "Timed out after 50ms").build());
+		}
+		finally {
+			latch.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void parallelStrategyWhenIndicatorTimesOutInterruptsIndicator()
+			throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("slow", () -> {
+			started.countDown();
+			try {
+				Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+			}
+			return Health.up().build();
+		});
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator, indicators).parallelStrategy(executor, 50);
+			assertThat(composite.health().getStatus()).isEqualTo(Status.UNKNOWN);
+			assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+			assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void parallelStrategyWhenIndicatorThrowsException() {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("failing", () -> {
+			throw new IllegalStateException("test");
+		});
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator, indicators).parallelStrategy(executor, 1000);
+			Health result = composite.health();
+			assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(((Health) result.getDetails().get("failing")).getDetails())
+					.containsEntry("error", "java.lang.IllegalStateException: test");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void parallelStrategyWhenExecutorRejectsIndicator() {
+		CountDownLatch latch = new CountDownLatch(1);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("slow", () -> {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Health.up().build();
+		});
+		indicators.put("rejected", this.one);
+		ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+				new SynchronousQueue<>());
+		try {
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator, indicators).parallelStrategy(executor, 50);
+			Health result = composite.health();
+			assertThat(result.getDetails()).containsEntry("rejected",
+					new Health.Builder().unknown()
+							.withDetail("error", "Rejected by the health executor")
+							.build());
+			verify(this.one, never()).health();
+		}
+		finally {
+			latch.countDown();
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void testSerialization() throws Exception {
 		Map<String, HealthIndicator> indicators = new HashMap<>();
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.health.TimedHealthIndicatorRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SnapshotHealthIndicatorRegistry}.
+ *
+ * @author agent
+ */
+public class SnapshotHealthIndicatorRegistryTests {
+
+	private final ScheduledExecutorService executor = Executors
+			.newSingleThreadScheduledExecutor();
+
+	private final HealthIndicatorRegistry delegate = new DefaultHealthIndicatorRegistry();
+
+	private final SnapshotHealthIndicatorRegistry registry = new SnapshotHealthIndicatorRegistry(
+			this.delegate, this.executor, (name) -> Duration.ofHours(1));
+
+	@After
+	public void close() {
+		this.registry.clear();
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	public void getShouldReturnUndecoratedIndicator() {
+		HealthIndicator indicator = () -> Health.up().build();
+		this.registry.register("test", indicator);
+		assertThat(this.delegate.get("test")).isSameAs(indicator);
+		assertThat(this.registry.get("test")).isSameAs(indicator);
+	}
+
+	@Test
+	public void getAllShouldReturnSnapshot() {
+		AtomicInteger invocations = new AtomicInteger();
+		this.registry.register("test", () -> Health.up()
+				.withDetail("invocation", invocations.incrementAndGet()).build());
+		HealthIndicator indicator = this.registry.getAll().get("test");
+		Health first = indicator.health();
+		Health second = this.registry.getAll().get("test").health();
+		assertThat(first.getStatus()).isEqualTo(Status.UP);
+		assertThat(first.getDetails()).containsEntry("invocation", 1)
+				.containsKey("snapshot");
+		assertThat(second.getDetails()).containsEntry("invocation", 1);
+		assertThat(invocations.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void getAllWhenDecoratingTimedRegistryShouldReturnSnapshot() {
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SnapshotHealthIndicatorRegistry registry = new SnapshotHealthIndicatorRegistry(
+				new TimedHealthIndicatorRegistry(this.delegate, meterRegistry),
+				this.executor, (name) -> Duration.ofHours(1));
+		try {
+			AtomicInteger invocations = new AtomicInteger();
+			registry.register("test", () -> Health.up()
+					.withDetail("invocation", invocations.incrementAndGet()).build());
+			registry.getAll().get("test").health();
+			Health health = registry.getAll().get("test").health();
+			assertThat(health.getDetails()).containsEntry("invocation", 1);
+			assertThat(invocations.get()).isEqualTo(1);
+			assertThat(meterRegistry.get("health.indicator").tag("name", "test").timer()
+					.count()).isEqualTo(1);
+		}
+		finally {
+			registry.clear();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void getAllShouldExposeSnapshotAge() {
+		this.registry.register("test", () -> Health.up().build());
+		Health health = this.registry.getAll().get("test").health();
+		Map<String, Object> snapshot = (Map<String, Object>) health.getDetails()
+				.get("snapshot");
+		assertThat(snapshot).containsKeys("timestamp", "age");
+	}
+
+	@Test
+	public void getAllWhenIndicatorThrowsShouldReturnDown() {
+		this.registry.register("test", () -> {
+			throw new IllegalStateException("test");
+		});
+		Health health = this.registry.getAll().get("test").health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"java.lang.IllegalStateException: test");
+	}
+
+	@Test
+	public void getAllShouldReflectRegistryChanges() {
+		this.registry.register("one", () -> Health.up().build());
+		assertThat(this.registry.getAll()).containsOnlyKeys("one");
+		this.registry.register("two", () -> Health.down().build());
+		assertThat(this.registry.getAll()).containsOnlyKeys("one", "two");
+		this.registry.unregister("one");
+		assertThat(this.registry.getAll()).containsOnlyKeys("two");
+		assertThat(this.registry.getAll().get("two").health().getStatus())
+				.isEqualTo(Status.DOWN);
+	}
+
+	@Test
+	public void getAllShouldRefreshOnSchedule() throws Exception {
+		AtomicInteger invocations = new AtomicInteger();
+		SnapshotHealthIndicatorRegistry registry = new SnapshotHealthIndicatorRegistry(
+				this.delegate, this.executor, (name) -> Duration.ofMillis(10));
+		this.delegate.register("test", () -> Health.up()
+				.withDetail("invocation", invocations.incrementAndGet()).build());
+		registry.getAll();
+		long timeout = System.currentTimeMillis() + 5000;
+		while (invocations.get() < 3 && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		registry.clear();
+		assertThat(invocations.get()).isGreaterThanOrEqualTo(3);
+	}
+
+	@Test
+	public void getAllWhenIndicatorThrowsErrorShouldKeepRefreshing() throws Exception {
+		AtomicInteger invocations = new AtomicInteger();
+		SnapshotHealthIndicatorRegistry registry = new SnapshotHealthIndicatorRegistry(
+				this.delegate, this.executor, (name) -> Duration.ofMillis(10));
+		this.delegate.register("test", () -> {
+			if (invocations.incrementAndGet() < 3) {
+				throw new AssertionError("test");
+			}
+			return Health.up().build();
+		});
+		Health health = registry.getAll().get("test").health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"java.lang.AssertionError: test");
+		long timeout = System.currentTimeMillis() + 5000;
+		while (health.getStatus() != Status.UP && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+			health = registry.getAll().get("test").health();
+		}
+		registry.clear();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.health;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.health.DefaultHealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link TimedHealthIndicatorRegistry}.
+ *
+ * @author agent
+ */
+public class TimedHealthIndicatorRegistryTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final HealthIndicatorRegistry delegate = new DefaultHealthIndicatorRegistry();
+
+	private final TimedHealthIndicatorRegistry registry = new TimedHealthIndicatorRegistry(
+			this.delegate, this.meterRegistry);
+
+	@Test
+	public void registerShouldRegisterWithDelegate() {
+		HealthIndicator indicator = () -> Health.up().build();
+		this.registry.register("test", indicator);
+		assertThat(this.delegate.get("test")).isSameAs(indicator);
+		assertThat(this.registry.get("test")).isSameAs(indicator);
+	}
+
+	@Test
+	public void getAllShouldRecordLatency() {
+		this.registry.register("up", () -> Health.up().build());
+		this.registry.register("down", () -> Health.down().build());
+		this.registry.getAll().values().forEach(HealthIndicator::health);
+		assertThat(this.meterRegistry.get("health.indicator").tag("name", "up")
+				.tag("status", "UP").timer().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get("health.indicator").tag("name", "down")
+				.tag("status", "DOWN").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void getAllShouldReturnSameIndicatorWhileRegistered() {
+		this.registry.register("test", () -> Health.up().build());
+		HealthIndicator indicator = this.registry.getAll().get("test");
+		assertThat(this.registry.getAll().get("test")).isSameAs(indicator);
+		this.registry.unregister("test");
+		this.registry.register("test", () -> Health.down().build());
+		assertThat(this.registry.getAll().get("test")).isNotSameAs(indicator);
+	}
+
+	@Test
+	public void getAllWhenIndicatorThrowsShouldRecordError() {
+		this.registry.register("failing", () -> {
+			throw new IllegalStateException("test");
+		});
+		HealthIndicator indicator = this.registry.getAll().get("failing");
+		assertThatIllegalStateException().isThrownBy(indicator::health);
+		assertThat(this.meterRegistry.get("health.indicator").tag("name", "failing")
+				.tag("status", "ERROR").timer().count()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.startup;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.startup.StartupTimelineEndpoint.StartupTimelineDescriptor;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupTimelineEndpoint}.
+ *
+ * @author agent
+ */
+public class StartupTimelineEndpointTests {
+
+	@Test
+	public void startupTimelineReturnsRecordedEvents() {
+		StartupTimeline timeline = new StartupTimeline(1);
+		timeline.start("first").tag("key", "value").end();
+		timeline.start("second").end();
+		StartupTimelineDescriptor descriptor = new StartupTimelineEndpoint(timeline)
+				.startupTimeline();
+		assertThat(descriptor.getStartTime()).isEqualTo(timeline.getStartTime());
+		assertThat(descriptor.getDroppedEvents()).isEqualTo(1);
+		assertThat(descriptor.getEvents()).extracting(Event::getName)
+				.containsExactly("first");
+		assertThat(descriptor.getEvents().get(0).getTags()).containsEntry("key", "value");
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link AsyncHttpTraceRepository}.
+ *
+ * @author agent
+ */
+public class AsyncHttpTraceRepositoryTests {
+
+	private AsyncHttpTraceRepository repository;
+
+	@After
+	public void destroy() {
+		if (this.repository != null) {
+			this.repository.destroy();
+		}
+	}
+
+	@Test
+	public void addShouldStoreTraceInDelegate() throws Exception {
+		InMemoryHttpTraceRepository delegate = new InMemoryHttpTraceRepository();
+		this.repository = new AsyncHttpTraceRepository(delegate, 10);
+		this.repository.add(new HttpTrace(mock(TraceableRequest.class)));
+		long timeout = System.currentTimeMillis() + 10000;
+		while (delegate.findAll().isEmpty() && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertThat(this.repository.findAll()).hasSize(1);
+	}
+
+	@Test
+	public void addWhenQueueIsFullShouldDropTrace() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		HttpTraceRepository delegate = new HttpTraceRepository() {
+
+			@Override
+			public List<HttpTrace> findAll() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public void add(HttpTrace trace) {
+				blocked.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+		};
+		this.repository = new AsyncHttpTraceRepository(delegate, 1);
+		this.repository.add(new HttpTrace(mock(TraceableRequest.class)));
+		assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+		this.repository.add(new HttpTrace(mock(TraceableRequest.class)));
+		this.repository.add(new HttpTrace(mock(TraceableRequest.class)));
+		assertThat(this.repository.getPendingCount()).isEqualTo(1);
+		assertThat(this.repository.getDroppedCount()).isEqualTo(1);
+		release.countDown();
+	}
+
+}
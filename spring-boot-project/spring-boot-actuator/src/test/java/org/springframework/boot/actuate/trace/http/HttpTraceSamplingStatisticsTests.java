@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link HttpTraceSamplingStatistics}.
+ *
+ * @author agent
+ */
+public class HttpTraceSamplingStatisticsTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final HttpTraceSamplingStatistics statistics = new HttpTraceSamplingStatistics();
+
+	@Test
+	public void instrumentWhenSamplerIsNullShouldThrowException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Sampler must not be null");
+		this.statistics.instrument(null);
+	}
+
+	@Test
+	public void instrumentedSamplerShouldRecordDecisions() {
+		TraceableRequest request = mock(TraceableRequest.class);
+		HttpTraceSampler sampled = this.statistics.instrument((r) -> true);
+		HttpTraceSampler skipped = this.statistics.instrument((r) -> false);
+		assertThat(sampled.isSampled(request)).isTrue();
+		assertThat(sampled.isSampled(request)).isTrue();
+		assertThat(skipped.isSampled(request)).isFalse();
+		assertThat(this.statistics.getSampledCount()).isEqualTo(2);
+		assertThat(this.statistics.getSkippedCount()).isEqualTo(1);
+	}
+
+}
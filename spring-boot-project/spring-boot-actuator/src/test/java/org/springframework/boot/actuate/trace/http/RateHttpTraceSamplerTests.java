@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link RateHttpTraceSampler}.
+ *
+ * @author agent
+ */
+public class RateHttpTraceSamplerTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void createWhenRateIsOutOfRangeShouldThrowException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Rate must be between 0.0 and 1.0 but was 1.5");
+		new RateHttpTraceSampler(1.5);
+	}
+
+	@Test
+	public void isSampledWhenRateIsOneShouldSampleAll() {
+		RateHttpTraceSampler sampler = new RateHttpTraceSampler(1.0);
+		for (int i = 0; i < 10; i++) {
+			assertThat(sampler.isSampled(createRequest("/test"))).isTrue();
+		}
+	}
+
+	@Test
+	public void isSampledWhenRateIsZeroShouldSkipAll() {
+		RateHttpTraceSampler sampler = new RateHttpTraceSampler(0.0);
+		for (int i = 0; i < 10; i++) {
+			assertThat(sampler.isSampled(createRequest("/test"))).isFalse();
+		}
+	}
+
+	@Test
+	public void isSampledShouldUseFirstMatchingPathRate() {
+		Map<String, Double> paths = new LinkedHashMap<>();
+		paths.put("/actuator/**", 0.0);
+		paths.put("/**", 1.0);
+		RateHttpTraceSampler sampler = new RateHttpTraceSampler(0.0, paths);
+		assertThat(sampler.isSampled(createRequest("/actuator/health"))).isFalse();
+		assertThat(sampler.isSampled(createRequest("/api/test"))).isTrue();
+	}
+
+	@Test
+	public void isSampledWhenNoPathMatchesShouldUseDefaultRate() {
+		Map<String, Double> paths = new LinkedHashMap<>();
+		paths.put("/api/**", 0.0);
+		RateHttpTraceSampler sampler = new RateHttpTraceSampler(1.0, paths);
+		assertThat(sampler.isSampled(createRequest("/api/test"))).isFalse();
+		assertThat(sampler.isSampled(createRequest("/other"))).isTrue();
+	}
+
+	private TraceableRequest createRequest(String path) {
+		TraceableRequest request = mock(TraceableRequest.class);
+		given(request.getUri()).willReturn(URI.create("https://api.example.com" + path));
+		return request;
+	}
+
+}
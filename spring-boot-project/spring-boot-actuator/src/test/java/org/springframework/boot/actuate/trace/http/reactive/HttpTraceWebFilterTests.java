@@ -72,6 +72,25 @@ public class HttpTraceWebFilterTests {
 		assertThat(this.repository.findAll()).hasSize(1);
 	}
 
+	@Test
+	public void filterWhenNotSampledDoesNotTraceExchange()
+			throws ServletException, IOException {
+		HttpTraceWebFilter filter = new HttpTraceWebFilter(this.repository, this.tracer,
+				EnumSet.allOf(Include.class), (request) -> false);
+		filter.filter(
+				MockServerWebExchange
+						.from(MockServerHttpRequest.get("https://api.example.com")),
+				new WebFilterChain() {
+
+					@Override
+					public Mono<Void> filter(ServerWebExchange exchange) {
+						return Mono.empty();
+					}
+
+				}).block();
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
 	@Test
 	public void filterCapturesSessionIdWhenSessionIsUsed()
 			throws ServletException, IOException {
@@ -69,6 +69,18 @@ public class HttpTraceFilterTests {
 		assertThat(this.repository.findAll()).hasSize(1);
 	}
 
+	@Test
+	public void filterWhenNotSampledDoesNotTraceExchange()
+			throws ServletException, IOException {
+		HttpTraceFilter filter = new HttpTraceFilter(this.repository, this.tracer,
+				(request) -> false);
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				chain);
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
 	@Test
 	public void filterCapturesSessionId() throws ServletException, IOException {
 		this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
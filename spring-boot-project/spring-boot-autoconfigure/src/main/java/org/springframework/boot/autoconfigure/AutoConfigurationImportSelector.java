@@ -40,6 +40,7 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.Configuration;
@@ -115,16 +116,40 @@ public class AutoConfigurationImportSelector
 		if (!isEnabled(annotationMetadata)) {
 			return EMPTY_ENTRY;
 		}
-		AnnotationAttributes attributes = getAttributes(annotationMetadata);
-		List<String> configurations = getCandidateConfigurations(annotationMetadata,
-				attributes);
-		configurations = removeDuplicates(configurations);
-		Set<String> exclusions = getExclusions(annotationMetadata, attributes);
-		checkExcludedClasses(configurations, exclusions);
-		configurations.removeAll(exclusions);
-		configurations = filter(configurations, autoConfigurationMetadata);
-		fireAutoConfigurationImportEvents(configurations, exclusions);
-		return new AutoConfigurationEntry(configurations, exclusions);
+		StartupTimeline.Step step = startStep(this.beanFactory,
+				"spring.boot.autoconfig.imports");
+		try {
+			AnnotationAttributes attributes = getAttributes(annotationMetadata);
+			List<String> configurations = getCandidateConfigurations(annotationMetadata,
+					attributes);
+			configurations = removeDuplicates(configurations);
+			Set<String> exclusions = getExclusions(annotationMetadata, attributes);
+			checkExcludedClasses(configurations, exclusions);
+			configurations.removeAll(exclusions);
+			if (step != null) {
+				step.tag("candidates", configurations.size());
+			}
+			configurations = filter(configurations, autoConfigurationMetadata);
+			fireAutoConfigurationImportEvents(configurations, exclusions);
+			if (step != null) {
+				step.tag("configurations", configurations.size()).tag("exclusions",
+						exclusions.size());
+			}
+			return new AutoConfigurationEntry(configurations, exclusions);
+		}
+		finally {
+			if (step != null) {
+				step.end();
+			}
+		}
+	}
+
+	private static StartupTimeline.Step startStep(BeanFactory beanFactory, String name) {
+		if (beanFactory != null && beanFactory.containsBean(StartupTimeline.BEAN_NAME)) {
+			return beanFactory.getBean(StartupTimeline.BEAN_NAME, StartupTimeline.class)
+					.start(name);
+		}
+		return null;
 	}
 
 	@Override
@@ -456,8 +481,17 @@ public class AutoConfigurationImportSelector
 
 		private List<String> sortAutoConfigurations(Set<String> configurations,
 				AutoConfigurationMetadata autoConfigurationMetadata) {
-			return new AutoConfigurationSorter(getMetadataReaderFactory(),
-					autoConfigurationMetadata).getInPriorityOrder(configurations);
+			StartupTimeline.Step step = startStep(this.beanFactory,
+					"spring.boot.autoconfig.sort");
+			try {
+				return new AutoConfigurationSorter(getMetadataReaderFactory(),
+						autoConfigurationMetadata).getInPriorityOrder(configurations);
+			}
+			finally {
+				if (step != null) {
+					step.end();
+				}
+			}
 		}
 
 		private MetadataReaderFactory getMetadataReaderFactory() {
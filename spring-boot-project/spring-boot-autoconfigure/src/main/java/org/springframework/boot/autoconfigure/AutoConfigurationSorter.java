@@ -70,7 +70,7 @@ class AutoConfigurationSorter {
 
 	private List<String> sortByAnnotation(AutoConfigurationClasses classes,
 			List<String> classNames) {
-		List<String> toSort = new ArrayList<>(classNames);
+		Set<String> toSort = new LinkedHashSet<>(classNames);
 		toSort.addAll(classes.getAllNames());
 		Set<String> sorted = new LinkedHashSet<>();
 		Set<String> processing = new LinkedHashSet<>();
@@ -82,10 +82,11 @@ class AutoConfigurationSorter {
 	}
 
 	private void doSortByAfterAnnotation(AutoConfigurationClasses classes,
-			List<String> toSort, Set<String> sorted, Set<String> processing,
+			Set<String> toSort, Set<String> sorted, Set<String> processing,
 			String current) {
 		if (current == null) {
-			current = toSort.remove(0);
+			current = toSort.iterator().next();
+			toSort.remove(current);
 		}
 		processing.add(current);
 		for (String after : classes.getClassesRequestedAfter(current)) {
@@ -103,6 +104,8 @@ class AutoConfigurationSorter {
 
 		private final Map<String, AutoConfigurationClass> classes = new HashMap<>();
 
+		private Map<String, Set<String>> requestedBefore;
+
 		AutoConfigurationClasses(MetadataReaderFactory metadataReaderFactory,
 				AutoConfigurationMetadata autoConfigurationMetadata,
 				Collection<String> classNames) {
@@ -142,14 +145,26 @@ class AutoConfigurationSorter {
 		public Set<String> getClassesRequestedAfter(String className) {
 			Set<String> classesRequestedAfter = new LinkedHashSet<>();
 			classesRequestedAfter.addAll(get(className).getAfter());
-			this.classes.forEach((name, autoConfigurationClass) -> {
-				if (autoConfigurationClass.getBefore().contains(className)) {
-					classesRequestedAfter.add(name);
-				}
-			});
+			classesRequestedAfter.addAll(
+					getRequestedBefore().getOrDefault(className, Collections.emptySet()));
 			return classesRequestedAfter;
 		}
 
+		private Map<String, Set<String>> getRequestedBefore() {
+			if (this.requestedBefore == null) {
+				Map<String, Set<String>> requestedBefore = new HashMap<>();
+				this.classes.forEach((name, autoConfigurationClass) -> {
+					for (String before : autoConfigurationClass.getBefore()) {
+						requestedBefore
+								.computeIfAbsent(before, (key) -> new LinkedHashSet<>())
+								.add(name);
+					}
+				});
+				this.requestedBefore = requestedBefore;
+			}
+			return this.requestedBefore;
+		}
+
 	}
 
 	private static class AutoConfigurationClass {
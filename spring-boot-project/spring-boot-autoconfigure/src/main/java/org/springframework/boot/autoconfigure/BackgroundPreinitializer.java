@@ -17,28 +17,48 @@
 package org.springframework.boot.autoconfigure;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.validation.Configuration;
 import javax.validation.Validation;
 
 import org.apache.catalina.mbeans.MBeanFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
+import org.springframework.boot.SpringApplication;
 import org.springframework.boot.context.event.ApplicationFailedEvent;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.event.ApplicationStartingEvent;
 import org.springframework.boot.context.event.SpringApplicationEvent;
 import org.springframework.boot.context.logging.LoggingApplicationListener;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.support.AllEncompassingFormHttpMessageConverter;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
- * {@link ApplicationListener} to trigger early initialization in a background thread of
- * time consuming tasks.
+ * {@link ApplicationListener} to trigger early initialization in background threads of
+ * time consuming tasks. In addition to a fixed set of tasks, any
+ * {@link PreinitializationTask} that is registered in {@code META-INF/spring.factories}
+ * is run. Tasks are run in parallel on a small pool of threads and all of them are
+ * complete before the {@link ApplicationReadyEvent} is handled. When the application has
+ * a {@link StartupTimeline}, the time taken by each task is recorded as a
+ * {@code spring.boot.preinitialization.task} step tagged with the name of the task.
  * <p>
  * Set the {@value IGNORE_BACKGROUNDPREINITIALIZER_PROPERTY_NAME} system property to
  * {@code true} to disable this mechanism and let such initialization happen in the
@@ -57,28 +77,57 @@ public class BackgroundPreinitializer
 	 * System property that instructs Spring Boot how to run pre initialization. When the
 	 * property is set to {@code true}, no pre-initialization happens and each item is
 	 * initialized in the foreground as it needs to. When the property is {@code false}
-	 * (default), pre initialization runs in a separate thread in the background.
+	 * (default), pre initialization runs in separate threads in the background.
 	 * @since 2.1.0
 	 */
 	public static final String IGNORE_BACKGROUNDPREINITIALIZER_PROPERTY_NAME = "spring.backgroundpreinitializer.ignore";
 
-	private static final AtomicBoolean preinitializationStarted = new AtomicBoolean(
-			false);
+	/**
+	 * System property that can be used to configure the maximum number of threads used to
+	 * run pre-initialization tasks. Defaults to the number of available processors, up to
+	 * a maximum of {@value #DEFAULT_MAX_THREADS}.
+	 * @since 2.1.0
+	 */
+	public static final String MAX_THREADS_PROPERTY_NAME = "spring.backgroundpreinitializer.max-threads";
+
+	private static final int DEFAULT_MAX_THREADS = 4;
+
+	private static final String STEP_NAME = "spring.boot.preinitialization.task";
 
-	private static final CountDownLatch preinitializationComplete = new CountDownLatch(1);
+	private static final Log logger = LogFactory.getLog(BackgroundPreinitializer.class);
+
+	private static final AtomicReference<Preinitialization> sharedPreinitialization = new AtomicReference<>();
+
+	private final AtomicReference<Preinitialization> preinitialization;
+
+	public BackgroundPreinitializer() {
+		this(sharedPreinitialization);
+	}
+
+	BackgroundPreinitializer(AtomicReference<Preinitialization> preinitialization) {
+		this.preinitialization = preinitialization;
+	}
 
 	@Override
 	public void onApplicationEvent(SpringApplicationEvent event) {
 		if (!Boolean.getBoolean(IGNORE_BACKGROUNDPREINITIALIZER_PROPERTY_NAME)
 				&& event instanceof ApplicationStartingEvent
-				&& preinitializationStarted.compareAndSet(false, true)) {
-			performPreinitialization();
+				&& this.preinitialization.get() == null) {
+			SpringApplication application = event.getSpringApplication();
+			Preinitialization preinitialization = new Preinitialization(
+					getTasks(application.getClassLoader(),
+							application.getStartupTimeline()),
+					getMaxThreads());
+			if (this.preinitialization.compareAndSet(null, preinitialization)) {
+				preinitialization.start();
+			}
 		}
+		Preinitialization preinitialization = this.preinitialization.get();
 		if ((event instanceof ApplicationReadyEvent
 				|| event instanceof ApplicationFailedEvent)
-				&& preinitializationStarted.get()) {
+				&& preinitialization != null) {
 			try {
-				preinitializationComplete.await();
+				preinitialization.await();
 			}
 			catch (InterruptedException ex) {
 				Thread.currentThread().interrupt();
@@ -86,45 +135,161 @@ public class BackgroundPreinitializer
 		}
 	}
 
-	private void performPreinitialization() {
-		try {
-			Thread thread = new Thread(new Runnable() {
+	private List<Runnable> getTasks(ClassLoader classLoader, StartupTimeline timeline) {
+		List<Runnable> tasks = new ArrayList<>();
+		tasks.add(new TimedTask(ConversionServiceInitializer::new, timeline));
+		tasks.add(new TimedTask(ValidationInitializer::new, timeline));
+		tasks.add(new TimedTask(MessageConverterInitializer::new, timeline));
+		tasks.add(new TimedTask(MBeanFactoryInitializer::new, timeline));
+		tasks.add(new TimedTask(JacksonInitializer::new, timeline));
+		tasks.add(new TimedTask(CharsetInitializer::new, timeline));
+		for (String name : SpringFactoriesLoader
+				.loadFactoryNames(PreinitializationTask.class, classLoader)) {
+			tasks.add(new TimedTask(() -> instantiate(name, classLoader), timeline));
+		}
+		return tasks;
+	}
 
-				@Override
-				public void run() {
-					runSafely(new ConversionServiceInitializer());
-					runSafely(new ValidationInitializer());
-					runSafely(new MessageConverterInitializer());
-					runSafely(new MBeanFactoryInitializer());
-					runSafely(new JacksonInitializer());
-					runSafely(new CharsetInitializer());
-					preinitializationComplete.countDown();
-				}
+	private PreinitializationTask instantiate(String name, ClassLoader classLoader)
+			throws Exception {
+		Class<?> type = ClassUtils.forName(name, classLoader);
+		Assert.isAssignable(PreinitializationTask.class, type);
+		return (PreinitializationTask) ReflectionUtils.accessibleConstructor(type)
+				.newInstance();
+	}
 
-				public void runSafely(Runnable runnable) {
-					try {
-						runnable.run();
-					}
-					catch (Throwable ex) {
-						// Ignore
-					}
+	private int getMaxThreads() {
+		int maxThreads = Integer.getInteger(MAX_THREADS_PROPERTY_NAME, Math
+				.min(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_THREADS));
+		return Math.max(maxThreads, 1);
+	}
+
+	/**
+	 * Runs pre-initialization tasks on a pool of threads and tracks their completion.
+	 */
+	static final class Preinitialization {
+
+		private final List<Runnable> tasks;
+
+		private final int maxThreads;
+
+		private final CountDownLatch complete = new CountDownLatch(1);
+
+		Preinitialization(List<Runnable> tasks, int maxThreads) {
+			this.tasks = tasks;
+			this.maxThreads = maxThreads;
+		}
+
+		void start() {
+			if (this.tasks.isEmpty()) {
+				this.complete.countDown();
+				return;
+			}
+			AtomicInteger remaining = new AtomicInteger(this.tasks.size());
+			try {
+				ExecutorService executor = Executors.newFixedThreadPool(
+						Math.min(this.maxThreads, this.tasks.size()),
+						new PreinitThreadFactory());
+				for (Runnable task : this.tasks) {
+					executor.execute(() -> {
+						try {
+							task.run();
+						}
+						finally {
+							if (remaining.decrementAndGet() == 0) {
+								this.complete.countDown();
+								executor.shutdown();
+							}
+						}
+					});
 				}
+			}
+			catch (Exception ex) {
+				// This will fail on GAE where creating threads is prohibited. We can
+				// safely continue but startup will be slightly slower as the
+				// initialization will now happen on the main thread.
+				this.complete.countDown();
+			}
+		}
+
+		void await() throws InterruptedException {
+			this.complete.await();
+		}
 
-			}, "background-preinit");
-			thread.start();
+	}
+
+	/**
+	 * Supplier of a {@link PreinitializationTask} that may fail to create the task, for
+	 * example because a class that it requires is not present.
+	 */
+	@FunctionalInterface
+	private interface TaskFactory {
+
+		PreinitializationTask create() throws Exception;
+
+	}
+
+	/**
+	 * Creates and runs a task, ignoring any failure and recording how long it took.
+	 */
+	private static final class TimedTask implements Runnable {
+
+		private final TaskFactory factory;
+
+		private final StartupTimeline timeline;
+
+		private TimedTask(TaskFactory factory, StartupTimeline timeline) {
+			this.factory = factory;
+			this.timeline = timeline;
 		}
-		catch (Exception ex) {
-			// This will fail on GAE where creating threads is prohibited. We can safely
-			// continue but startup will be slightly slower as the initialization will now
-			// happen on the main thread.
-			preinitializationComplete.countDown();
+
+		@Override
+		public void run() {
+			long startTime = System.nanoTime();
+			StartupTimeline.Step step = (this.timeline != null)
+					? this.timeline.start(STEP_NAME) : null;
+			String name = null;
+			try {
+				PreinitializationTask task = this.factory.create();
+				name = task.getClass().getName();
+				task.run();
+			}
+			catch (Throwable ex) {
+				// Ignore
+			}
+			if (name != null && step != null) {
+				step.tag("task", name).end();
+			}
+			if (name != null && logger.isDebugEnabled()) {
+				logger.debug("Preinitialization task " + name + " took "
+						+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)
+						+ "ms");
+			}
+		}
+
+	}
+
+	/**
+	 * {@link ThreadFactory} for pre-initialization threads.
+	 */
+	private static final class PreinitThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable,
+					"background-preinit-" + this.threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
 		}
+
 	}
 
 	/**
 	 * Early initializer for Spring MessageConverters.
 	 */
-	private static class MessageConverterInitializer implements Runnable {
+	private static class MessageConverterInitializer implements PreinitializationTask {
 
 		@Override
 		public void run() {
@@ -136,7 +301,7 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer to load Tomcat MBean XML.
 	 */
-	private static class MBeanFactoryInitializer implements Runnable {
+	private static class MBeanFactoryInitializer implements PreinitializationTask {
 
 		@Override
 		public void run() {
@@ -148,7 +313,7 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for javax.validation.
 	 */
-	private static class ValidationInitializer implements Runnable {
+	private static class ValidationInitializer implements PreinitializationTask {
 
 		@Override
 		public void run() {
@@ -161,7 +326,7 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for Jackson.
 	 */
-	private static class JacksonInitializer implements Runnable {
+	private static class JacksonInitializer implements PreinitializationTask {
 
 		@Override
 		public void run() {
@@ -173,7 +338,7 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for Spring's ConversionService.
 	 */
-	private static class ConversionServiceInitializer implements Runnable {
+	private static class ConversionServiceInitializer implements PreinitializationTask {
 
 		@Override
 		public void run() {
@@ -182,7 +347,10 @@ public class BackgroundPreinitializer
 
 	}
 
-	private static class CharsetInitializer implements Runnable {
+	/**
+	 * Early initializer for charsets.
+	 */
+	private static class CharsetInitializer implements PreinitializationTask {
 
 		@Override
 		public void run() {
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+/**
+ * A time consuming task that can be run early by the {@link BackgroundPreinitializer}, in
+ * parallel with the rest of the application's startup. Implementations should be
+ * registered in {@code META-INF/spring.factories} and must have a default constructor.
+ * <p>
+ * Tasks should only warm up state that will be needed later, such as loading classes or
+ * static caches. They must not depend on the application context. Any exception thrown by
+ * a task is ignored. All tasks are complete before the
+ * {@link org.springframework.boot.context.event.ApplicationReadyEvent} is handled.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface PreinitializationTask {
+
+	/**
+	 * Run the task.
+	 * @throws Exception on error
+	 */
+	void run() throws Exception;
+
+}
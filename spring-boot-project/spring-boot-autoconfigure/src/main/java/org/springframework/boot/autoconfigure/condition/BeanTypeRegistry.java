@@ -19,11 +19,13 @@ package org.springframework.boot.autoconfigure.condition;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -60,6 +62,10 @@ import org.springframework.util.StringUtils;
  * <li>Beans definitions will not be removed.</li>
  * <li>Beans will not be created in parallel.</li>
  * </ul>
+ * <p>
+ * Bean names are indexed by each of the super classes and interfaces of their type, and
+ * by each annotation that has been requested, so that lookups do not need to consider
+ * every bean. The indexes are maintained as bean types are added or updated.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -79,6 +85,10 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 
 	private final Map<String, RootBeanDefinition> beanDefinitions = new HashMap<>();
 
+	private final Map<Class<?>, Set<String>> namesByType = new HashMap<>();
+
+	private final Map<Class<? extends Annotation>, Set<String>> namesByAnnotation = new HashMap<>();
+
 	private BeanTypeRegistry(DefaultListableBeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
 	}
@@ -116,11 +126,11 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 	 */
 	Set<String> getNamesForType(Class<?> type) {
 		updateTypesIfNecessary();
-		return this.beanTypes.entrySet().stream()
-				.filter((entry) -> entry.getValue() != null
-						&& type.isAssignableFrom(entry.getValue()))
-				.map(Map.Entry::getKey)
-				.collect(Collectors.toCollection(LinkedHashSet::new));
+		if (type.isArray()) {
+			return getNamesMatching((candidate) -> type.isAssignableFrom(candidate));
+		}
+		return new LinkedHashSet<>(
+				this.namesByType.getOrDefault(type, Collections.emptySet()));
 	}
 
 	/**
@@ -134,11 +144,23 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 	 */
 	Set<String> getNamesForAnnotation(Class<? extends Annotation> annotation) {
 		updateTypesIfNecessary();
-		return this.beanTypes.entrySet().stream()
-				.filter((entry) -> entry.getValue() != null && AnnotationUtils
-						.findAnnotation(entry.getValue(), annotation) != null)
-				.map(Map.Entry::getKey)
-				.collect(Collectors.toCollection(LinkedHashSet::new));
+		Set<String> names = this.namesByAnnotation.computeIfAbsent(annotation,
+				(key) -> getNamesMatching((candidate) -> isAnnotated(candidate, key)));
+		return new LinkedHashSet<>(names);
+	}
+
+	private Set<String> getNamesMatching(Predicate<Class<?>> predicate) {
+		Set<String> names = new LinkedHashSet<>();
+		this.beanTypes.forEach((name, type) -> {
+			if (type != null && predicate.test(type)) {
+				names.add(name);
+			}
+		});
+		return names;
+	}
+
+	private boolean isAnnotated(Class<?> type, Class<? extends Annotation> annotation) {
+		return AnnotationUtils.findAnnotation(type, annotation) != null;
 	}
 
 	@Override
@@ -146,6 +168,8 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 		// We're done at this point, free up some memory
 		this.beanTypes.clear();
 		this.beanDefinitions.clear();
+		this.namesByType.clear();
+		this.namesByAnnotation.clear();
 	}
 
 	private void updateTypesIfNecessary() {
@@ -161,7 +185,7 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 
 	private void addBeanType(String name) {
 		if (this.beanFactory.containsSingleton(name)) {
-			this.beanTypes.put(name, this.beanFactory.getType(name));
+			putBeanType(name, this.beanFactory.getType(name));
 		}
 		else if (!this.beanFactory.isAlias(name)) {
 			addBeanTypeForNonAliasDefinition(name);
@@ -198,12 +222,11 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 				if (this.beanFactory.isFactoryBean(factoryName)) {
 					Class<?> factoryBeanGeneric = getFactoryBeanGeneric(this.beanFactory,
 							beanDefinition);
-					this.beanTypes.put(name, factoryBeanGeneric);
-					this.beanTypes.put(factoryName,
-							this.beanFactory.getType(factoryName));
+					putBeanType(name, factoryBeanGeneric);
+					putBeanType(factoryName, this.beanFactory.getType(factoryName));
 				}
 				else {
-					this.beanTypes.put(name, this.beanFactory.getType(name));
+					putBeanType(name, this.beanFactory.getType(name));
 				}
 			}
 			this.beanDefinitions.put(name, beanDefinition);
@@ -214,6 +237,54 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 		}
 	}
 
+	private void putBeanType(String name, Class<?> type) {
+		boolean existing = this.beanTypes.containsKey(name);
+		Class<?> previous = this.beanTypes.put(name, type);
+		if (existing && previous == type) {
+			return;
+		}
+		if (previous != null) {
+			forEachTypeInHierarchy(previous,
+					(candidate) -> removeName(this.namesByType, candidate, name));
+			this.namesByAnnotation.values().forEach((names) -> names.remove(name));
+		}
+		if (type != null) {
+			forEachTypeInHierarchy(type,
+					(candidate) -> this.namesByType
+							.computeIfAbsent(candidate, (key) -> new LinkedHashSet<>())
+							.add(name));
+			this.namesByAnnotation.forEach((annotation, names) -> {
+				if (isAnnotated(type, annotation)) {
+					names.add(name);
+				}
+			});
+		}
+	}
+
+	private void removeName(Map<Class<?>, Set<String>> index, Class<?> type,
+			String name) {
+		Set<String> names = index.get(type);
+		if (names != null) {
+			names.remove(name);
+		}
+	}
+
+	private void forEachTypeInHierarchy(Class<?> type, Consumer<Class<?>> action) {
+		Set<Class<?>> types = new LinkedHashSet<>();
+		collectTypeHierarchy(type, types);
+		types.add(Object.class);
+		types.forEach(action);
+	}
+
+	private void collectTypeHierarchy(Class<?> type, Set<Class<?>> types) {
+		if (type != null && types.add(type)) {
+			collectTypeHierarchy(type.getSuperclass(), types);
+			for (Class<?> candidate : type.getInterfaces()) {
+				collectTypeHierarchy(candidate, types);
+			}
+		}
+	}
+
 	private RootBeanDefinition getBeanDefinition(String name) {
 		try {
 			return (RootBeanDefinition) this.beanFactory.getMergedBeanDefinition(name);
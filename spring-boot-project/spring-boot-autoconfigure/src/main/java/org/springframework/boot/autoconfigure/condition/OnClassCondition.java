@@ -16,7 +16,6 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
-import java.security.AccessControlException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -32,10 +31,12 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.boot.autoconfigure.condition.ConditionMessage.Style;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.MultiValueMap;
@@ -50,12 +51,15 @@ import org.springframework.util.MultiValueMap;
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
 class OnClassCondition extends SpringBootCondition
-		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware {
+		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware,
+		EnvironmentAware {
 
 	private BeanFactory beanFactory;
 
 	private ClassLoader beanClassLoader;
 
+	private Environment environment;
+
 	@Override
 	public boolean[] match(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
@@ -87,34 +91,28 @@ class OnClassCondition extends SpringBootCondition
 
 	private ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
-		// Split the work and perform half in a background thread. Using a single
-		// additional thread seems to offer the best performance. More threads make
-		// things worse
-		int split = autoConfigurationClasses.length / 2;
-		OutcomesResolver firstHalfResolver = createOutcomesResolver(
-				autoConfigurationClasses, 0, split, autoConfigurationMetadata);
-		OutcomesResolver secondHalfResolver = new StandardOutcomesResolver(
-				autoConfigurationClasses, split, autoConfigurationClasses.length,
-				autoConfigurationMetadata, this.beanClassLoader);
-		ConditionOutcome[] secondHalf = secondHalfResolver.resolveOutcomes();
-		ConditionOutcome[] firstHalf = firstHalfResolver.resolveOutcomes();
-		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
-		System.arraycopy(firstHalf, 0, outcomes, 0, firstHalf.length);
-		System.arraycopy(secondHalf, 0, outcomes, split, secondHalf.length);
-		return outcomes;
+		return ParallelOutcomesResolver.get(this.environment).resolveOutcomes(
+				autoConfigurationClasses,
+				(autoConfigurationClass) -> getOutcome(autoConfigurationClass,
+						autoConfigurationMetadata));
 	}
 
-	private OutcomesResolver createOutcomesResolver(String[] autoConfigurationClasses,
-			int start, int end, AutoConfigurationMetadata autoConfigurationMetadata) {
-		OutcomesResolver outcomesResolver = new StandardOutcomesResolver(
-				autoConfigurationClasses, start, end, autoConfigurationMetadata,
-				this.beanClassLoader);
-		try {
-			return new ThreadedOutcomesResolver(outcomesResolver);
+	private ConditionOutcome getOutcome(String autoConfigurationClass,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		Set<String> candidates = autoConfigurationMetadata.getSet(autoConfigurationClass,
+				"ConditionalOnClass");
+		if (candidates == null) {
+			return null;
 		}
-		catch (AccessControlException ex) {
-			return outcomesResolver;
+		List<String> missing = getMatches(candidates, MatchType.MISSING,
+				this.beanClassLoader);
+		if (!missing.isEmpty()) {
+			return ConditionOutcome
+					.noMatch(ConditionMessage.forCondition(ConditionalOnClass.class)
+							.didNotFind("required class", "required classes")
+							.items(Style.QUOTE, missing));
 		}
+		return null;
 	}
 
 	@Override
@@ -195,6 +193,11 @@ class OnClassCondition extends SpringBootCondition
 		this.beanClassLoader = classLoader;
 	}
 
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+
 	private enum MatchType {
 
 		PRESENT {
@@ -240,96 +243,4 @@ class OnClassCondition extends SpringBootCondition
 
 	}
 
-	private interface OutcomesResolver {
-
-		ConditionOutcome[] resolveOutcomes();
-
-	}
-
-	private static final class ThreadedOutcomesResolver implements OutcomesResolver {
-
-		private final Thread thread;
-
-		private volatile ConditionOutcome[] outcomes;
-
-		private ThreadedOutcomesResolver(OutcomesResolver outcomesResolver) {
-			this.thread = new Thread(
-					() -> this.outcomes = outcomesResolver.resolveOutcomes());
-			this.thread.start();
-		}
-
-		@Override
-		public ConditionOutcome[] resolveOutcomes() {
-			try {
-				this.thread.join();
-			}
-			catch (InterruptedException ex) {
-				Thread.currentThread().interrupt();
-			}
-			return this.outcomes;
-		}
-
-	}
-
-	private final class StandardOutcomesResolver implements OutcomesResolver {
-
-		private final String[] autoConfigurationClasses;
-
-		private final int start;
-
-		private final int end;
-
-		private final AutoConfigurationMetadata autoConfigurationMetadata;
-
-		private final ClassLoader beanClassLoader;
-
-		private StandardOutcomesResolver(String[] autoConfigurationClasses, int start,
-				int end, AutoConfigurationMetadata autoConfigurationMetadata,
-				ClassLoader beanClassLoader) {
-			this.autoConfigurationClasses = autoConfigurationClasses;
-			this.start = start;
-			this.end = end;
-			this.autoConfigurationMetadata = autoConfigurationMetadata;
-			this.beanClassLoader = beanClassLoader;
-		}
-
-		@Override
-		public ConditionOutcome[] resolveOutcomes() {
-			return getOutcomes(this.autoConfigurationClasses, this.start, this.end,
-					this.autoConfigurationMetadata);
-		}
-
-		private ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
-				int start, int end, AutoConfigurationMetadata autoConfigurationMetadata) {
-			ConditionOutcome[] outcomes = new ConditionOutcome[end - start];
-			for (int i = start; i < end; i++) {
-				String autoConfigurationClass = autoConfigurationClasses[i];
-				Set<String> candidates = autoConfigurationMetadata
-						.getSet(autoConfigurationClass, "ConditionalOnClass");
-				if (candidates != null) {
-					outcomes[i - start] = getOutcome(candidates);
-				}
-			}
-			return outcomes;
-		}
-
-		private ConditionOutcome getOutcome(Set<String> candidates) {
-			try {
-				List<String> missing = getMatches(candidates, MatchType.MISSING,
-						this.beanClassLoader);
-				if (!missing.isEmpty()) {
-					return ConditionOutcome.noMatch(
-							ConditionMessage.forCondition(ConditionalOnClass.class)
-									.didNotFind("required class", "required classes")
-									.items(Style.QUOTE, missing));
-				}
-			}
-			catch (Exception ex) {
-				// We'll get another chance later
-			}
-			return null;
-		}
-
-	}
-
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.security.AccessControlException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+
+/**
+ * Resolves the {@link ConditionOutcome outcomes} of auto-configuration candidates using
+ * short-lived threads that are dedicated to a single invocation. Intended to be used by
+ * {@link AutoConfigurationImportFilter} implementations that need to perform relatively
+ * expensive checks, such as class loading, for each candidate.
+ * <p>
+ * The candidates are split in contiguous ranges, the first of which is resolved by the
+ * calling thread. The number of threads that are used is limited by the configured
+ * parallelism, by the number of available processors and by the number of candidates, so
+ * that small batches are resolved on the calling thread only. Outcomes are always
+ * returned in the same order as the candidates regardless of the order in which they were
+ * resolved, and any failure to resolve an outcome is rethrown to the caller.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public final class ParallelOutcomesResolver {
+
+	/**
+	 * The name of the property that can be used to configure the parallelism.
+	 */
+	public static final String PARALLELISM_PROPERTY = "spring.autoconfigure.filter.parallelism";
+
+	/**
+	 * The default parallelism.
+	 */
+	public static final int DEFAULT_PARALLELISM = 2;
+
+	private static final int MIN_CANDIDATES_PER_THREAD = 32;
+
+	private final int parallelism;
+
+	/**
+	 * Create a new {@link ParallelOutcomesResolver} instance.
+	 * @param parallelism the maximum number of threads to use
+	 */
+	public ParallelOutcomesResolver(int parallelism) {
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than 0");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Resolve the outcome of each of the given candidates.
+	 * @param autoConfigurationClasses the auto-configuration candidates
+	 * @param outcomeResolver the function used to resolve the outcome of a single
+	 * candidate, may return {@code null} if the candidate has no outcome
+	 * @return the outcomes, in the same order as the candidates
+	 */
+	public ConditionOutcome[] resolveOutcomes(String[] autoConfigurationClasses,
+			Function<String, ConditionOutcome> outcomeResolver) {
+		int length = autoConfigurationClasses.length;
+		ConditionOutcome[] outcomes = new ConditionOutcome[length];
+		int parallelism = getParallelism(length);
+		int rangeSize = (length + parallelism - 1) / parallelism;
+		List<ResolverThread> threads = new ArrayList<>();
+		for (int start = rangeSize; start < length; start += rangeSize) {
+			int end = Math.min(start + rangeSize, length);
+			try {
+				ResolverThread thread = new ResolverThread(autoConfigurationClasses,
+						outcomes, start, end, outcomeResolver);
+				thread.start();
+				threads.add(thread);
+			}
+			catch (AccessControlException ex) {
+				// Not allowed to create threads, fall back to the calling thread
+				resolve(autoConfigurationClasses, outcomes, start, end, outcomeResolver);
+			}
+		}
+		resolve(autoConfigurationClasses, outcomes, 0, Math.min(rangeSize, length),
+				outcomeResolver);
+		for (ResolverThread thread : threads) {
+			thread.awaitOutcomes();
+		}
+		return outcomes;
+	}
+
+	private int getParallelism(int candidates) {
+		int maxUsefulParallelism = (candidates + MIN_CANDIDATES_PER_THREAD - 1)
+				/ MIN_CANDIDATES_PER_THREAD;
+		int parallelism = Math.min(Math.min(this.parallelism, maxUsefulParallelism),
+				Runtime.getRuntime().availableProcessors());
+		return Math.max(parallelism, 1);
+	}
+
+	private static void resolve(String[] autoConfigurationClasses,
+			ConditionOutcome[] outcomes, int start, int end,
+			Function<String, ConditionOutcome> outcomeResolver) {
+		for (int i = start; i < end; i++) {
+			outcomes[i] = outcomeResolver.apply(autoConfigurationClasses[i]);
+		}
+	}
+
+	/**
+	 * Return a {@link ParallelOutcomesResolver} configured using the
+	 * {@value #PARALLELISM_PROPERTY} property of the given environment.
+	 * @param environment the environment or {@code null}
+	 * @return a resolver instance
+	 */
+	public static ParallelOutcomesResolver get(Environment environment) {
+		Integer parallelism = (environment != null)
+				? environment.getProperty(PARALLELISM_PROPERTY, Integer.class) : null;
+		return new ParallelOutcomesResolver(
+				(parallelism != null) ? parallelism : DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 * {@link Thread} used to resolve a range of outcomes.
+	 */
+	private static final class ResolverThread extends Thread {
+
+		private final String[] autoConfigurationClasses;
+
+		private final ConditionOutcome[] outcomes;
+
+		private final int start;
+
+		private final int end;
+
+		private final Function<String, ConditionOutcome> outcomeResolver;
+
+		private volatile Throwable failure;
+
+		private ResolverThread(String[] autoConfigurationClasses,
+				ConditionOutcome[] outcomes, int start, int end,
+				Function<String, ConditionOutcome> outcomeResolver) {
+			super("outcomes-resolver-" + start);
+			setDaemon(true);
+			this.autoConfigurationClasses = autoConfigurationClasses;
+			this.outcomes = outcomes;
+			this.start = start;
+			this.end = end;
+			this.outcomeResolver = outcomeResolver;
+		}
+
+		@Override
+		public void run() {
+			try {
+				resolve(this.autoConfigurationClasses, this.outcomes, this.start,
+						this.end, this.outcomeResolver);
+			}
+			catch (Throwable ex) {
+				this.failure = ex;
+			}
+		}
+
+		void awaitOutcomes() {
+			boolean interrupted = false;
+			while (isAlive()) {
+				try {
+					join();
+				}
+				catch (InterruptedException ex) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			Throwable failure = this.failure;
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.BackgroundPreinitializer.Preinitialization;
+import org.springframework.boot.context.event.ApplicationFailedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.context.event.SpringApplicationEvent;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Event;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.StringUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BackgroundPreinitializer}.
+ *
+ * @author agent
+ */
+public class BackgroundPreinitializerTests {
+
+	private static final List<String> completedTasks = new CopyOnWriteArrayList<>();
+
+	private static volatile CountDownLatch blockingTaskLatch;
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final AtomicReference<Preinitialization> preinitialization = new AtomicReference<>();
+
+	private final BackgroundPreinitializer preinitializer = new BackgroundPreinitializer(
+			this.preinitialization);
+
+	private URLClassLoader classLoader;
+
+	@Before
+	public void setup() {
+		completedTasks.clear();
+		blockingTaskLatch = new CountDownLatch(0);
+	}
+
+	@After
+	public void cleanUp() throws IOException {
+		System.clearProperty(BackgroundPreinitializer.MAX_THREADS_PROPERTY_NAME);
+		System.clearProperty(
+				BackgroundPreinitializer.IGNORE_BACKGROUNDPREINITIALIZER_PROPERTY_NAME);
+		if (this.classLoader != null) {
+			this.classLoader.close();
+		}
+	}
+
+	@Test
+	public void registeredTasksAreRunInOrderWithSingleThread() throws Exception {
+		System.setProperty(BackgroundPreinitializer.MAX_THREADS_PROPERTY_NAME, "1");
+		SpringApplication application = createApplication(FirstTask.class,
+				SecondTask.class);
+		this.preinitializer.onApplicationEvent(starting(application));
+		this.preinitializer.onApplicationEvent(ready(application));
+		assertThat(completedTasks).containsExactly("first", "second");
+	}
+
+	@Test
+	public void failingTaskDoesNotPreventOtherTasksFromRunning() throws Exception {
+		SpringApplication application = createApplication(FailingTask.class,
+				FirstTask.class, MissingDependencyTask.class, SecondTask.class);
+		this.preinitializer.onApplicationEvent(starting(application));
+		this.preinitializer.onApplicationEvent(ready(application));
+		assertThat(completedTasks).containsExactlyInAnyOrder("first", "second");
+	}
+
+	@Test
+	public void applicationReadyEventWaitsForTasksToComplete() throws Exception {
+		SpringApplication application = createApplication(BlockingTask.class);
+		assertEventWaitsForTasksToComplete(application, ready(application));
+	}
+
+	@Test
+	public void applicationFailedEventWaitsForTasksToComplete() throws Exception {
+		SpringApplication application = createApplication(BlockingTask.class);
+		assertEventWaitsForTasksToComplete(application, new ApplicationFailedEvent(
+				application, new String[0], null, new RuntimeException()));
+	}
+
+	@Test
+	public void tasksAreOnlyRunOnce() throws Exception {
+		SpringApplication application = createApplication(FirstTask.class);
+		this.preinitializer.onApplicationEvent(starting(application));
+		this.preinitializer.onApplicationEvent(starting(application));
+		this.preinitializer.onApplicationEvent(ready(application));
+		assertThat(completedTasks).containsExactly("first");
+	}
+
+	@Test
+	public void tasksAreNotRunWhenIgnored() throws Exception {
+		System.setProperty(
+				BackgroundPreinitializer.IGNORE_BACKGROUNDPREINITIALIZER_PROPERTY_NAME,
+				"true");
+		SpringApplication application = createApplication(FirstTask.class);
+		this.preinitializer.onApplicationEvent(starting(application));
+		this.preinitializer.onApplicationEvent(ready(application));
+		assertThat(this.preinitialization.get()).isNull();
+		assertThat(completedTasks).isEmpty();
+	}
+
+	@Test
+	public void tasksAreRecordedInStartupTimeline() throws Exception {
+		SpringApplication application = createApplication(FirstTask.class,
+				FailingTask.class, MissingDependencyTask.class);
+		StartupTimeline timeline = new StartupTimeline(100);
+		application.setStartupTimeline(timeline);
+		this.preinitializer.onApplicationEvent(starting(application));
+		this.preinitializer.onApplicationEvent(ready(application));
+		assertThat(timeline.getEvents()).extracting(Event::getName)
+				.containsOnly("spring.boot.preinitialization.task");
+		assertThat(timeline.getEvents())
+				.extracting((event) -> event.getTags().get("task"))
+				.contains(FirstTask.class.getName(), FailingTask.class.getName())
+				.doesNotContain(MissingDependencyTask.class.getName());
+	}
+
+	private void assertEventWaitsForTasksToComplete(SpringApplication application,
+			SpringApplicationEvent event) throws InterruptedException {
+		blockingTaskLatch = new CountDownLatch(1);
+		this.preinitializer.onApplicationEvent(starting(application));
+		CountDownLatch eventHandled = new CountDownLatch(1);
+		Thread thread = new Thread(() -> {
+			this.preinitializer.onApplicationEvent(event);
+			eventHandled.countDown();
+		});
+		thread.start();
+		assertThat(eventHandled.await(100, TimeUnit.MILLISECONDS)).isFalse();
+		blockingTaskLatch.countDown();
+		assertThat(eventHandled.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(completedTasks).containsExactly("blocking");
+	}
+
+	private SpringApplication createApplication(Class<?>... tasks) throws IOException {
+		File root = this.temp.newFolder();
+		File factories = new File(root, "META-INF/spring.factories");
+		factories.getParentFile().mkdirs();
+		String[] names = new String[tasks.length];
+		for (int i = 0; i < tasks.length; i++) {
+			names[i] = tasks[i].getName();
+		}
+		try (OutputStream outputStream = new FileOutputStream(factories)) {
+			outputStream.write((PreinitializationTask.class.getName() + "="
+					+ StringUtils.arrayToCommaDelimitedString(names))
+							.getBytes(StandardCharsets.ISO_8859_1));
+		}
+		this.classLoader = new URLClassLoader(new URL[] { root.toURI().toURL() },
+				getClass().getClassLoader());
+		return new SpringApplication(new DefaultResourceLoader(this.classLoader),
+				Object.class);
+	}
+
+	private ApplicationStartingEvent starting(SpringApplication application) {
+		return new ApplicationStartingEvent(application, new String[0]);
+	}
+
+	private ApplicationReadyEvent ready(SpringApplication application) {
+		return new ApplicationReadyEvent(application, new String[0], null);
+	}
+
+	public static class FirstTask implements PreinitializationTask {
+
+		@Override
+		public void run() throws Exception {
+			Thread.sleep(10);
+			completedTasks.add("first");
+		}
+
+	}
+
+	public static class SecondTask implements PreinitializationTask {
+
+		@Override
+		public void run() {
+			completedTasks.add("second");
+		}
+
+	}
+
+	public static class FailingTask implements PreinitializationTask {
+
+		@Override
+		public void run() {
+			throw new IllegalStateException("Failed");
+		}
+
+	}
+
+	public static class MissingDependencyTask implements PreinitializationTask {
+
+		public MissingDependencyTask() {
+			throw new NoClassDefFoundError("com/example/Missing");
+		}
+
+		@Override
+		public void run() {
+			completedTasks.add("missing");
+		}
+
+	}
+
+	public static class BlockingTask implements PreinitializationTask {
+
+		@Override
+		public void run() throws Exception {
+			blockingTaskLatch.await();
+			completedTasks.add("blocking");
+		}
+
+	}
+
+}
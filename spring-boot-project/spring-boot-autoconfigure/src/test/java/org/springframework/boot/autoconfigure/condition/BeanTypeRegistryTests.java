@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.Serializable;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BeanTypeRegistry}.
+ *
+ * @author agent
+ */
+public class BeanTypeRegistryTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	@Test
+	public void getNamesForTypeMatchesSuperclassesAndInterfaces() {
+		register("example", ExampleBean.class);
+		register("other", OtherBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(ExampleBean.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(BaseBean.class)).containsOnly("example",
+				"other");
+		assertThat(registry.getNamesForType(ExampleInterface.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(ParentInterface.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(Serializable.class)).containsExactly("other");
+		assertThat(registry.getNamesForType(String.class)).isEmpty();
+	}
+
+	@Test
+	public void getNamesForTypeWhenBeanIsAddedAfterFirstCall() {
+		register("example", ExampleBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(BaseBean.class)).containsExactly("example");
+		register("other", OtherBean.class);
+		assertThat(registry.getNamesForType(BaseBean.class)).containsOnly("example",
+				"other");
+	}
+
+	@Test
+	public void getNamesForTypeWhenBeanDefinitionIsOverridden() {
+		register("example", ExampleBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(ExampleInterface.class))
+				.containsExactly("example");
+		register("example", OtherBean.class);
+		assertThat(registry.getNamesForType(ExampleInterface.class)).isEmpty();
+		assertThat(registry.getNamesForType(Serializable.class))
+				.containsExactly("example");
+	}
+
+	@Test
+	public void getNamesForTypeWithArrayType() {
+		register("example", ExampleBean.class);
+		register("array", String[].class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(Object[].class)).containsExactly("array");
+	}
+
+	@Test
+	public void getNamesForAnnotation() {
+		register("example", ExampleBean.class);
+		register("other", OtherBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForAnnotation(TestAnnotation.class))
+				.containsExactly("example");
+	}
+
+	@Test
+	public void getNamesForAnnotationWhenBeanIsAddedAfterFirstCall() {
+		register("example", ExampleBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForAnnotation(TestAnnotation.class))
+				.containsExactly("example");
+		register("another", AnotherAnnotatedBean.class);
+		register("other", OtherBean.class);
+		assertThat(registry.getNamesForAnnotation(TestAnnotation.class))
+				.containsOnly("example", "another");
+	}
+
+	private void register(String name, Class<?> type) {
+		this.beanFactory.registerBeanDefinition(name, new RootBeanDefinition(type));
+	}
+
+	@Target(ElementType.TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	@Documented
+	public @interface TestAnnotation {
+
+	}
+
+	interface ParentInterface {
+
+	}
+
+	interface ExampleInterface extends ParentInterface {
+
+	}
+
+	static class BaseBean {
+
+	}
+
+	@TestAnnotation
+	static class ExampleBean extends BaseBean implements ExampleInterface {
+
+	}
+
+	@SuppressWarnings("serial")
+	static class OtherBean extends BaseBean implements Serializable {
+
+	}
+
+	@TestAnnotation
+	static class AnotherAnnotatedBean {
+
+	}
+
+}
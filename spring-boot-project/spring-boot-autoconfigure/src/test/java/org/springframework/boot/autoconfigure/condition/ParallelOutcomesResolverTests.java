@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ParallelOutcomesResolver}.
+ *
+ * @author agent
+ */
+public class ParallelOutcomesResolverTests {
+
+	@Test
+	public void createWhenParallelismIsZeroShouldThrowException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new ParallelOutcomesResolver(0))
+				.withMessageContaining("Parallelism must be greater than 0");
+	}
+
+	@Test
+	public void resolveOutcomesReturnsOutcomesInCandidateOrder() {
+		String[] candidates = createCandidates(1000);
+		ConditionOutcome[] outcomes = new ParallelOutcomesResolver(8)
+				.resolveOutcomes(candidates, this::resolve);
+		assertThat(outcomes).hasSize(candidates.length);
+		for (int i = 0; i < candidates.length; i++) {
+			if (i % 3 == 0) {
+				assertThat(outcomes[i]).isNull();
+			}
+			else {
+				assertThat(outcomes[i].getMessage()).isEqualTo(candidates[i]);
+			}
+		}
+	}
+
+	@Test
+	public void resolveOutcomesUsesMultipleThreads() {
+		Assume.assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		new ParallelOutcomesResolver(4).resolveOutcomes(createCandidates(1000),
+				(candidate) -> {
+					threads.add(Thread.currentThread());
+					return resolve(candidate);
+				});
+		assertThat(threads.size()).isGreaterThan(1);
+		assertThat(threads).contains(Thread.currentThread());
+		assertThat(threads).noneMatch(ForkJoinWorkerThread.class::isInstance);
+		assertThat(threads).filteredOn((thread) -> thread != Thread.currentThread())
+				.noneMatch(Thread::isAlive);
+	}
+
+	@Test
+	public void resolveOutcomesWhenResolverFailsInOtherThreadShouldThrowException() {
+		Assume.assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+		String[] candidates = createCandidates(1000);
+		String failing = candidates[candidates.length - 1];
+		assertThatIllegalStateException().isThrownBy(() -> new ParallelOutcomesResolver(4)
+				.resolveOutcomes(candidates, (candidate) -> {
+					if (candidate.equals(failing)) {
+						throw new IllegalStateException(failing);
+					}
+					return resolve(candidate);
+				})).withMessage(failing);
+	}
+
+	@Test
+	public void resolveOutcomesWithFewCandidatesUsesCallingThread() {
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		new ParallelOutcomesResolver(4).resolveOutcomes(createCandidates(10),
+				(candidate) -> {
+					threads.add(Thread.currentThread());
+					return resolve(candidate);
+				});
+		assertThat(threads).containsExactly(Thread.currentThread());
+	}
+
+	@Test
+	public void getUsesParallelismProperty() {
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty(ParallelOutcomesResolver.PARALLELISM_PROPERTY, "1");
+		ParallelOutcomesResolver.get(environment).resolveOutcomes(createCandidates(1000),
+				(candidate) -> {
+					threads.add(Thread.currentThread());
+					return resolve(candidate);
+				});
+		assertThat(threads).containsExactly(Thread.currentThread());
+	}
+
+	private String[] createCandidates(int count) {
+		String[] candidates = new String[count];
+		for (int i = 0; i < count; i++) {
+			candidates[i] = "test" + i;
+		}
+		return candidates;
+	}
+
+	private ConditionOutcome resolve(String candidate) {
+		int index = Integer.parseInt(candidate.substring(4));
+		return (index % 3 != 0) ? ConditionOutcome.noMatch(candidate) : null;
+	}
+
+}
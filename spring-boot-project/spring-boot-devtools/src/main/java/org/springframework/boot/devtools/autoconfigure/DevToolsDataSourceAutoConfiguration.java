@@ -38,6 +38,7 @@ import org.springframework.boot.autoconfigure.data.jpa.EntityManagerFactoryDepen
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration.DevToolsDataSourceCondition;
+import org.springframework.boot.devtools.restart.Restarter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.context.annotation.Conditional;
@@ -104,6 +105,17 @@ public class DevToolsDataSourceAutoConfiguration {
 						statement.execute("SHUTDOWN");
 					}
 				}
+				releasePreservedDataSource();
+			}
+		}
+
+		private void releasePreservedDataSource() {
+			// The database has gone so an incremental restart must not reuse its pool
+			try {
+				Restarter.getInstance().releasePreservedAttribute(this.dataSource);
+			}
+			catch (IllegalStateException ex) {
+				// Restarter has not been initialized
 			}
 		}
 
@@ -19,6 +19,7 @@ package org.springframework.boot.devtools.autoconfigure;
 import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -89,6 +90,27 @@ public class DevToolsProperties {
 		 */
 		private Duration quietPeriod = Duration.ofMillis(400);
 
+		/**
+		 * Whether to use the file system's watch service, rather than polling, to detect
+		 * classpath changes. Polling is used if the file system does not provide a watch
+		 * service.
+		 */
+		private boolean useWatchService;
+
+		/**
+		 * Whether to preserve infrastructure beans, such as DataSources, across restarts
+		 * when the classes that define them have not changed. Beans are always recreated
+		 * when a resource other than a class changes.
+		 */
+		private boolean incremental;
+
+		/**
+		 * Fully qualified names of the types of bean that are preserved across
+		 * incremental restarts.
+		 */
+		private List<String> preservedTypes = new ArrayList<>(
+				Collections.singletonList("javax.sql.DataSource"));
+
 		/**
 		 * Name of a specific file that, when changed, triggers the restart check. If not
 		 * specified, any classpath file change triggers the restart.
@@ -157,6 +179,30 @@ public class DevToolsProperties {
 			this.quietPeriod = quietPeriod;
 		}
 
+		public boolean isUseWatchService() {
+			return this.useWatchService;
+		}
+
+		public void setUseWatchService(boolean useWatchService) {
+			this.useWatchService = useWatchService;
+		}
+
+		public boolean isIncremental() {
+			return this.incremental;
+		}
+
+		public void setIncremental(boolean incremental) {
+			this.incremental = incremental;
+		}
+
+		public List<String> getPreservedTypes() {
+			return this.preservedTypes;
+		}
+
+		public void setPreservedTypes(List<String> preservedTypes) {
+			this.preservedTypes = preservedTypes;
+		}
+
 		public String getTriggerFile() {
 			return this.triggerFile;
 		}
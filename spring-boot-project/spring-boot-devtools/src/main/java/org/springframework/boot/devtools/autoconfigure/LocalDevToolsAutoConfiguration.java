@@ -18,23 +18,31 @@ package org.springframework.boot.devtools.autoconfigure;
 
 import java.io.File;
 import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.devtools.autoconfigure.DevToolsProperties.Restart;
 import org.springframework.boot.devtools.classpath.ClassPathChangedEvent;
 import org.springframework.boot.devtools.classpath.ClassPathFileSystemWatcher;
 import org.springframework.boot.devtools.classpath.ClassPathRestartStrategy;
 import org.springframework.boot.devtools.classpath.PatternClassPathRestartStrategy;
+import org.springframework.boot.devtools.filewatch.ChangedFile;
+import org.springframework.boot.devtools.filewatch.ChangedFiles;
 import org.springframework.boot.devtools.filewatch.FileSystemWatcher;
 import org.springframework.boot.devtools.filewatch.FileSystemWatcherFactory;
 import org.springframework.boot.devtools.livereload.LiveReloadServer;
 import org.springframework.boot.devtools.restart.ConditionalOnInitializedRestarter;
+import org.springframework.boot.devtools.restart.IncrementalRestartBeanFactoryPostProcessor;
 import org.springframework.boot.devtools.restart.RestartScope;
 import org.springframework.boot.devtools.restart.Restarter;
+import org.springframework.boot.jdbc.DataSourceInitializationMode;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
@@ -42,6 +50,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.GenericApplicationListener;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
@@ -111,10 +120,43 @@ public class LocalDevToolsAutoConfiguration {
 		public void onApplicationEvent(ClassPathChangedEvent event) {
 			if (event.isRestartRequired()) {
 				Restarter.getInstance().restart(
-						new FileWatchingFailureHandler(fileSystemWatcherFactory()));
+						new FileWatchingFailureHandler(fileSystemWatcherFactory()),
+						getChangedResourceNames(event));
 			}
 		}
 
+		private Set<String> getChangedResourceNames(ClassPathChangedEvent event) {
+			Set<String> changedResourceNames = new LinkedHashSet<>();
+			for (ChangedFiles changedFiles : event.getChangeSet()) {
+				for (ChangedFile changedFile : changedFiles) {
+					changedResourceNames.add(changedFile.getRelativeName());
+				}
+			}
+			return changedResourceNames;
+		}
+
+		@Bean
+		@ConditionalOnProperty(prefix = "spring.devtools.restart", name = "incremental")
+		public static IncrementalRestartBeanFactoryPostProcessor incrementalRestartBeanFactoryPostProcessor(
+				Environment environment) {
+			Binder binder = Binder.get(environment);
+			Restart restartProperties = binder
+					.bind("spring.devtools.restart", Restart.class)
+					.orElseGet(Restart::new);
+			// Initialization scripts always run so a reused DataSource would run them
+			// twice against the same database
+			DataSourceInitializationMode initializationMode = binder
+					.bind("spring.datasource.initialization-mode",
+							DataSourceInitializationMode.class)
+					.orElse(DataSourceInitializationMode.EMBEDDED);
+			List<String> excludedTypeNames = Collections.emptyList();
+			if (initializationMode == DataSourceInitializationMode.ALWAYS) {
+				excludedTypeNames = Collections.singletonList("javax.sql.DataSource");
+			}
+			return new IncrementalRestartBeanFactoryPostProcessor(
+					restartProperties.getPreservedTypes(), excludedTypeNames);
+		}
+
 		@Bean
 		@ConditionalOnMissingBean
 		public ClassPathFileSystemWatcher classPathFileSystemWatcher() {
@@ -152,7 +194,8 @@ public class LocalDevToolsAutoConfiguration {
 			Restart restartProperties = this.properties.getRestart();
 			FileSystemWatcher watcher = new FileSystemWatcher(true,
 					restartProperties.getPollInterval(),
-					restartProperties.getQuietPeriod());
+					restartProperties.getQuietPeriod(),
+					restartProperties.isUseWatchService());
 			String triggerFile = restartProperties.getTriggerFile();
 			if (StringUtils.hasLength(triggerFile)) {
 				watcher.setTriggerFilter(new TriggerFileFilter(triggerFile));
@@ -18,6 +18,12 @@ package org.springframework.boot.devtools.filewatch;
 
 import java.io.File;
 import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -28,12 +34,16 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.util.Assert;
 
 /**
- * Watches specific folders for file changes.
+ * Watches specific folders for file changes. By default, folders are polled and a new
+ * snapshot of each of them is taken every poll interval. Alternatively, a
+ * {@link WatchService} can be used to update the snapshots incrementally as changes are
+ * reported by the file system.
  *
  * @author Andy Clement
  * @author Phillip Webb
@@ -54,6 +64,8 @@ public class FileSystemWatcher {
 
 	private final long quietPeriod;
 
+	private final boolean useWatchService;
+
 	private final AtomicInteger remainingScans = new AtomicInteger(-1);
 
 	private final Map<File, FolderSnapshot> folders = new HashMap<>();
@@ -80,6 +92,21 @@ public class FileSystemWatcher {
 	 */
 	public FileSystemWatcher(boolean daemon, Duration pollInterval,
 			Duration quietPeriod) {
+		this(daemon, pollInterval, quietPeriod, false);
+	}
+
+	/**
+	 * Create a new {@link FileSystemWatcher} instance.
+	 * @param daemon if a daemon thread used to monitor changes
+	 * @param pollInterval the amount of time to wait between checking for changes
+	 * @param quietPeriod the amount of time required after a change has been detected to
+	 * ensure that updates have completed
+	 * @param useWatchService if a {@link WatchService} should be used to detect changes
+	 * rather than polling. Polling is used if no watch service is available
+	 * @since 2.1.0
+	 */
+	public FileSystemWatcher(boolean daemon, Duration pollInterval, Duration quietPeriod,
+			boolean useWatchService) {
 		Assert.notNull(pollInterval, "PollInterval must not be null");
 		Assert.notNull(quietPeriod, "QuietPeriod must not be null");
 		Assert.isTrue(pollInterval.toMillis() > 0, "PollInterval must be positive");
@@ -89,6 +116,7 @@ public class FileSystemWatcher {
 		this.daemon = daemon;
 		this.pollInterval = pollInterval.toMillis();
 		this.quietPeriod = quietPeriod.toMillis();
+		this.useWatchService = useWatchService;
 	}
 
 	/**
@@ -157,9 +185,7 @@ public class FileSystemWatcher {
 			if (this.watchThread == null) {
 				Map<File, FolderSnapshot> localFolders = new HashMap<>();
 				localFolders.putAll(this.folders);
-				this.watchThread = new Thread(new Watcher(this.remainingScans,
-						new ArrayList<>(this.listeners), this.triggerFilter,
-						this.pollInterval, this.quietPeriod, localFolders));
+				this.watchThread = new Thread(createWatcher(localFolders));
 				this.watchThread.setName("File Watcher");
 				this.watchThread.setDaemon(this.daemon);
 				this.watchThread.start();
@@ -167,6 +193,27 @@ public class FileSystemWatcher {
 		}
 	}
 
+	private Watcher createWatcher(Map<File, FolderSnapshot> folders) {
+		List<FileChangeListener> listeners = new ArrayList<>(this.listeners);
+		WatchService watchService = (this.useWatchService) ? getWatchService() : null;
+		if (watchService != null) {
+			return new WatchServiceWatcher(this.remainingScans, listeners,
+					this.triggerFilter, this.pollInterval, this.quietPeriod, folders,
+					watchService);
+		}
+		return new Watcher(this.remainingScans, listeners, this.triggerFilter,
+				this.pollInterval, this.quietPeriod, folders);
+	}
+
+	private WatchService getWatchService() {
+		try {
+			return FileSystems.getDefault().newWatchService();
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			return null;
+		}
+	}
+
 	private void saveInitialSnapshots() {
 		for (File folder : this.folders.keySet()) {
 			this.folders.put(folder, new FolderSnapshot(folder));
@@ -206,21 +253,21 @@ public class FileSystemWatcher {
 		}
 	}
 
-	private static final class Watcher implements Runnable {
+	private static class Watcher implements Runnable {
 
 		private final AtomicInteger remainingScans;
 
 		private final List<FileChangeListener> listeners;
 
-		private final FileFilter triggerFilter;
+		protected final FileFilter triggerFilter;
 
-		private final long pollInterval;
+		protected final long pollInterval;
 
-		private final long quietPeriod;
+		protected final long quietPeriod;
 
-		private Map<File, FolderSnapshot> folders;
+		protected Map<File, FolderSnapshot> folders;
 
-		private Watcher(AtomicInteger remainingScans, List<FileChangeListener> listeners,
+		Watcher(AtomicInteger remainingScans, List<FileChangeListener> listeners,
 				FileFilter triggerFilter, long pollInterval, long quietPeriod,
 				Map<File, FolderSnapshot> folders) {
 			this.remainingScans = remainingScans;
@@ -248,7 +295,7 @@ public class FileSystemWatcher {
 			}
 		}
 
-		private void scan() throws InterruptedException {
+		protected void scan() throws InterruptedException {
 			Thread.sleep(this.pollInterval - this.quietPeriod);
 			Map<File, FolderSnapshot> previous;
 			Map<File, FolderSnapshot> current = this.folders;
@@ -263,7 +310,7 @@ public class FileSystemWatcher {
 			}
 		}
 
-		private boolean isDifferent(Map<File, FolderSnapshot> previous,
+		protected final boolean isDifferent(Map<File, FolderSnapshot> previous,
 				Map<File, FolderSnapshot> current) {
 			if (!previous.keySet().equals(current.keySet())) {
 				return true;
@@ -286,7 +333,7 @@ public class FileSystemWatcher {
 			return snapshots;
 		}
 
-		private void updateSnapshots(Collection<FolderSnapshot> snapshots) {
+		protected final void updateSnapshots(Collection<FolderSnapshot> snapshots) {
 			Map<File, FolderSnapshot> updated = new LinkedHashMap<>();
 			Set<ChangedFiles> changeSet = new LinkedHashSet<>();
 			for (FolderSnapshot snapshot : snapshots) {
@@ -312,4 +359,209 @@ public class FileSystemWatcher {
 
 	}
 
+	/**
+	 * {@link Watcher} that uses a {@link WatchService} to update snapshots incrementally.
+	 * Folders that cannot be registered with the watch service, and folders for which
+	 * events have been lost, are polled instead.
+	 */
+	private static final class WatchServiceWatcher extends Watcher {
+
+		private final WatchService watchService;
+
+		private final Map<WatchKey, File> directories = new HashMap<>();
+
+		private final Set<File> missingFolders = new LinkedHashSet<>();
+
+		private final Set<File> pollingFolders = new LinkedHashSet<>();
+
+		private final Set<File> pendingRescanFolders = new LinkedHashSet<>();
+
+		private Map<File, FolderSnapshot> snapshots;
+
+		private WatchServiceWatcher(AtomicInteger remainingScans,
+				List<FileChangeListener> listeners, FileFilter triggerFilter,
+				long pollInterval, long quietPeriod, Map<File, FolderSnapshot> folders,
+				WatchService watchService) {
+			super(remainingScans, listeners, triggerFilter, pollInterval, quietPeriod,
+					folders);
+			this.watchService = watchService;
+			this.snapshots = folders;
+			for (File folder : folders.keySet()) {
+				if (folder.isDirectory()) {
+					register(folder);
+				}
+				else {
+					this.missingFolders.add(folder);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				super.run();
+			}
+			finally {
+				try {
+					this.watchService.close();
+				}
+				catch (IOException ex) {
+					// Ignore
+				}
+			}
+		}
+
+		@Override
+		protected void scan() throws InterruptedException {
+			WatchKey key = this.watchService.poll(this.pollInterval - this.quietPeriod,
+					TimeUnit.MILLISECONDS);
+			Set<File> changedFiles = new LinkedHashSet<>();
+			collectChanges(key, changedFiles);
+			if (changedFiles.isEmpty() && this.pendingRescanFolders.isEmpty()
+					&& this.pollingFolders.isEmpty()) {
+				return;
+			}
+			Map<File, FolderSnapshot> previous;
+			Map<File, FolderSnapshot> current = this.snapshots;
+			do {
+				previous = current;
+				current = getCurrentSnapshots(current, changedFiles, getRescanFolders());
+				changedFiles.clear();
+				Thread.sleep(this.quietPeriod);
+				collectChanges(this.watchService.poll(), changedFiles);
+			}
+			while (!changedFiles.isEmpty() || !this.pendingRescanFolders.isEmpty()
+					|| isDifferent(previous, current));
+			this.snapshots = current;
+			if (isDifferent(this.folders, current)) {
+				updateSnapshots(current.values());
+			}
+		}
+
+		private void collectChanges(WatchKey key, Set<File> changedFiles) {
+			while (key != null) {
+				processEvents(key, changedFiles);
+				key = this.watchService.poll();
+			}
+			registerMissingFolders();
+		}
+
+		private Set<File> getRescanFolders() {
+			Set<File> rescanFolders = new LinkedHashSet<>(this.pendingRescanFolders);
+			rescanFolders.addAll(this.pollingFolders);
+			this.pendingRescanFolders.clear();
+			return rescanFolders;
+		}
+
+		private void processEvents(WatchKey key, Set<File> changedFiles) {
+			File directory = this.directories.get(key);
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (directory == null) {
+					continue;
+				}
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+					this.pendingRescanFolders.addAll(getSourceFolders(directory));
+					continue;
+				}
+				File file = new File(directory, event.context().toString());
+				boolean isDirectory = file.isDirectory();
+				if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && isDirectory) {
+					register(file);
+				}
+				if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY
+						|| !isDirectory) {
+					changedFiles.add(file);
+				}
+			}
+			if (!key.reset()) {
+				this.directories.remove(key);
+				if (directory != null) {
+					changedFiles.add(directory);
+					if (this.snapshots.containsKey(directory)) {
+						this.missingFolders.add(directory);
+					}
+				}
+			}
+		}
+
+		private void registerMissingFolders() {
+			for (File folder : new ArrayList<>(this.missingFolders)) {
+				if (folder.isDirectory()) {
+					this.missingFolders.remove(folder);
+					register(folder);
+					this.pendingRescanFolders.add(folder);
+				}
+			}
+		}
+
+		private void register(File folder) {
+			try {
+				registerTree(folder);
+			}
+			catch (IOException ex) {
+				if (folder.exists()) {
+					this.pollingFolders.addAll(getSourceFolders(folder));
+				}
+			}
+		}
+
+		private void registerTree(File folder) throws IOException {
+			WatchKey key = folder.toPath().register(this.watchService,
+					StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_DELETE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+			this.directories.put(key, folder);
+			File[] children = folder.listFiles();
+			if (children != null) {
+				for (File child : children) {
+					if (child.isDirectory()) {
+						registerTree(child);
+					}
+				}
+			}
+		}
+
+		private Map<File, FolderSnapshot> getCurrentSnapshots(
+				Map<File, FolderSnapshot> current, Set<File> changedFiles,
+				Set<File> rescanFolders) {
+			Map<File, FolderSnapshot> snapshots = new LinkedHashMap<>();
+			for (Map.Entry<File, FolderSnapshot> entry : current.entrySet()) {
+				File folder = entry.getKey();
+				FolderSnapshot snapshot = entry.getValue();
+				if (rescanFolders.contains(folder)) {
+					snapshot = new FolderSnapshot(folder);
+				}
+				else {
+					List<File> files = new ArrayList<>();
+					for (File file : changedFiles) {
+						if (isInFolder(file, folder)) {
+							files.add(file);
+						}
+					}
+					if (!files.isEmpty()) {
+						snapshot = snapshot.update(files);
+					}
+				}
+				snapshots.put(folder, snapshot);
+			}
+			return snapshots;
+		}
+
+		private Set<File> getSourceFolders(File file) {
+			Set<File> sourceFolders = new LinkedHashSet<>();
+			for (File folder : this.snapshots.keySet()) {
+				if (isInFolder(file, folder)) {
+					sourceFolders.add(folder);
+				}
+			}
+			return sourceFolders;
+		}
+
+		private boolean isInFolder(File file, File folder) {
+			return file.equals(folder)
+					|| file.getPath().startsWith(folder.getPath() + File.separator);
+		}
+
+	}
+
 }
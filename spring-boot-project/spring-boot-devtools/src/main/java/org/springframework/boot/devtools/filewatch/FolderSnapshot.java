@@ -19,6 +19,7 @@ package org.springframework.boot.devtools.filewatch;
 import java.io.File;
 import java.io.FileFilter;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
@@ -60,6 +61,44 @@ class FolderSnapshot {
 		this.files = Collections.unmodifiableSet(files);
 	}
 
+	private FolderSnapshot(File folder, Set<FileSnapshot> files) {
+		this.folder = folder;
+		this.time = new Date();
+		this.files = Collections.unmodifiableSet(files);
+	}
+
+	/**
+	 * Return a new {@link FolderSnapshot} that is based on this snapshot but that has
+	 * been updated to reflect the current state of the given files. Only the given files,
+	 * and the contents of any of them that are folders, are read from disk.
+	 * @param changedFiles the files or folders that may have changed
+	 * @return an updated snapshot
+	 */
+	FolderSnapshot update(Collection<File> changedFiles) {
+		Map<File, FileSnapshot> files = getFilesMap();
+		for (File changedFile : changedFiles) {
+			if (files.remove(changedFile) == null) {
+				removeFolder(files, changedFile);
+			}
+			if (changedFile.isFile()) {
+				files.put(changedFile, new FileSnapshot(changedFile));
+			}
+			else if (changedFile.isDirectory()) {
+				Set<FileSnapshot> collected = new LinkedHashSet<>();
+				collectFiles(changedFile, collected);
+				for (FileSnapshot file : collected) {
+					files.put(file.getFile(), file);
+				}
+			}
+		}
+		return new FolderSnapshot(this.folder, new LinkedHashSet<>(files.values()));
+	}
+
+	private void removeFolder(Map<File, FileSnapshot> files, File folder) {
+		String prefix = folder.getPath() + File.separator;
+		files.keySet().removeIf((file) -> file.getPath().startsWith(prefix));
+	}
+
 	private void collectFiles(File source, Set<FileSnapshot> result) {
 		File[] children = source.listFiles();
 		if (children != null) {
@@ -16,13 +16,17 @@
 
 package org.springframework.boot.devtools.livereload;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,7 +36,10 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.util.Base64Utils;
 
 /**
- * A {@link LiveReloadServer} connection.
+ * A {@link LiveReloadServer} connection. Connections never block: data is {@link #read()
+ * read} when the underlying channel is readable and queued output is {@link #write()
+ * written} when it is writable. Other than {@link #triggerReload()}, methods should only
+ * be called from the thread that runs the server's selector.
  *
  * @author Phillip Webb
  */
@@ -45,69 +52,120 @@ class Connection {
 
 	public static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
 
-	private final Socket socket;
+	private static final String HEADER_END = "\r\n\r\n";
 
-	private final ConnectionInputStream inputStream;
+	private static final int BUFFER_SIZE = 4096;
 
-	private final ConnectionOutputStream outputStream;
+	private static final int MAX_BUFFER_SIZE = 128 * 1024;
 
-	private final String header;
+	private static final long READ_TIMEOUT = TimeUnit.SECONDS.toMillis(4);
+
+	private static final byte[] HELLO_FRAME = getBytes(
+			new Frame("{\"command\":\"hello\",\"protocols\":"
+					+ "[\"http://livereload.com/protocols/official-7\"],"
+					+ "\"serverName\":\"spring-boot\"}"));
+
+	private static final byte[] RELOAD_FRAME = getBytes(
+			new Frame("{\"command\":\"reload\",\"path\":\"/\"}"));
+
+	private final SocketChannel channel;
+
+	private final Deque<ByteBuffer> output = new ArrayDeque<>();
+
+	private ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+
+	private String header;
 
 	private volatile boolean webSocket;
 
-	private volatile boolean running = true;
+	private boolean closeWhenWritten;
+
+	private long lastReadTime = System.currentTimeMillis();
+
+	private long pingTime;
 
 	/**
 	 * Create a new {@link Connection} instance.
-	 * @param socket the source socket
-	 * @param inputStream the socket input stream
-	 * @param outputStream the socket output stream
-	 * @throws IOException in case of I/O errors
+	 * @param channel the source channel
 	 */
-	Connection(Socket socket, InputStream inputStream, OutputStream outputStream)
-			throws IOException {
-		this.socket = socket;
-		this.inputStream = new ConnectionInputStream(inputStream);
-		this.outputStream = new ConnectionOutputStream(outputStream);
-		this.header = this.inputStream.readHeader();
-		logger.debug("Established livereload connection [" + this.header + "]");
+	Connection(SocketChannel channel) {
+		this.channel = channel;
 	}
 
 	/**
-	 * Run the connection.
+	 * Read and handle the data that is available from the channel.
 	 * @throws Exception in case of errors
 	 */
-	public void run() throws Exception {
+	public void read() throws Exception {
+		if (this.channel.read(this.input) == -1) {
+			throw new IOException("End of stream");
+		}
+		this.lastReadTime = System.currentTimeMillis();
+		this.input.flip();
+		try {
+			if (this.header == null) {
+				readHeader();
+			}
+			if (this.webSocket) {
+				readWebSocketFrames();
+			}
+		}
+		finally {
+			this.input.compact();
+		}
+		if (!this.input.hasRemaining()) {
+			growInputBuffer();
+		}
+	}
+
+	private void readHeader() throws Exception {
+		String content = new String(this.input.array(), 0, this.input.limit(),
+				StandardCharsets.ISO_8859_1);
+		int headerEnd = content.indexOf(HEADER_END);
+		if (headerEnd != -1) {
+			this.header = content.substring(0, headerEnd);
+			this.input.position(headerEnd + HEADER_END.length());
+			logger.debug("Established livereload connection [" + this.header + "]");
+			run();
+		}
+	}
+
+	private void run() throws Exception {
 		if (this.header.contains("Upgrade: websocket")
 				&& this.header.contains("Sec-WebSocket-Version: 13")) {
 			runWebSocket();
 		}
-		if (this.header.contains("GET /livereload.js")) {
-			this.outputStream.writeHttp(getClass().getResourceAsStream("livereload.js"),
-					"text/javascript");
+		else {
+			if (this.header.contains("GET /livereload.js")) {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				new ConnectionOutputStream(bytes).writeHttp(
+						getClass().getResourceAsStream("livereload.js"),
+						"text/javascript");
+				queue(bytes.toByteArray());
+			}
+			this.closeWhenWritten = true;
 		}
 	}
 
 	private void runWebSocket() throws Exception {
 		String accept = getWebsocketAcceptResponse();
-		this.outputStream.writeHeaders("HTTP/1.1 101 Switching Protocols",
-				"Upgrade: websocket", "Connection: Upgrade",
-				"Sec-WebSocket-Accept: " + accept);
-		new Frame("{\"command\":\"hello\",\"protocols\":"
-				+ "[\"http://livereload.com/protocols/official-7\"],"
-				+ "\"serverName\":\"spring-boot\"}").write(this.outputStream);
-		Thread.sleep(100);
+		ByteArrayOutputStream headers = new ByteArrayOutputStream();
+		new ConnectionOutputStream(headers).writeHeaders(
+				"HTTP/1.1 101 Switching Protocols", "Upgrade: websocket",
+				"Connection: Upgrade", "Sec-WebSocket-Accept: " + accept);
+		queue(headers.toByteArray());
+		queue(HELLO_FRAME);
 		this.webSocket = true;
-		while (this.running) {
-			readWebSocketFrame();
-		}
 	}
 
-	private void readWebSocketFrame() throws IOException {
-		try {
-			Frame frame = Frame.read(this.inputStream);
+	private void readWebSocketFrames() throws IOException {
+		Frame frame = Frame.read(this.input);
+		while (frame != null) {
 			if (frame.getType() == Frame.Type.PING) {
-				writeWebSocketFrame(new Frame(Frame.Type.PONG));
+				queue(getBytes(new Frame(Frame.Type.PONG)));
+			}
+			else if (frame.getType() == Frame.Type.PONG) {
+				this.pingTime = 0;
 			}
 			else if (frame.getType() == Frame.Type.CLOSE) {
 				throw new ConnectionClosedException();
@@ -118,29 +176,79 @@ class Connection {
 			else {
 				throw new IOException("Unexpected Frame Type " + frame.getType());
 			}
+			frame = Frame.read(this.input);
+		}
+	}
+
+	private void growInputBuffer() throws IOException {
+		if (this.input.capacity() >= MAX_BUFFER_SIZE) {
+			throw new IOException(
+					"Maximum buffer size of " + MAX_BUFFER_SIZE + " bytes exceeded");
+		}
+		ByteBuffer input = ByteBuffer.allocate(this.input.capacity() * 2);
+		this.input.flip();
+		input.put(this.input);
+		this.input = input;
+	}
+
+	/**
+	 * Check that the client is still responsive, sending a ping if no data has been
+	 * received recently.
+	 * @throws IOException if the client has not responded in time
+	 */
+	public void checkAlive() throws IOException {
+		long now = System.currentTimeMillis();
+		if (this.header == null && now - this.lastReadTime > READ_TIMEOUT) {
+			throw new SocketTimeoutException("No header received");
 		}
-		catch (SocketTimeoutException ex) {
-			writeWebSocketFrame(new Frame(Frame.Type.PING));
-			Frame frame = Frame.read(this.inputStream);
-			if (frame.getType() != Frame.Type.PONG) {
+		if (this.webSocket) {
+			if (this.pingTime != 0 && now - this.pingTime > READ_TIMEOUT) {
 				throw new IllegalStateException("No Pong");
 			}
+			if (this.pingTime == 0 && now - this.lastReadTime > READ_TIMEOUT) {
+				this.pingTime = now;
+				queue(getBytes(new Frame(Frame.Type.PING)));
+			}
 		}
 	}
 
 	/**
-	 * Trigger livereload for the client using this connection.
-	 * @throws IOException in case of I/O errors
+	 * Trigger livereload for the client using this connection. The reload frame is queued
+	 * and sent the next time that the connection is {@link #write() written}.
 	 */
-	public void triggerReload() throws IOException {
+	public void triggerReload() {
 		if (this.webSocket) {
 			logger.debug("Triggering LiveReload");
-			writeWebSocketFrame(new Frame("{\"command\":\"reload\",\"path\":\"/\"}"));
+			queue(RELOAD_FRAME);
 		}
 	}
 
-	private void writeWebSocketFrame(Frame frame) throws IOException {
-		frame.write(this.outputStream);
+	private void queue(byte[] bytes) {
+		synchronized (this.output) {
+			this.output.add(ByteBuffer.wrap(bytes));
+		}
+	}
+
+	/**
+	 * Write as much queued output as the channel will accept without blocking.
+	 * @return {@code true} if all queued output has been written
+	 * @throws IOException in case of I/O errors
+	 */
+	public boolean write() throws IOException {
+		synchronized (this.output) {
+			while (!this.output.isEmpty()) {
+				ByteBuffer buffer = this.output.peek();
+				this.channel.write(buffer);
+				if (buffer.hasRemaining()) {
+					return false;
+				}
+				this.output.remove();
+			}
+		}
+		if (this.closeWhenWritten) {
+			close();
+		}
+		return true;
 	}
 
 	private String getWebsocketAcceptResponse() throws NoSuchAlgorithmException {
@@ -154,13 +262,40 @@ class Connection {
 		return Base64Utils.encodeToString(messageDigest.digest());
 	}
 
+	/**
+	 * Return the underlying channel.
+	 * @return the channel
+	 */
+	public SocketChannel getChannel() {
+		return this.channel;
+	}
+
+	/**
+	 * Return if the connection is open.
+	 * @return {@code true} if the connection is open
+	 */
+	public boolean isOpen() {
+		return this.channel.isOpen();
+	}
+
 	/**
 	 * Close the connection.
 	 * @throws IOException in case of I/O errors
 	 */
 	public void close() throws IOException {
-		this.running = false;
-		this.socket.close();
+		this.webSocket = false;
+		this.channel.close();
+	}
+
+	private static byte[] getBytes(Frame frame) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			frame.write(bytes);
+			return bytes.toByteArray();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,18 +17,16 @@
 package org.springframework.boot.devtools.livereload;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketTimeoutException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,7 +34,8 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.util.Assert;
 
 /**
- * A <a href="http://livereload.com">livereload</a> server.
+ * A <a href="http://livereload.com">livereload</a> server. All connections are handled by
+ * a single thread using non-blocking I/O.
  *
  * @author Phillip Webb
  * @since 1.3.0
@@ -51,10 +50,7 @@ public class LiveReloadServer {
 
 	private static final Log logger = LogFactory.getLog(LiveReloadServer.class);
 
-	private static final int READ_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(4);
-
-	private final ExecutorService executor = Executors
-			.newCachedThreadPool(new WorkerThreadFactory());
+	private static final long SELECT_TIMEOUT = TimeUnit.SECONDS.toMillis(1);
 
 	private final List<Connection> connections = new ArrayList<>();
 
@@ -64,7 +60,9 @@ public class LiveReloadServer {
 
 	private final ThreadFactory threadFactory;
 
-	private ServerSocket serverSocket;
+	private ServerSocketChannel serverChannel;
+
+	private Selector selector;
 
 	private Thread listenThread;
 
@@ -112,9 +110,13 @@ public class LiveReloadServer {
 		synchronized (this.monitor) {
 			Assert.state(!isStarted(), "Server already started");
 			logger.debug("Starting live reload server on port " + this.port);
-			this.serverSocket = new ServerSocket(this.port);
-			int localPort = this.serverSocket.getLocalPort();
-			this.listenThread = this.threadFactory.newThread(this::acceptConnections);
+			this.serverChannel = ServerSocketChannel.open();
+			this.serverChannel.bind(new InetSocketAddress(this.port));
+			this.serverChannel.configureBlocking(false);
+			this.selector = Selector.open();
+			this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+			int localPort = this.serverChannel.socket().getLocalPort();
+			this.listenThread = this.threadFactory.newThread(this::handleConnections);
 			this.listenThread.setDaemon(true);
 			this.listenThread.setName("Live Reload Server");
 			this.listenThread.start();
@@ -140,23 +142,129 @@ public class LiveReloadServer {
 		return this.port;
 	}
 
-	private void acceptConnections() {
-		do {
-			try {
-				Socket socket = this.serverSocket.accept();
-				socket.setSoTimeout(READ_TIMEOUT);
-				this.executor.execute(new ConnectionHandler(socket));
+	private void handleConnections() {
+		try {
+			while (this.serverChannel.isOpen()) {
+				this.selector.select(SELECT_TIMEOUT);
+				resumeAccepting();
+				Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					handleKey(key);
+				}
+				updateConnections();
+			}
+		}
+		catch (Exception ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("LiveReload server error", ex);
+			}
+		}
+		finally {
+			closeAllConnections();
+			closeSelector();
+		}
+	}
+
+	private void handleKey(SelectionKey key) {
+		try {
+			if (key.isValid() && key.isAcceptable()) {
+				acceptConnection();
+			}
+			else if (key.isValid() && key.isReadable()) {
+				readConnection((Connection) key.attachment());
+			}
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("LiveReload error", ex);
 			}
-			catch (SocketTimeoutException ex) {
-				// Ignore
+			if (key.channel() == this.serverChannel) {
+				pauseAccepting(key);
+			}
+			else {
+				key.cancel();
+				handleConnectionError((Connection) key.attachment(), ex);
+			}
+		}
+	}
+
+	/**
+	 * Stop accepting connections until the next select has completed so that a persistent
+	 * failure, such as running out of file descriptors, does not spin the selector
+	 * thread.
+	 * @param key the key of the server channel
+	 */
+	private void pauseAccepting(SelectionKey key) {
+		if (key.isValid()) {
+			key.interestOps(0);
+		}
+	}
+
+	private void resumeAccepting() {
+		SelectionKey key = this.serverChannel.keyFor(this.selector);
+		if (key != null && key.isValid() && key.interestOps() == 0) {
+			key.interestOps(SelectionKey.OP_ACCEPT);
+		}
+	}
+
+	private void acceptConnection() throws IOException {
+		SocketChannel channel = accept(this.serverChannel);
+		if (channel != null) {
+			try {
+				channel.configureBlocking(false);
+				Connection connection = createConnection(channel);
+				channel.register(this.selector, SelectionKey.OP_READ, connection);
+				addConnection(connection);
 			}
 			catch (Exception ex) {
 				if (logger.isDebugEnabled()) {
-					logger.debug("LiveReload server error", ex);
+					logger.debug("LiveReload error", ex);
 				}
+				channel.close();
 			}
 		}
-		while (!this.serverSocket.isClosed());
+	}
+
+	private void readConnection(Connection connection) {
+		try {
+			connection.read();
+		}
+		catch (Exception ex) {
+			handleConnectionError(connection, ex);
+		}
+	}
+
+	private void updateConnections() {
+		for (Connection connection : getConnections()) {
+			try {
+				connection.checkAlive();
+				boolean written = connection.write();
+				if (connection.isOpen()) {
+					connection.getChannel().keyFor(this.selector)
+							.interestOps(written ? SelectionKey.OP_READ
+									: SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+				}
+				else {
+					removeConnection(connection);
+				}
+			}
+			catch (Exception ex) {
+				handleConnectionError(connection, ex);
+			}
+		}
+	}
+
+	private void handleConnectionError(Connection connection, Exception ex) {
+		if (ex instanceof ConnectionClosedException) {
+			logger.debug("LiveReload connection closed");
+		}
+		else if (logger.isDebugEnabled()) {
+			logger.debug("LiveReload error", ex);
+		}
+		removeConnection(connection);
+		closeQuietly(connection);
 	}
 
 	/**
@@ -166,15 +274,8 @@ public class LiveReloadServer {
 	public void stop() throws IOException {
 		synchronized (this.monitor) {
 			if (this.listenThread != null) {
-				closeAllConnections();
-				try {
-					this.executor.shutdown();
-					this.executor.awaitTermination(1, TimeUnit.MINUTES);
-				}
-				catch (InterruptedException ex) {
-					Thread.currentThread().interrupt();
-				}
-				this.serverSocket.close();
+				this.serverChannel.close();
+				this.selector.wakeup();
 				try {
 					this.listenThread.join();
 				}
@@ -182,16 +283,34 @@ public class LiveReloadServer {
 					Thread.currentThread().interrupt();
 				}
 				this.listenThread = null;
-				this.serverSocket = null;
+				this.serverChannel = null;
+				this.selector = null;
 			}
 		}
 	}
 
-	private void closeAllConnections() throws IOException {
-		synchronized (this.connections) {
-			for (Connection connection : this.connections) {
-				connection.close();
-			}
+	private void closeAllConnections() {
+		for (Connection connection : getConnections()) {
+			removeConnection(connection);
+			closeQuietly(connection);
+		}
+	}
+
+	private void closeQuietly(Connection connection) {
+		try {
+			connection.close();
+		}
+		catch (IOException ex) {
+			// Ignore
+		}
+	}
+
+	private void closeSelector() {
+		try {
+			this.selector.close();
+		}
+		catch (IOException ex) {
+			// Ignore
 		}
 	}
 
@@ -202,14 +321,18 @@ public class LiveReloadServer {
 		synchronized (this.monitor) {
 			synchronized (this.connections) {
 				for (Connection connection : this.connections) {
-					try {
-						connection.triggerReload();
-					}
-					catch (Exception ex) {
-						logger.debug("Unable to send reload message", ex);
-					}
+					connection.triggerReload();
 				}
 			}
+			if (this.selector != null) {
+				this.selector.wakeup();
+			}
+		}
+	}
+
+	private List<Connection> getConnections() {
+		synchronized (this.connections) {
+			return new ArrayList<>(this.connections);
 		}
 	}
 
@@ -226,92 +349,23 @@ public class LiveReloadServer {
 	}
 
 	/**
-	 * Factory method used to create the {@link Connection}.
-	 * @param socket the source socket
-	 * @param inputStream the socket input stream
-	 * @param outputStream the socket output stream
-	 * @return a connection
+	 * Accept the next connection from the given server channel.
+	 * @param serverChannel the server channel
+	 * @return the accepted channel or {@code null} if no connection is pending
 	 * @throws IOException in case of I/O errors
 	 */
-	protected Connection createConnection(Socket socket, InputStream inputStream,
-			OutputStream outputStream) throws IOException {
-		return new Connection(socket, inputStream, outputStream);
-	}
-
-	/**
-	 * {@link Runnable} to handle a single connection.
-	 *
-	 * @see Connection
-	 */
-	private class ConnectionHandler implements Runnable {
-
-		private final Socket socket;
-
-		private final InputStream inputStream;
-
-		ConnectionHandler(Socket socket) throws IOException {
-			this.socket = socket;
-			this.inputStream = socket.getInputStream();
-		}
-
-		@Override
-		public void run() {
-			try {
-				handle();
-			}
-			catch (ConnectionClosedException ex) {
-				logger.debug("LiveReload connection closed");
-			}
-			catch (Exception ex) {
-				if (logger.isDebugEnabled()) {
-					logger.debug("LiveReload error", ex);
-				}
-			}
-		}
-
-		private void handle() throws Exception {
-			try {
-				try (OutputStream outputStream = this.socket.getOutputStream()) {
-					Connection connection = createConnection(this.socket,
-							this.inputStream, outputStream);
-					runConnection(connection);
-				}
-				finally {
-					this.inputStream.close();
-				}
-			}
-			finally {
-				this.socket.close();
-			}
-		}
-
-		private void runConnection(Connection connection) throws IOException, Exception {
-			try {
-				addConnection(connection);
-				connection.run();
-			}
-			finally {
-				removeConnection(connection);
-			}
-		}
-
+	SocketChannel accept(ServerSocketChannel serverChannel) throws IOException {
+		return serverChannel.accept();
 	}
 
 	/**
-	 * {@link ThreadFactory} to create the worker threads.
+	 * Factory method used to create the {@link Connection}.
+	 * @param channel the source channel
+	 * @return a connection
+	 * @throws IOException in case of I/O errors
 	 */
-	private static class WorkerThreadFactory implements ThreadFactory {
-
-		private final AtomicInteger threadNumber = new AtomicInteger(1);
-
-		@Override
-		public Thread newThread(Runnable r) {
-			Thread thread = new Thread(r);
-			thread.setDaemon(true);
-			thread.setName("Live Reload #" + this.threadNumber.getAndIncrement());
-			return thread;
-		}
-
+	Connection createConnection(SocketChannel channel) throws IOException {
+		return new Connection(channel);
 	}
 
 }
@@ -16,9 +16,7 @@
 
 package org.springframework.boot.devtools.remote.client;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.net.ConnectException;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -26,6 +24,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.logging.Log;
@@ -37,6 +36,7 @@ import org.springframework.boot.devtools.filewatch.ChangedFiles;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesPayload;
 import org.springframework.context.ApplicationListener;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -49,7 +49,10 @@ import org.springframework.util.Assert;
 import org.springframework.util.FileCopyUtils;
 
 /**
- * Listens and pushes any classpath updates to a remote endpoint.
+ * Listens and pushes any classpath updates to a remote endpoint. Updates are sent as a
+ * {@link ClassLoaderFilesPayload} and contents that have already been uploaded are sent
+ * as a reference. If the remote endpoint is unable to resolve a reference, the update is
+ * sent again with all of its contents.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -71,10 +74,15 @@ public class ClassPathChangeUploader
 
 	private static final Log logger = LogFactory.getLog(ClassPathChangeUploader.class);
 
+	private static final MediaType PAYLOAD_CONTENT_TYPE = MediaType
+			.parseMediaType(ClassLoaderFilesPayload.CONTENT_TYPE);
+
 	private final URI uri;
 
 	private final ClientHttpRequestFactory requestFactory;
 
+	private final Map<String, String> uploadedDigests = new HashMap<>();
+
 	public ClassPathChangeUploader(String url, ClientHttpRequestFactory requestFactory) {
 		Assert.hasLength(url, "URL must not be empty");
 		Assert.notNull(requestFactory, "RequestFactory must not be null");
@@ -91,29 +99,35 @@ public class ClassPathChangeUploader
 	public void onApplicationEvent(ClassPathChangedEvent event) {
 		try {
 			ClassLoaderFiles classLoaderFiles = getClassLoaderFiles(event);
-			byte[] bytes = serialize(classLoaderFiles);
-			performUpload(classLoaderFiles, bytes);
+			performUpload(classLoaderFiles);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException(ex);
 		}
 	}
 
-	private void performUpload(ClassLoaderFiles classLoaderFiles, byte[] bytes)
-			throws IOException {
+	private void performUpload(ClassLoaderFiles classLoaderFiles) throws IOException {
 		try {
 			while (true) {
 				try {
 					ClientHttpRequest request = this.requestFactory
 							.createRequest(this.uri, HttpMethod.POST);
 					HttpHeaders headers = request.getHeaders();
-					headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-					headers.setContentLength(bytes.length);
-					FileCopyUtils.copy(bytes, request.getBody());
+					headers.setContentType(PAYLOAD_CONTENT_TYPE);
+					Map<String, String> digests = ClassLoaderFilesPayload.write(
+							classLoaderFiles, request.getBody(), getKnownContents());
 					ClientHttpResponse response = request.execute();
 					HttpStatus statusCode = response.getStatusCode();
+					if (statusCode == HttpStatus.CONFLICT
+							&& !this.uploadedDigests.isEmpty()) {
+						logger.debug("Remote contents have changed. Upload will be "
+								+ "retried with all contents");
+						this.uploadedDigests.clear();
+						continue;
+					}
 					Assert.state(statusCode == HttpStatus.OK, () -> "Unexpected "
 							+ statusCode + " response uploading class files");
+					updateUploadedDigests(digests);
 					logUpload(classLoaderFiles);
 					return;
 				}
@@ -130,20 +144,29 @@ public class ClassPathChangeUploader
 		}
 	}
 
+	private Map<String, String> getKnownContents() {
+		Map<String, String> knownContents = new HashMap<>();
+		this.uploadedDigests.forEach((name, digest) -> knownContents.put(digest, name));
+		return knownContents;
+	}
+
+	private void updateUploadedDigests(Map<String, String> digests) {
+		digests.forEach((name, digest) -> {
+			if (digest != null) {
+				this.uploadedDigests.put(name, digest);
+			}
+			else {
+				this.uploadedDigests.remove(name);
+			}
+		});
+	}
+
 	private void logUpload(ClassLoaderFiles classLoaderFiles) {
 		int size = classLoaderFiles.size();
 		logger.info("Uploaded " + size + " class "
 				+ ((size != 1) ? "resources" : "resource"));
 	}
 
-	private byte[] serialize(ClassLoaderFiles classLoaderFiles) throws IOException {
-		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
-		objectOutputStream.writeObject(classLoaderFiles);
-		objectOutputStream.close();
-		return outputStream.toByteArray();
-	}
-
 	private ClassLoaderFiles getClassLoaderFiles(ClassPathChangedEvent event)
 			throws IOException {
 		ClassLoaderFiles files = new ClassLoaderFiles();
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.devtools.restart.classloader.RestartClassLoader;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link BeanFactoryPostProcessor} that moves singleton beans of certain types, typically
+ * expensive infrastructure such as a {@link javax.sql.DataSource}, into the
+ * {@link RestartScope restart scope} so that they can be reused when the application is
+ * restarted. Only beans whose type is not loaded by a {@link RestartClassLoader} are
+ * preserved and each one is {@link Restarter#preserveAttribute(String, Collection)
+ * released} when the class that defines it changes.
+ * <p>
+ * An embedded database is never preserved as the scripts that initialize it would run
+ * again against the existing database. For the same reason, a {@link DataSource} that
+ * turns out to connect to an embedded database is released when the application stops. So
+ * is a {@link HikariDataSource} that has been bound to metrics as they are recorded in
+ * the registry of the closed context.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class IncrementalRestartBeanFactoryPostProcessor
+		implements BeanFactoryPostProcessor {
+
+	private static final String RESTART_SCOPE = "restart";
+
+	private static final String EMBEDDED_DATABASE_CLASS = "org.springframework.jdbc.datasource.embedded.EmbeddedDatabase";
+
+	private static final String JDBC_TEMPLATE_CLASS = "org.springframework.jdbc.core.JdbcTemplate";
+
+	private static final String HIKARI_DATA_SOURCE_CLASS = "com.zaxxer.hikari.HikariDataSource";
+
+	private final Collection<String> preservedTypeNames;
+
+	private final Collection<String> excludedTypeNames;
+
+	/**
+	 * Create a new {@link IncrementalRestartBeanFactoryPostProcessor} instance.
+	 * @param preservedTypeNames the names of the types of bean that should be preserved
+	 */
+	public IncrementalRestartBeanFactoryPostProcessor(
+			Collection<String> preservedTypeNames) {
+		this(preservedTypeNames, Collections.emptyList());
+	}
+
+	/**
+	 * Create a new {@link IncrementalRestartBeanFactoryPostProcessor} instance.
+	 * @param preservedTypeNames the names of the types of bean that should be preserved
+	 * @param excludedTypeNames the names of the types of bean that should not be
+	 * preserved even though they are assignable to a preserved type
+	 */
+	public IncrementalRestartBeanFactoryPostProcessor(
+			Collection<String> preservedTypeNames, Collection<String> excludedTypeNames) {
+		Assert.notNull(preservedTypeNames, "PreservedTypeNames must not be null");
+		Assert.notNull(excludedTypeNames, "ExcludedTypeNames must not be null");
+		this.preservedTypeNames = preservedTypeNames;
+		List<String> allExcludedTypeNames = new ArrayList<>(excludedTypeNames);
+		allExcludedTypeNames.add(EMBEDDED_DATABASE_CLASS);
+		this.excludedTypeNames = allExcludedTypeNames;
+	}
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+			throws BeansException {
+		ClassLoader classLoader = beanFactory.getBeanClassLoader();
+		List<Class<?>> preservedTypes = resolveTypes(this.preservedTypeNames,
+				classLoader);
+		if (preservedTypes.isEmpty()) {
+			return;
+		}
+		List<Class<?>> excludedTypes = resolveTypes(this.excludedTypeNames, classLoader);
+		Restarter restarter = Restarter.getInstance();
+		for (String name : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition definition = beanFactory.getBeanDefinition(name);
+			if (definition.isSingleton() && !definition.isAbstract()) {
+				Class<?> type = getBeanType(definition, classLoader);
+				if (type != null && isPreservedType(type, preservedTypes)
+						&& !isAssignableToAny(type, excludedTypes)) {
+					definition.setScope(RESTART_SCOPE);
+					restarter.preserveAttribute(name, getSourceClassNames(definition),
+							this::isReusable);
+				}
+			}
+		}
+	}
+
+	private List<Class<?>> resolveTypes(Collection<String> typeNames,
+			ClassLoader classLoader) {
+		List<Class<?>> types = new ArrayList<>();
+		for (String typeName : typeNames) {
+			Class<?> type = resolve(typeName, classLoader);
+			if (type != null) {
+				types.add(type);
+			}
+		}
+		return types;
+	}
+
+	private Class<?> getBeanType(BeanDefinition definition, ClassLoader classLoader) {
+		MethodMetadata factoryMethod = getFactoryMethodMetadata(definition);
+		if (factoryMethod != null) {
+			return resolve(factoryMethod.getReturnTypeName(), classLoader);
+		}
+		if (definition.getFactoryMethodName() != null
+				|| definition.getBeanClassName() == null) {
+			return null;
+		}
+		return resolve(definition.getBeanClassName(), classLoader);
+	}
+
+	private boolean isPreservedType(Class<?> type, List<Class<?>> preservedTypes) {
+		if (type.getClassLoader() instanceof RestartClassLoader) {
+			return false;
+		}
+		return isAssignableToAny(type, preservedTypes);
+	}
+
+	private boolean isAssignableToAny(Class<?> type, List<Class<?>> candidates) {
+		for (Class<?> candidate : candidates) {
+			if (candidate.isAssignableFrom(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isReusable(Object value) {
+		if (!(value instanceof DataSource)) {
+			return true;
+		}
+		ClassLoader classLoader = getClass().getClassLoader();
+		if (ClassUtils.isPresent(HIKARI_DATA_SOURCE_CLASS, classLoader)
+				&& HikariDataSourceMetrics.isBound(value)) {
+			return false;
+		}
+		return !(ClassUtils.isPresent(JDBC_TEMPLATE_CLASS, classLoader)
+				&& EmbeddedDatabaseConnection.isEmbedded((DataSource) value));
+	}
+
+	private Collection<String> getSourceClassNames(BeanDefinition definition) {
+		MethodMetadata factoryMethod = getFactoryMethodMetadata(definition);
+		String sourceClassName = (factoryMethod != null)
+				? factoryMethod.getDeclaringClassName() : definition.getBeanClassName();
+		return (sourceClassName != null) ? Collections.singleton(sourceClassName)
+				: Collections.emptySet();
+	}
+
+	private MethodMetadata getFactoryMethodMetadata(BeanDefinition definition) {
+		if (definition instanceof AnnotatedBeanDefinition) {
+			return ((AnnotatedBeanDefinition) definition).getFactoryMethodMetadata();
+		}
+		return null;
+	}
+
+	private Class<?> resolve(String className, ClassLoader classLoader) {
+		try {
+			return ClassUtils.forName(className, classLoader);
+		}
+		catch (Throwable ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Inner class to avoid a hard dependency on Hikari.
+	 */
+	private static final class HikariDataSourceMetrics {
+
+		static boolean isBound(Object value) {
+			if (value instanceof HikariDataSource) {
+				HikariDataSource dataSource = (HikariDataSource) value;
+				return dataSource.getMetricsTrackerFactory() != null
+						|| dataSource.getMetricRegistry() != null;
+			}
+			return false;
+		}
+
+	}
+
+}
@@ -19,10 +19,15 @@ package org.springframework.boot.devtools.restart;
 import java.beans.Introspector;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -35,11 +40,13 @@ import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.CachedIntrospectionResults;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.devtools.restart.FailureHandler.Outcome;
@@ -87,6 +94,10 @@ public class Restarter {
 
 	private static final String[] NO_ARGS = {};
 
+	private static final String CLASS_EXTENSION = ".class";
+
+	private static final String[] INFERRED_DESTROY_METHOD_NAMES = { "close", "shutdown" };
+
 	private static Restarter instance;
 
 	private final Set<URL> urls = new LinkedHashSet<>();
@@ -95,6 +106,10 @@ public class Restarter {
 
 	private final Map<String, Object> attributes = new HashMap<>();
 
+	private final Map<String, PreservedAttribute> preservedAttributes = new HashMap<>();
+
+	private boolean shutdownHookRegistered;
+
 	private final BlockingDeque<LeakSafeThread> leakSafeThreads = new LinkedBlockingDeque<>();
 
 	private final Lock stopLock = new ReentrantLock();
@@ -243,6 +258,20 @@ public class Restarter {
 	 * @param failureHandler a failure handler to deal with application that doesn't start
 	 */
 	public void restart(FailureHandler failureHandler) {
+		restart(failureHandler, null);
+	}
+
+	/**
+	 * Restart the running application, keeping any
+	 * {@link #preserveAttribute(String, Collection) preserved attributes} that are not
+	 * affected by the given changes.
+	 * @param failureHandler a failure handler to deal with application that doesn't start
+	 * @param changedResourceNames the names of the resources that have changed, relative
+	 * to their source folder, or {@code null} if the changes are not known
+	 * @since 2.1.0
+	 */
+	public void restart(FailureHandler failureHandler,
+			Collection<String> changedResourceNames) {
 		if (!this.enabled) {
 			this.logger.debug("Application restart is disabled");
 			return;
@@ -250,6 +279,7 @@ public class Restarter {
 		this.logger.debug("Restarting application");
 		getLeakSafeThread().call(() -> {
 			Restarter.this.stop();
+			Restarter.this.releasePreservedAttributes(changedResourceNames);
 			Restarter.this.start(failureHandler);
 			return null;
 		});
@@ -475,6 +505,186 @@ public class Restarter {
 		}
 	}
 
+	/**
+	 * Preserve the attribute with the given name across restarts. The attribute is
+	 * released when the application is restarted without details of the changes, when a
+	 * resource other than a class changes, or when one of the given source classes
+	 * changes.
+	 * @param name the name of the attribute
+	 * @param sourceClassNames the names of the classes that the attribute depends upon
+	 * @since 2.1.0
+	 */
+	public void preserveAttribute(String name, Collection<String> sourceClassNames) {
+		preserveAttribute(name, sourceClassNames, (value) -> true);
+	}
+
+	/**
+	 * Preserve the attribute with the given name across restarts. In addition to the
+	 * cases described in {@link #preserveAttribute(String, Collection)}, the attribute is
+	 * released when the given predicate reports that its value, once the application has
+	 * stopped, can no longer be reused. Preserved attributes that remain when the JVM
+	 * shuts down are released by a shutdown hook.
+	 * @param name the name of the attribute
+	 * @param sourceClassNames the names of the classes that the attribute depends upon
+	 * @param reusable the predicate used to check that the value can be reused
+	 * @since 2.1.0
+	 */
+	public void preserveAttribute(String name, Collection<String> sourceClassNames,
+			Predicate<Object> reusable) {
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(sourceClassNames, "SourceClassNames must not be null");
+		Assert.notNull(reusable, "Reusable must not be null");
+		Set<String> outerClassNames = new HashSet<>();
+		for (String sourceClassName : sourceClassNames) {
+			outerClassNames.add(getOuterClassName(sourceClassName));
+		}
+		synchronized (this.attributes) {
+			this.preservedAttributes.put(name,
+					new PreservedAttribute(outerClassNames, reusable));
+			if (!this.shutdownHookRegistered) {
+				registerShutdownHook(
+						new Thread(this::releasePreservedAttributesOnShutdown));
+				this.shutdownHookRegistered = true;
+			}
+		}
+	}
+
+	void registerShutdownHook(Thread shutdownHook) {
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	private void releasePreservedAttributesOnShutdown() {
+		// Preserved attributes are not closed with the application so close them once it
+		// has stopped
+		this.stopLock.lock();
+		try {
+			for (ConfigurableApplicationContext context : this.rootContexts) {
+				context.close();
+			}
+		}
+		finally {
+			this.stopLock.unlock();
+		}
+		releasePreservedAttributes(null);
+	}
+
+	/**
+	 * Release and destroy any preserved attribute with the given value so that it is
+	 * recreated when the application is next restarted.
+	 * @param value the value of the attribute
+	 * @since 2.1.0
+	 */
+	public void releasePreservedAttribute(Object value) {
+		Map<String, Object> released = new LinkedHashMap<>();
+		synchronized (this.attributes) {
+			for (String name : this.preservedAttributes.keySet()) {
+				if (value != null && this.attributes.get(name) == value) {
+					released.put(name, this.attributes.remove(name));
+				}
+			}
+			this.preservedAttributes.keySet().removeAll(released.keySet());
+		}
+		released.forEach(this::destroyAttribute);
+	}
+
+	/**
+	 * Release and destroy the preserved attributes that are affected by the given
+	 * changes.
+	 * @param changedResourceNames the names of the resources that have changed or
+	 * {@code null} to release all preserved attributes
+	 * @since 2.1.0
+	 */
+	protected void releasePreservedAttributes(Collection<String> changedResourceNames) {
+		Set<String> changedClassNames = getChangedClassNames(changedResourceNames);
+		Map<String, Object> released = new LinkedHashMap<>();
+		Set<String> retained = new LinkedHashSet<>();
+		synchronized (this.attributes) {
+			this.preservedAttributes.forEach((name, preservedAttribute) -> {
+				Object value = this.attributes.get(name);
+				if (changedClassNames == null
+						|| !Collections.disjoint(changedClassNames,
+								preservedAttribute.sourceClassNames)
+						|| (value != null && !isReusable(value, preservedAttribute))) {
+					released.put(name, value);
+				}
+				else {
+					retained.add(name);
+				}
+			});
+			this.preservedAttributes.keySet().retainAll(retained);
+			this.attributes.keySet().removeAll(released.keySet());
+		}
+		released.forEach(this::destroyAttribute);
+		if (this.logger.isDebugEnabled() && !retained.isEmpty()) {
+			this.logger.debug("Preserving attributes " + retained + " across restart");
+		}
+	}
+
+	private boolean isReusable(Object value, PreservedAttribute preservedAttribute) {
+		if (isFromRestartClassLoader(value.getClass())) {
+			return false;
+		}
+		try {
+			return preservedAttribute.reusable.test(value);
+		}
+		catch (Exception ex) {
+			this.logger.debug("Unable to check if preserved attribute can be reused", ex);
+			return false;
+		}
+	}
+
+	private Set<String> getChangedClassNames(Collection<String> changedResourceNames) {
+		if (changedResourceNames == null) {
+			return null;
+		}
+		Set<String> changedClassNames = new HashSet<>();
+		for (String name : changedResourceNames) {
+			if (!name.endsWith(CLASS_EXTENSION)) {
+				return null;
+			}
+			String className = name.substring(0, name.length() - CLASS_EXTENSION.length())
+					.replace('/', '.');
+			changedClassNames.add(getOuterClassName(className));
+		}
+		return changedClassNames;
+	}
+
+	private String getOuterClassName(String className) {
+		int dollarIndex = className.indexOf('$');
+		return (dollarIndex != -1) ? className.substring(0, dollarIndex) : className;
+	}
+
+	private void destroyAttribute(String name, Object value) {
+		if (value == null) {
+			return;
+		}
+		this.logger.debug("Releasing preserved attribute " + name);
+		try {
+			if (value instanceof DisposableBean) {
+				((DisposableBean) value).destroy();
+			}
+			else if (value instanceof AutoCloseable) {
+				((AutoCloseable) value).close();
+			}
+			else {
+				invokeDestroyMethod(value);
+			}
+		}
+		catch (Exception ex) {
+			this.logger.warn("Unable to destroy preserved attribute " + name, ex);
+		}
+	}
+
+	private void invokeDestroyMethod(Object value) {
+		for (String methodName : INFERRED_DESTROY_METHOD_NAMES) {
+			Method method = ReflectionUtils.findMethod(value.getClass(), methodName);
+			if (method != null && Modifier.isPublic(method.getModifiers())) {
+				ReflectionUtils.invokeMethod(method, value);
+				return;
+			}
+		}
+	}
+
 	/**
 	 * Return the initial set of URLs as configured by the {@link RestartInitializer}.
 	 * @return the initial URLs or {@code null}
@@ -660,4 +870,21 @@ public class Restarter {
 
 	}
 
+	/**
+	 * Details of an attribute that is preserved across restarts.
+	 */
+	private static final class PreservedAttribute {
+
+		private final Set<String> sourceClassNames;
+
+		private final Predicate<Object> reusable;
+
+		private PreservedAttribute(Set<String> sourceClassNames,
+				Predicate<Object> reusable) {
+			this.sourceClassNames = sourceClassNames;
+			this.reusable = reusable;
+		}
+
+	}
+
 }
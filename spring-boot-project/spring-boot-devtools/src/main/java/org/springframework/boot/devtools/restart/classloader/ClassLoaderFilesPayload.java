@@ -0,0 +1,302 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.classloader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles.SourceFolder;
+import org.springframework.util.Assert;
+
+/**
+ * Compact binary format that can be used to send {@link ClassLoaderFiles} to a remote
+ * application. The payload is compressed and identifies the contents of each file by its
+ * SHA-1 digest. Contents that the receiver already has are sent as a reference rather
+ * than in full, either to an earlier file in the same payload or to a resource that the
+ * receiver can load itself.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public final class ClassLoaderFilesPayload {
+
+	/**
+	 * The content type of a payload.
+	 */
+	public static final String CONTENT_TYPE = "application/vnd.spring-boot.devtools.class-loader-files";
+
+	private static final int MAGIC = 0x53424346;
+
+	private static final int VERSION = 1;
+
+	private static final int INLINE_CONTENTS = 0;
+
+	private static final int PAYLOAD_REFERENCE = 1;
+
+	private static final int RESOURCE_REFERENCE = 2;
+
+	private static final int DIGEST_LENGTH = 20;
+
+	private static final int BUFFER_SIZE = 4096;
+
+	private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+	private static final Kind[] KINDS = Kind.values();
+
+	private ClassLoaderFilesPayload() {
+	}
+
+	/**
+	 * Write the given {@link ClassLoaderFiles} to the given output stream. The stream is
+	 * not closed.
+	 * @param files the files to write
+	 * @param outputStream the destination output stream
+	 * @param knownContents resources that the receiver is known to have, keyed by the
+	 * digest of their contents
+	 * @return the digest of the contents of each file that was written, keyed by file
+	 * name. The digest is {@code null} for deleted files
+	 * @throws IOException on IO error
+	 */
+	public static Map<String, String> write(ClassLoaderFiles files,
+			OutputStream outputStream, Map<String, String> knownContents)
+			throws IOException {
+		Assert.notNull(files, "Files must not be null");
+		Assert.notNull(outputStream, "OutputStream must not be null");
+		Assert.notNull(knownContents, "KnownContents must not be null");
+		Map<String, String> written = new LinkedHashMap<>();
+		Set<String> writtenDigests = new HashSet<>();
+		GZIPOutputStream compressed = new GZIPOutputStream(outputStream);
+		DataOutputStream data = new DataOutputStream(
+				new BufferedOutputStream(compressed));
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		for (SourceFolder folder : files.getSourceFolders()) {
+			data.writeBoolean(true);
+			data.writeUTF(folder.getName());
+			for (Map.Entry<String, ClassLoaderFile> entry : folder.getFilesEntrySet()) {
+				data.writeBoolean(true);
+				data.writeUTF(entry.getKey());
+				written.put(entry.getKey(),
+						writeFile(data, entry.getValue(), writtenDigests, knownContents));
+			}
+			data.writeBoolean(false);
+		}
+		data.writeBoolean(false);
+		data.flush();
+		compressed.finish();
+		return Collections.unmodifiableMap(written);
+	}
+
+	private static String writeFile(DataOutputStream data, ClassLoaderFile file,
+			Set<String> writtenDigests, Map<String, String> knownContents)
+			throws IOException {
+		data.writeByte(file.getKind().ordinal());
+		data.writeLong(file.getLastModified());
+		if (file.getKind() == Kind.DELETED) {
+			return null;
+		}
+		byte[] contents = file.getContents();
+		byte[] digest = getDigest(contents);
+		String hexDigest = toHex(digest);
+		String knownResource = knownContents.get(hexDigest);
+		if (!writtenDigests.add(hexDigest)) {
+			data.writeByte(PAYLOAD_REFERENCE);
+			data.write(digest);
+		}
+		else if (knownResource != null) {
+			data.writeByte(RESOURCE_REFERENCE);
+			data.write(digest);
+			data.writeUTF(knownResource);
+		}
+		else {
+			data.writeByte(INLINE_CONTENTS);
+			data.write(digest);
+			data.writeInt(contents.length);
+			data.write(contents);
+		}
+		return hexDigest;
+	}
+
+	/**
+	 * Read {@link ClassLoaderFiles} from the given input stream. The stream is not
+	 * closed.
+	 * @param inputStream the source input stream
+	 * @param resourceResolver the resolver used to load resources whose contents have
+	 * been sent as a reference
+	 * @return the files
+	 * @throws MissingContentException if the contents of a referenced resource are not
+	 * available
+	 * @throws IOException on IO error or if the payload is malformed
+	 */
+	public static ClassLoaderFiles read(InputStream inputStream,
+			ResourceResolver resourceResolver) throws IOException {
+		Assert.notNull(inputStream, "InputStream must not be null");
+		Assert.notNull(resourceResolver, "ResourceResolver must not be null");
+		DataInputStream data = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(inputStream)));
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Payload does not contain class loader files");
+		}
+		int version = data.readUnsignedByte();
+		if (version != VERSION) {
+			throw new IOException("Unsupported payload version " + version);
+		}
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		Map<String, byte[]> contents = new HashMap<>();
+		while (data.readBoolean()) {
+			String folder = data.readUTF();
+			while (data.readBoolean()) {
+				String name = data.readUTF();
+				files.addFile(folder, name, readFile(data, contents, resourceResolver));
+			}
+		}
+		return files;
+	}
+
+	private static ClassLoaderFile readFile(DataInputStream data,
+			Map<String, byte[]> payloadContents, ResourceResolver resourceResolver)
+			throws IOException {
+		int kindOrdinal = data.readUnsignedByte();
+		if (kindOrdinal >= KINDS.length) {
+			throw new IOException("Unknown file kind " + kindOrdinal);
+		}
+		Kind kind = KINDS[kindOrdinal];
+		long lastModified = data.readLong();
+		if (kind == Kind.DELETED) {
+			return new ClassLoaderFile(kind, lastModified, null);
+		}
+		int contentsType = data.readUnsignedByte();
+		byte[] digest = new byte[DIGEST_LENGTH];
+		data.readFully(digest);
+		String hexDigest = toHex(digest);
+		byte[] contents;
+		if (contentsType == INLINE_CONTENTS) {
+			contents = readContents(data);
+			payloadContents.put(hexDigest, contents);
+		}
+		else if (contentsType == PAYLOAD_REFERENCE) {
+			contents = payloadContents.get(hexDigest);
+			if (contents == null) {
+				throw new IOException("Unknown payload reference " + hexDigest);
+			}
+		}
+		else if (contentsType == RESOURCE_REFERENCE) {
+			String resourceName = data.readUTF();
+			contents = resourceResolver.getContents(resourceName);
+			if (contents == null || !hexDigest.equals(toHex(getDigest(contents)))) {
+				throw new MissingContentException(resourceName);
+			}
+			payloadContents.put(hexDigest, contents);
+		}
+		else {
+			throw new IOException("Unknown contents type " + contentsType);
+		}
+		return new ClassLoaderFile(kind, lastModified, contents);
+	}
+
+	/**
+	 * Read inline contents. The contents are read in chunks rather than allocated upfront
+	 * so that a malformed length cannot cause more memory to be allocated than the
+	 * payload actually contains.
+	 * @param data the source data
+	 * @return the contents
+	 * @throws IOException on IO error or if the length is invalid
+	 */
+	private static byte[] readContents(DataInputStream data) throws IOException {
+		int length = data.readInt();
+		if (length < 0) {
+			throw new IOException("Invalid contents length " + length);
+		}
+		ByteArrayOutputStream contents = new ByteArrayOutputStream(
+				Math.min(length, BUFFER_SIZE));
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int remaining = length;
+		while (remaining > 0) {
+			int read = data.read(buffer, 0, Math.min(remaining, buffer.length));
+			if (read == -1) {
+				throw new IOException(
+						"Contents length " + length + " exceeds the remaining payload");
+			}
+			contents.write(buffer, 0, read);
+			remaining -= read;
+		}
+		return contents.toByteArray();
+	}
+
+	private static byte[] getDigest(byte[] contents) {
+		try {
+			return MessageDigest.getInstance("SHA-1").digest(contents);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			hex[i * 2] = HEX_CHARS[(bytes[i] >> 4) & 0xF];
+			hex[i * 2 + 1] = HEX_CHARS[bytes[i] & 0xF];
+		}
+		return new String(hex);
+	}
+
+	/**
+	 * Strategy used to load the contents of resources that have been sent as a reference.
+	 */
+	@FunctionalInterface
+	public interface ResourceResolver {
+
+		/**
+		 * Return the current contents of the resource with the given name.
+		 * @param name the name of the resource
+		 * @return the contents or {@code null} if there is no such resource
+		 * @throws IOException on IO error
+		 */
+		byte[] getContents(String name) throws IOException;
+
+	}
+
+	/**
+	 * Exception thrown when the contents of a referenced resource are not available.
+	 */
+	public static class MissingContentException extends IOException {
+
+		MissingContentException(String resourceName) {
+			super("Contents of resource '" + resourceName + "' are not available");
+		}
+
+	}
+
+}
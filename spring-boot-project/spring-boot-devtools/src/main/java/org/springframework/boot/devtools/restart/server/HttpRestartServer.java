@@ -23,14 +23,18 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesPayload;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesPayload.MissingContentException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.util.Assert;
 
 /**
  * A HTTP server that can be used to upload updated {@link ClassLoaderFiles} and trigger
- * restarts.
+ * restarts. Files can be uploaded either as a {@link ClassLoaderFilesPayload} or as a
+ * serialized {@link ClassLoaderFiles} instance.
  *
  * @author Phillip Webb
  * @since 1.3.0
@@ -40,6 +44,9 @@ public class HttpRestartServer {
 
 	private static final Log logger = LogFactory.getLog(HttpRestartServer.class);
 
+	private static final MediaType PAYLOAD_CONTENT_TYPE = MediaType
+			.parseMediaType(ClassLoaderFilesPayload.CONTENT_TYPE);
+
 	private final RestartServer server;
 
 	/**
@@ -70,18 +77,32 @@ public class HttpRestartServer {
 	public void handle(ServerHttpRequest request, ServerHttpResponse response)
 			throws IOException {
 		try {
-			Assert.state(request.getHeaders().getContentLength() > 0, "No content");
-			ObjectInputStream objectInputStream = new ObjectInputStream(
-					request.getBody());
-			ClassLoaderFiles files = (ClassLoaderFiles) objectInputStream.readObject();
-			objectInputStream.close();
+			ClassLoaderFiles files = readClassLoaderFiles(request);
 			this.server.updateAndRestart(files);
 			response.setStatusCode(HttpStatus.OK);
 		}
+		catch (MissingContentException ex) {
+			logger.debug("Unable to resolve uploaded class loader files", ex);
+			response.setStatusCode(HttpStatus.CONFLICT);
+		}
 		catch (Exception ex) {
 			logger.warn("Unable to handler restart server HTTP request", ex);
 			response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
 
+	private ClassLoaderFiles readClassLoaderFiles(ServerHttpRequest request)
+			throws IOException, ClassNotFoundException {
+		MediaType contentType = request.getHeaders().getContentType();
+		if (PAYLOAD_CONTENT_TYPE.equalsTypeAndSubtype(contentType)) {
+			return ClassLoaderFilesPayload.read(request.getBody(),
+					this.server::getResourceContents);
+		}
+		Assert.state(request.getHeaders().getContentLength() > 0, "No content");
+		ObjectInputStream objectInputStream = new ObjectInputStream(request.getBody());
+		ClassLoaderFiles files = (ClassLoaderFiles) objectInputStream.readObject();
+		objectInputStream.close();
+		return files;
+	}
+
 }
@@ -18,6 +18,7 @@ package org.springframework.boot.devtools.restart.server;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Collections;
@@ -28,6 +29,7 @@ import java.util.Set;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.boot.devtools.restart.FailureHandler;
 import org.springframework.boot.devtools.restart.Restarter;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
@@ -97,6 +99,23 @@ public class RestartServer {
 		restart(urls, files);
 	}
 
+	/**
+	 * Return the current contents of the class loader resource with the given name.
+	 * @param name the name of the resource
+	 * @return the contents or {@code null} if there is no such resource
+	 * @throws IOException on IO error
+	 * @since 2.1.0
+	 */
+	public byte[] getResourceContents(String name) throws IOException {
+		URL url = this.classLoader.getResource(name);
+		if (url == null) {
+			return null;
+		}
+		try (InputStream inputStream = url.openStream()) {
+			return FileCopyUtils.copyToByteArray(inputStream);
+		}
+	}
+
 	private boolean updateFileSystem(URL url, String name,
 			ClassLoaderFile classLoaderFile) {
 		if (!isFolderUrl(url.toString())) {
@@ -176,7 +195,17 @@ public class RestartServer {
 		Restarter restarter = Restarter.getInstance();
 		restarter.addUrls(urls);
 		restarter.addClassLoaderFiles(files);
-		restarter.restart();
+		restarter.restart(FailureHandler.NONE, getChangedResourceNames(files));
+	}
+
+	private Set<String> getChangedResourceNames(ClassLoaderFiles files) {
+		Set<String> changedResourceNames = new LinkedHashSet<>();
+		for (SourceFolder folder : files.getSourceFolders()) {
+			for (Entry<String, ClassLoaderFile> entry : folder.getFilesEntrySet()) {
+				changedResourceNames.add(entry.getKey());
+			}
+		}
+		return changedResourceNames;
 	}
 
 }
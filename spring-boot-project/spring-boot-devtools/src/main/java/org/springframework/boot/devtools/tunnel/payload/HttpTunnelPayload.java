@@ -16,12 +16,19 @@
 
 package org.springframework.boot.devtools.tunnel.payload;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -31,6 +38,7 @@ import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -43,8 +51,12 @@ public class HttpTunnelPayload {
 
 	private static final String SEQ_HEADER = "x-seq";
 
+	private static final String GZIP_ENCODING = "gzip";
+
 	private static final int BUFFER_SIZE = 1024 * 100;
 
+	private static final int MAXIMUM_DECOMPRESSED_SIZE = 1024 * 1024 * 4;
+
 	protected static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
 
 	private static final Log logger = LogFactory.getLog(HttpTunnelPayload.class);
@@ -73,22 +85,68 @@ public class HttpTunnelPayload {
 		return this.sequence;
 	}
 
+	/**
+	 * Return the payload data.
+	 * @return the data
+	 */
+	ByteBuffer getData() {
+		return this.data;
+	}
+
 	/**
 	 * Assign this payload to the given {@link HttpOutputMessage}.
 	 * @param message the message to assign this payload to
 	 * @throws IOException in case of I/O errors
 	 */
 	public void assignTo(HttpOutputMessage message) throws IOException {
+		assignTo(message, -1);
+	}
+
+	/**
+	 * Assign this payload to the given {@link HttpOutputMessage}, compressing it if it is
+	 * at least {@code compressionThreshold} bytes long and compression reduces its size.
+	 * @param message the message to assign this payload to
+	 * @param compressionThreshold the minimum size of a payload to compress or a negative
+	 * value to never compress
+	 * @throws IOException in case of I/O errors
+	 * @since 2.1.0
+	 */
+	public void assignTo(HttpOutputMessage message, int compressionThreshold)
+			throws IOException {
 		Assert.notNull(message, "Message must not be null");
 		HttpHeaders headers = message.getHeaders();
-		headers.setContentLength(this.data.remaining());
+		ByteBuffer compressed = compress(this.data, compressionThreshold);
+		ByteBuffer body = (compressed != null) ? compressed : this.data;
+		if (compressed != null) {
+			headers.set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+		}
+		headers.setContentLength(body.remaining());
 		headers.add(SEQ_HEADER, Long.toString(getSequence()));
 		headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-		WritableByteChannel body = Channels.newChannel(message.getBody());
-		while (this.data.hasRemaining()) {
-			body.write(this.data);
+		WritableByteChannel channel = Channels.newChannel(message.getBody());
+		while (body.hasRemaining()) {
+			channel.write(body);
 		}
-		body.close();
+		channel.close();
+		if (compressed != null) {
+			this.data.position(this.data.limit());
+		}
+	}
+
+	private static ByteBuffer compress(ByteBuffer data, int compressionThreshold)
+			throws IOException {
+		int size = data.remaining();
+		if (compressionThreshold < 0 || size < compressionThreshold || !data.hasArray()) {
+			return null;
+		}
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(size / 2);
+		try (GZIPOutputStream outputStream = new FastGzipOutputStream(compressed)) {
+			outputStream.write(data.array(), data.arrayOffset() + data.position(), size);
+		}
+		if (compressed.size() >= size) {
+			return null;
+		}
+		return ByteBuffer.wrap(compressed.toByteArray());
 	}
 
 	/**
@@ -105,7 +163,8 @@ public class HttpTunnelPayload {
 
 	/**
 	 * Return the {@link HttpTunnelPayload} for the given message or {@code null} if there
-	 * is no payload.
+	 * is no payload. A compressed payload is rejected if it decompresses to more than
+	 * 4MB.
 	 * @param message the HTTP message
 	 * @return the payload or {@code null}
 	 * @throws IOException in case of I/O errors
@@ -120,13 +179,33 @@ public class HttpTunnelPayload {
 		ReadableByteChannel body = Channels.newChannel(message.getBody());
 		ByteBuffer payload = ByteBuffer.allocate((int) length);
 		while (payload.hasRemaining()) {
-			body.read(payload);
+			Assert.state(body.read(payload) != -1, "Incomplete payload");
 		}
 		body.close();
 		payload.flip();
+		if (GZIP_ENCODING.equalsIgnoreCase(
+				message.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+			payload = decompress(payload);
+		}
 		return new HttpTunnelPayload(Long.valueOf(seqHeader), payload);
 	}
 
+	private static ByteBuffer decompress(ByteBuffer data) throws IOException {
+		ByteArrayOutputStream decompressed = new ByteArrayOutputStream(
+				Math.min(data.remaining(), MAXIMUM_DECOMPRESSED_SIZE / 4) * 4);
+		try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(
+				data.array(), data.arrayOffset() + data.position(), data.remaining()))) {
+			byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+			int bytesRead;
+			while ((bytesRead = inputStream.read(buffer)) != -1) {
+				Assert.state(decompressed.size() + bytesRead <= MAXIMUM_DECOMPRESSED_SIZE,
+						"Decompressed payload is too large");
+				decompressed.write(buffer, 0, bytesRead);
+			}
+		}
+		return ByteBuffer.wrap(decompressed.toByteArray());
+	}
+
 	/**
 	 * Return the payload data for the given source {@link ReadableByteChannel} or null if
 	 * the channel timed out whilst reading.
@@ -183,4 +262,17 @@ public class HttpTunnelPayload {
 		return new String(hex);
 	}
 
+	/**
+	 * {@link GZIPOutputStream} that favors speed over compression ratio so that
+	 * compressing a payload costs less than sending it uncompressed.
+	 */
+	private static class FastGzipOutputStream extends GZIPOutputStream {
+
+		FastGzipOutputStream(OutputStream outputStream) throws IOException {
+			super(outputStream);
+			this.def.setLevel(Deflater.BEST_SPEED);
+		}
+
+	}
+
 }
@@ -17,15 +17,20 @@
 package org.springframework.boot.devtools.tunnel.payload;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.util.Assert;
 
 /**
  * Utility class that forwards {@link HttpTunnelPayload} instances to a destination
- * channel, respecting sequence order.
+ * channel, respecting sequence order. Payloads that arrive before their predecessors are
+ * queued and all payloads that become ready are written to the channel together.
  *
  * @author Phillip Webb
  * @since 1.3.0
@@ -60,13 +65,33 @@ public class HttpTunnelPayloadForwarder {
 				this.queue.put(seq, payload);
 				return;
 			}
+			List<HttpTunnelPayload> ready = new ArrayList<>();
+			while (payload != null) {
+				ready.add(payload);
+				this.lastRequestSeq = payload.getSequence();
+				payload = this.queue.remove(this.lastRequestSeq + 1);
+			}
+			writeTo(ready);
+		}
+	}
+
+	private void writeTo(List<HttpTunnelPayload> payloads) throws IOException {
+		for (HttpTunnelPayload payload : payloads) {
 			payload.logOutgoing();
-			payload.writeTo(this.targetChannel);
-			this.lastRequestSeq = seq;
-			HttpTunnelPayload queuedItem = this.queue.get(seq + 1);
-			if (queuedItem != null) {
-				forward(queuedItem);
+		}
+		if (payloads.size() > 1 && this.targetChannel instanceof GatheringByteChannel) {
+			ByteBuffer[] data = new ByteBuffer[payloads.size()];
+			for (int i = 0; i < data.length; i++) {
+				data[i] = payloads.get(i).getData();
+			}
+			GatheringByteChannel channel = (GatheringByteChannel) this.targetChannel;
+			while (data[data.length - 1].hasRemaining()) {
+				channel.write(data);
 			}
+			return;
+		}
+		for (HttpTunnelPayload payload : payloads) {
+			payload.writeTo(this.targetChannel);
 		}
 	}
 
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.devtools.tunnel.server;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.ConnectException;
 import java.nio.ByteBuffer;
@@ -62,8 +63,11 @@ import org.springframework.util.Assert;
  *     .                               .
  * </pre>
  *
- * Each incoming request is held open to be used to carry the next available response. The
- * server will hold at most two connections open at any given time.
+ * Each incoming request is held open to be used to carry the next available response. By
+ * default, the server will hold at most two connections open at any given time. Allowing
+ * more connections to be held lets several responses be in flight at once. Data that
+ * arrives from the target server whilst no connection is available is batched into a
+ * single response.
  * <p>
  * Requests should be made using HTTP GET or POST (depending if there is a payload), with
  * any payload contained in the body. The following response codes can be returned from
@@ -99,7 +103,10 @@ import org.springframework.util.Assert;
  * Requests and responses that contain payloads include a {@code x-seq} header that
  * contains a running sequence number (used to ensure data is applied in the correct
  * order). The first request containing a payload should have a {@code x-seq} value of
- * {@code 1}.
+ * {@code 1}. When a {@link #setCompressionThreshold(int) compression threshold} is set,
+ * larger response payloads may be compressed, in which case they have a
+ * {@code Content-Encoding} header of {@code gzip}. Request payloads with such a header
+ * are decompressed.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -112,6 +119,10 @@ public class HttpTunnelServer {
 
 	private static final long DEFAULT_DISCONNECT_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
 
+	private static final int DEFAULT_MAX_HTTP_CONNECTIONS = 2;
+
+	private static final int MAXIMUM_PENDING_DATA = 1024 * 1024;
+
 	private static final MediaType DISCONNECT_MEDIA_TYPE = new MediaType("application",
 			"x-disconnect");
 
@@ -123,6 +134,10 @@ public class HttpTunnelServer {
 
 	private long disconnectTimeout = DEFAULT_DISCONNECT_TIMEOUT;
 
+	private int maxHttpConnections = DEFAULT_MAX_HTTP_CONNECTIONS;
+
+	private int compressionThreshold = -1;
+
 	private volatile ServerThread serverThread;
 
 	/**
@@ -204,6 +219,31 @@ public class HttpTunnelServer {
 		this.disconnectTimeout = disconnectTimeout;
 	}
 
+	/**
+	 * Set the maximum number of HTTP connections that are held open waiting for data from
+	 * the target server. Older connections are closed with a
+	 * {@link HttpStatus#TOO_MANY_REQUESTS} response when the maximum is exceeded.
+	 * @param maxHttpConnections the maximum number of held connections
+	 * @since 2.1.0
+	 */
+	public void setMaxHttpConnections(int maxHttpConnections) {
+		Assert.isTrue(maxHttpConnections > 0,
+				"MaxHttpConnections must be a positive value");
+		this.maxHttpConnections = maxHttpConnections;
+	}
+
+	/**
+	 * Set the minimum size of a response payload for it to be compressed. Payloads are
+	 * only compressed when doing so reduces their size. By default, payloads are never
+	 * compressed.
+	 * @param compressionThreshold the minimum size in bytes or a negative value to
+	 * disable compression
+	 * @since 2.1.0
+	 */
+	public void setCompressionThreshold(int compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+
 	/**
 	 * The main server thread used to transfer tunnel traffic.
 	 */
@@ -215,6 +255,8 @@ public class HttpTunnelServer {
 
 		private final HttpTunnelPayloadForwarder payloadForwarder;
 
+		private final ByteArrayOutputStream pendingData = new ByteArrayOutputStream();
+
 		private boolean closed;
 
 		private AtomicLong responseSeq = new AtomicLong();
@@ -224,7 +266,8 @@ public class HttpTunnelServer {
 		public ServerThread(ByteChannel targetServer) {
 			Assert.notNull(targetServer, "TargetServer must not be null");
 			this.targetServer = targetServer;
-			this.httpConnections = new ArrayDeque<>(2);
+			this.httpConnections = new ArrayDeque<>(
+					HttpTunnelServer.this.maxHttpConnections);
 			this.payloadForwarder = new HttpTunnelPayloadForwarder(targetServer);
 		}
 
@@ -251,21 +294,41 @@ public class HttpTunnelServer {
 				closeStaleHttpConnections();
 				ByteBuffer data = HttpTunnelPayload.getPayloadData(this.targetServer);
 				synchronized (this.httpConnections) {
-					if (data != null) {
-						HttpTunnelPayload payload = new HttpTunnelPayload(
-								this.responseSeq.incrementAndGet(), data);
-						payload.logIncoming();
-						HttpConnection connection = getOrWaitForHttpConnection();
-						connection.respond(payload);
+					if (data != null && data.hasRemaining()) {
+						this.pendingData.write(data.array(),
+								data.arrayOffset() + data.position(), data.remaining());
+						respondWithPendingData();
+						while (this.pendingData.size() >= MAXIMUM_PENDING_DATA
+								&& this.targetServer.isOpen()) {
+							waitForHttpConnection();
+							respondWithPendingData();
+						}
 					}
 				}
 			}
 		}
 
-		private HttpConnection getOrWaitForHttpConnection() {
+		private void respondWithPendingData() throws IOException {
 			synchronized (this.httpConnections) {
+				if (this.pendingData.size() == 0) {
+					return;
+				}
 				HttpConnection httpConnection = this.httpConnections.pollFirst();
-				while (httpConnection == null) {
+				if (httpConnection != null) {
+					ByteBuffer data = ByteBuffer.wrap(this.pendingData.toByteArray());
+					this.pendingData.reset();
+					HttpTunnelPayload payload = new HttpTunnelPayload(
+							this.responseSeq.incrementAndGet(), data);
+					payload.logIncoming();
+					httpConnection.respond(payload,
+							HttpTunnelServer.this.compressionThreshold);
+				}
+			}
+		}
+
+		private void waitForHttpConnection() {
+			synchronized (this.httpConnections) {
+				if (this.httpConnections.isEmpty()) {
 					try {
 						this.httpConnections.wait(HttpTunnelServer.this.longPollTimeout);
 					}
@@ -273,9 +336,7 @@ public class HttpTunnelServer {
 						Thread.currentThread().interrupt();
 						closeHttpConnections();
 					}
-					httpConnection = this.httpConnections.pollFirst();
 				}
-				return httpConnection;
 			}
 		}
 
@@ -335,7 +396,8 @@ public class HttpTunnelServer {
 				httpConnection.respond(HttpStatus.GONE);
 			}
 			synchronized (this.httpConnections) {
-				while (this.httpConnections.size() > 1) {
+				while (this.httpConnections
+						.size() >= HttpTunnelServer.this.maxHttpConnections) {
 					this.httpConnections.removeFirst()
 							.respond(HttpStatus.TOO_MANY_REQUESTS);
 				}
@@ -344,6 +406,7 @@ public class HttpTunnelServer {
 				this.httpConnections.notify();
 			}
 			forwardToTargetServer(httpConnection);
+			respondWithPendingData();
 		}
 
 		private void forwardToTargetServer(HttpConnection httpConnection)
@@ -472,9 +535,22 @@ public class HttpTunnelServer {
 		 * @throws IOException in case of I/O errors
 		 */
 		public void respond(HttpTunnelPayload payload) throws IOException {
+			respond(payload, -1);
+		}
+
+		/**
+		 * Send a payload response, compressing it if it is large enough.
+		 * @param payload the payload to send
+		 * @param compressionThreshold the minimum size of a payload to compress or a
+		 * negative value to never compress
+		 * @throws IOException in case of I/O errors
+		 * @since 2.1.0
+		 */
+		public void respond(HttpTunnelPayload payload, int compressionThreshold)
+				throws IOException {
 			Assert.notNull(payload, "Payload must not be null");
 			this.response.setStatusCode(HttpStatus.OK);
-			payload.assignTo(this.response);
+			payload.assignTo(this.response, compressionThreshold);
 			complete();
 		}
 
@@ -18,9 +18,12 @@ package org.springframework.boot.devtools.autoconfigure;
 
 import java.io.File;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.catalina.Container;
 import org.apache.catalina.core.StandardWrapper;
@@ -39,8 +42,12 @@ import org.springframework.boot.autoconfigure.web.ResourceProperties;
 import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
 import org.springframework.boot.devtools.classpath.ClassPathChangedEvent;
 import org.springframework.boot.devtools.classpath.ClassPathFileSystemWatcher;
+import org.springframework.boot.devtools.filewatch.ChangedFile;
+import org.springframework.boot.devtools.filewatch.ChangedFile.Type;
+import org.springframework.boot.devtools.filewatch.ChangedFiles;
 import org.springframework.boot.devtools.livereload.LiveReloadServer;
 import org.springframework.boot.devtools.restart.FailureHandler;
+import org.springframework.boot.devtools.restart.IncrementalRestartBeanFactoryPostProcessor;
 import org.springframework.boot.devtools.restart.MockRestartInitializer;
 import org.springframework.boot.devtools.restart.MockRestarter;
 import org.springframework.boot.devtools.restart.Restarter;
@@ -57,6 +64,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -178,7 +186,24 @@ public class LocalDevToolsAutoConfigurationTests {
 		ClassPathChangedEvent event = new ClassPathChangedEvent(this.context,
 				Collections.emptySet(), true);
 		this.context.publishEvent(event);
-		verify(this.mockRestarter.getMock()).restart(any(FailureHandler.class));
+		verify(this.mockRestarter.getMock()).restart(any(FailureHandler.class), any());
+	}
+
+	@Test
+	public void restartTriggeredOnClassPathChangeWithChangedResourceNames() {
+		this.context = initializeAndRun(Config.class);
+		File sourceFolder = new File("target/classes").getAbsoluteFile();
+		ChangedFile changedClass = new ChangedFile(sourceFolder,
+				new File(sourceFolder, "com/example/Sample.class"), Type.MODIFY);
+		ChangedFile changedProperties = new ChangedFile(sourceFolder,
+				new File(sourceFolder, "application.properties"), Type.MODIFY);
+		Set<ChangedFiles> changeSet = Collections.singleton(new ChangedFiles(sourceFolder,
+				new LinkedHashSet<>(Arrays.asList(changedClass, changedProperties))));
+		this.context
+				.publishEvent(new ClassPathChangedEvent(this.context, changeSet, true));
+		verify(this.mockRestarter.getMock()).restart(any(FailureHandler.class),
+				eq(new LinkedHashSet<>(Arrays.asList("com/example/Sample.class",
+						"application.properties"))));
 	}
 
 	@Test
@@ -188,6 +213,40 @@ public class LocalDevToolsAutoConfigurationTests {
 				Collections.emptySet(), false);
 		this.context.publishEvent(event);
 		verify(this.mockRestarter.getMock(), never()).restart();
+		verify(this.mockRestarter.getMock(), never()).restart(any(FailureHandler.class),
+				any());
+	}
+
+	@Test
+	public void incrementalRestartDisabledByDefault() {
+		this.context = initializeAndRun(Config.class);
+		assertThat(this.context
+				.getBeansOfType(IncrementalRestartBeanFactoryPostProcessor.class))
+						.isEmpty();
+	}
+
+	@Test
+	public void incrementalRestartEnabled() {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("spring.devtools.restart.incremental", true);
+		properties.put("spring.devtools.restart.preserved-types", "com.example.Missing");
+		this.context = initializeAndRun(Config.class, properties);
+		IncrementalRestartBeanFactoryPostProcessor postProcessor = this.context
+				.getBean(IncrementalRestartBeanFactoryPostProcessor.class);
+		assertThat(ReflectionTestUtils.getField(postProcessor, "preservedTypeNames"))
+				.asList().containsExactly("com.example.Missing");
+	}
+
+	@Test
+	public void incrementalRestartExcludesDataSourceWhenAlwaysInitialized() {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("spring.devtools.restart.incremental", true);
+		properties.put("spring.datasource.initialization-mode", "always");
+		this.context = initializeAndRun(Config.class, properties);
+		IncrementalRestartBeanFactoryPostProcessor postProcessor = this.context
+				.getBean(IncrementalRestartBeanFactoryPostProcessor.class);
+		assertThat(ReflectionTestUtils.getField(postProcessor, "excludedTypeNames"))
+				.asList().contains("javax.sql.DataSource");
 	}
 
 	@Test
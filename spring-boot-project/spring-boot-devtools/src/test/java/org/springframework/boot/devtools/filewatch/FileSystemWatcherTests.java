@@ -156,6 +156,27 @@ public class FileSystemWatcherTests {
 		assertThat(changedFiles.getFiles()).contains(expected);
 	}
 
+	@Test
+	public void createSourceFolderDuringQuietPeriod() throws Exception {
+		setupWatcher(300, 200);
+		File existing = this.temp.newFolder();
+		File missing = new File(this.temp.getRoot(), "does/not/exist");
+		this.watcher.addSourceFolder(existing);
+		this.watcher.addSourceFolder(missing);
+		this.watcher.start();
+		File existingFile = touch(new File(existing, "test1.txt"));
+		// Wait for the quiet period that follows the one triggered by the change
+		Thread.sleep(300);
+		File missingFile = touch(new File(missing, "test2.txt"));
+		this.watcher.stopAfter(1);
+		Set<ChangedFile> changedFiles = new HashSet<>();
+		this.changes.forEach((changeSet) -> changeSet
+				.forEach((changed) -> changedFiles.addAll(changed.getFiles())));
+		assertThat(changedFiles).contains(
+				new ChangedFile(existing, existingFile, Type.ADD),
+				new ChangedFile(missing, missingFile, Type.ADD));
+	}
+
 	@Test
 	public void waitsForPollingInterval() throws Exception {
 		setupWatcher(10, 1);
@@ -276,12 +297,17 @@ public class FileSystemWatcherTests {
 	}
 
 	private void setupWatcher(long pollingInterval, long quietPeriod) {
-		this.watcher = new FileSystemWatcher(false, Duration.ofMillis(pollingInterval),
+		this.watcher = createWatcher(Duration.ofMillis(pollingInterval),
 				Duration.ofMillis(quietPeriod));
 		this.watcher.addListener(
 				(changeSet) -> FileSystemWatcherTests.this.changes.add(changeSet));
 	}
 
+	protected FileSystemWatcher createWatcher(Duration pollingInterval,
+			Duration quietPeriod) {
+		return new FileSystemWatcher(false, pollingInterval, quietPeriod);
+	}
+
 	private File startWithNewFolder() throws IOException {
 		File folder = this.temp.newFolder();
 		this.watcher.addSourceFolder(folder);
@@ -18,6 +18,8 @@ package org.springframework.boot.devtools.filewatch;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -143,6 +145,70 @@ public class FolderSnapshotTests {
 		assertThat(getChangedFile(changedFiles, newFile).getType()).isEqualTo(Type.ADD);
 	}
 
+	@Test
+	public void updateWhenAFileIsAddedAndDeletedAndChanged() throws Exception {
+		File folder1 = new File(this.folder, "folder1");
+		File file1 = new File(folder1, "file1");
+		File file2 = new File(folder1, "file2");
+		File newFile = new File(folder1, "newfile");
+		FileCopyUtils.copy("updatedcontent".getBytes(), file1);
+		file2.delete();
+		newFile.createNewFile();
+		FolderSnapshot updatedSnapshot = this.initialSnapshot
+				.update(Arrays.asList(file1, file2, newFile));
+		assertThat(updatedSnapshot).isEqualTo(new FolderSnapshot(this.folder));
+		ChangedFiles changedFiles = this.initialSnapshot.getChangedFiles(updatedSnapshot,
+				null);
+		assertThat(getChangedFile(changedFiles, file1).getType()).isEqualTo(Type.MODIFY);
+		assertThat(getChangedFile(changedFiles, file2).getType()).isEqualTo(Type.DELETE);
+		assertThat(getChangedFile(changedFiles, newFile).getType()).isEqualTo(Type.ADD);
+	}
+
+	@Test
+	public void updateWhenAFolderIsAdded() throws Exception {
+		File folder2 = new File(this.folder, "folder2");
+		File file = new File(new File(folder2, "nested"), "file");
+		file.getParentFile().mkdirs();
+		file.createNewFile();
+		FolderSnapshot updatedSnapshot = this.initialSnapshot
+				.update(Collections.singleton(folder2));
+		assertThat(updatedSnapshot).isEqualTo(new FolderSnapshot(this.folder));
+		ChangedFiles changedFiles = this.initialSnapshot.getChangedFiles(updatedSnapshot,
+				null);
+		assertThat(changedFiles.getFiles()).hasSize(1);
+		assertThat(getChangedFile(changedFiles, file).getType()).isEqualTo(Type.ADD);
+	}
+
+	@Test
+	public void updateWhenAFolderIsDeleted() throws Exception {
+		File folder1 = new File(this.folder, "folder1");
+		for (File file : folder1.listFiles()) {
+			file.delete();
+		}
+		folder1.delete();
+		FolderSnapshot updatedSnapshot = this.initialSnapshot
+				.update(Collections.singleton(folder1));
+		assertThat(updatedSnapshot).isEqualTo(new FolderSnapshot(this.folder));
+		ChangedFiles changedFiles = this.initialSnapshot.getChangedFiles(updatedSnapshot,
+				null);
+		assertThat(changedFiles.getFiles()).hasSize(2);
+	}
+
+	@Test
+	public void updateOnlyReadsChangedFiles() throws Exception {
+		File folder1 = new File(this.folder, "folder1");
+		File file1 = new File(folder1, "file1");
+		File file2 = new File(folder1, "file2");
+		FileCopyUtils.copy("updatedcontent".getBytes(), file1);
+		FileCopyUtils.copy("updatedcontent".getBytes(), file2);
+		FolderSnapshot updatedSnapshot = this.initialSnapshot
+				.update(Collections.singleton(file1));
+		ChangedFiles changedFiles = this.initialSnapshot.getChangedFiles(updatedSnapshot,
+				null);
+		assertThat(changedFiles.getFiles()).hasSize(1);
+		assertThat(getChangedFile(changedFiles, file1).getType()).isEqualTo(Type.MODIFY);
+	}
+
 	private ChangedFile getChangedFile(ChangedFiles changedFiles, File file) {
 		for (ChangedFile changedFile : changedFiles) {
 			if (changedFile.getFile().equals(file)) {
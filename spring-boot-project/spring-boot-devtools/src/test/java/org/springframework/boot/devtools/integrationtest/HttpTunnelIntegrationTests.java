@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -94,6 +94,26 @@ public class HttpTunnelIntegrationTests {
 		tunnelContext.close();
 	}
 
+	@Test
+	public void largeResponseViaTunnel() {
+		AnnotationConfigServletWebServerApplicationContext serverContext = new AnnotationConfigServletWebServerApplicationContext();
+		serverContext.register(ServerConfiguration.class);
+		serverContext.refresh();
+		AnnotationConfigApplicationContext tunnelContext = new AnnotationConfigApplicationContext();
+		TestPropertyValues.of("server.port:" + serverContext.getWebServer().getPort())
+				.applyTo(tunnelContext);
+		tunnelContext.register(TunnelConfiguration.class);
+		tunnelContext.refresh();
+		String url = "http://localhost:"
+				+ tunnelContext.getBean(TestTunnelClient.class).port + "/large";
+		ResponseEntity<String> entity = new TestRestTemplate().getForEntity(url,
+				String.class);
+		assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(entity.getBody()).isEqualTo(MyController.largeContent());
+		serverContext.close();
+		tunnelContext.close();
+	}
+
 	@Configuration
 	@EnableWebMvc
 	static class ServerConfiguration {
@@ -119,6 +139,7 @@ public class HttpTunnelIntegrationTests {
 			TargetServerConnection connection = new SocketTargetServerConnection(
 					() -> context.getWebServer().getPort());
 			HttpTunnelServer server = new HttpTunnelServer(connection);
+			server.setCompressionThreshold(1024);
 			HandlerMapper mapper = new UrlHandlerMapper("/httptunnel",
 					new HttpTunnelServerHandler(server));
 			Collection<HandlerMapper> mappers = Collections.singleton(mapper);
@@ -164,6 +185,19 @@ public class HttpTunnelIntegrationTests {
 			return "Hello World";
 		}
 
+		@RequestMapping("/large")
+		public String large() {
+			return largeContent();
+		}
+
+		static String largeContent() {
+			StringBuilder content = new StringBuilder();
+			for (int i = 0; i < 20000; i++) {
+				content.append("Hello World ").append(i).append("\n");
+			}
+			return content.toString();
+		}
+
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,8 @@
 
 package org.springframework.boot.devtools.livereload;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import org.junit.Rule;
@@ -94,7 +94,7 @@ public class FrameTests {
 		byte[] bytes = new byte[] { 0x0F };
 		this.thrown.expect(IllegalStateException.class);
 		this.thrown.expectMessage("Fragmented frames are not supported");
-		Frame.read(newConnectionInputStream(bytes));
+		Frame.read(ByteBuffer.wrap(bytes));
 	}
 
 	@Test
@@ -102,13 +102,13 @@ public class FrameTests {
 		byte[] bytes = new byte[] { (byte) 0x80, (byte) 0xFF };
 		this.thrown.expect(IllegalStateException.class);
 		this.thrown.expectMessage("Large frames are not supported");
-		Frame.read(newConnectionInputStream(bytes));
+		Frame.read(ByteBuffer.wrap(bytes));
 	}
 
 	@Test
 	public void readSmallTextFrame() throws Exception {
 		byte[] bytes = new byte[] { (byte) 0x81, (byte) 0x02, 0x41, 0x41 };
-		Frame frame = Frame.read(newConnectionInputStream(bytes));
+		Frame frame = Frame.read(ByteBuffer.wrap(bytes));
 		assertThat(frame.getType()).isEqualTo(Frame.Type.TEXT);
 		assertThat(frame.getPayload()).isEqualTo(new byte[] { 0x41, 0x41 });
 	}
@@ -117,7 +117,7 @@ public class FrameTests {
 	public void readMaskedTextFrame() throws Exception {
 		byte[] bytes = new byte[] { (byte) 0x81, (byte) 0x82, 0x0F, 0x0F, 0x0F, 0x0F,
 				0x4E, 0x4E };
-		Frame frame = Frame.read(newConnectionInputStream(bytes));
+		Frame frame = Frame.read(ByteBuffer.wrap(bytes));
 		assertThat(frame.getType()).isEqualTo(Frame.Type.TEXT);
 		assertThat(frame.getPayload()).isEqualTo(new byte[] { 0x41, 0x41 });
 	}
@@ -134,50 +134,63 @@ public class FrameTests {
 		bytes[5] = 0x0F;
 		bytes[6] = 0x0F;
 		bytes[7] = 0x0F;
-		Frame frame = Frame.read(newConnectionInputStream(bytes));
+		Frame frame = Frame.read(ByteBuffer.wrap(bytes));
 		assertThat(frame.getType()).isEqualTo(Frame.Type.TEXT);
 		assertThat(frame.getPayload()).isEqualTo(createString(126).getBytes());
 	}
 
+	@Test
+	public void readIncompleteFrame() throws Exception {
+		ByteBuffer buffer = ByteBuffer
+				.wrap(new byte[] { (byte) 0x81, (byte) 0x02, 0x41 });
+		assertThat(Frame.read(buffer)).isNull();
+		assertThat(buffer.position()).isEqualTo(0);
+	}
+
+	@Test
+	public void readMultipleFrames() throws Exception {
+		ByteBuffer buffer = ByteBuffer.wrap(
+				new byte[] { (byte) 0x89, (byte) 0x00, (byte) 0x81, (byte) 0x01, 0x41 });
+		assertThat(Frame.read(buffer).getType()).isEqualTo(Frame.Type.PING);
+		assertThat(Frame.read(buffer).getPayload()).isEqualTo(new byte[] { 0x41 });
+		assertThat(buffer.hasRemaining()).isFalse();
+	}
+
 	@Test
 	public void readContinuation() throws Exception {
 		byte[] bytes = new byte[] { (byte) 0x80, (byte) 0x00 };
-		Frame frame = Frame.read(newConnectionInputStream(bytes));
+		Frame frame = Frame.read(ByteBuffer.wrap(bytes));
 		assertThat(frame.getType()).isEqualTo(Frame.Type.CONTINUATION);
 	}
 
 	@Test
 	public void readBinary() throws Exception {
 		byte[] bytes = new byte[] { (byte) 0x82, (byte) 0x00 };
-		Frame frame = Frame.read(newConnectionInputStream(bytes));
+		Frame frame = Frame.read(ByteBuffer.wrap(bytes));
 		assertThat(frame.getType()).isEqualTo(Frame.Type.BINARY);
 	}
 
 	@Test
 	public void readClose() throws Exception {
 		byte[] bytes = new byte[] { (byte) 0x88, (byte) 0x00 };
-		Frame frame = Frame.read(newConnectionInputStream(bytes));
+		Frame frame = Frame.read(ByteBuffer.wrap(bytes));
 		assertThat(frame.getType()).isEqualTo(Frame.Type.CLOSE);
 	}
 
 	@Test
 	public void readPing() throws Exception {
 		byte[] bytes = new byte[] { (byte) 0x89, (byte) 0x00 };
-		Frame frame = Frame.read(newConnectionInputStream(bytes));
+		Frame frame = Frame.read(ByteBuffer.wrap(bytes));
 		assertThat(frame.getType()).isEqualTo(Frame.Type.PING);
 	}
 
 	@Test
 	public void readPong() throws Exception {
 		byte[] bytes = new byte[] { (byte) 0x8A, (byte) 0x00 };
-		Frame frame = Frame.read(newConnectionInputStream(bytes));
+		Frame frame = Frame.read(ByteBuffer.wrap(bytes));
 		assertThat(frame.getType()).isEqualTo(Frame.Type.PONG);
 	}
 
-	private ConnectionInputStream newConnectionInputStream(byte[] bytes) {
-		return new ConnectionInputStream(new ByteArrayInputStream(bytes));
-	}
-
 	private String createString(int length) {
 		char[] chars = new char[length];
 		Arrays.fill(chars, 'A');
@@ -17,9 +17,9 @@
 package org.springframework.boot.devtools.livereload;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URI;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -90,6 +90,22 @@ public class LiveReloadServerTests {
 		assertThat(handler.getMessages().get(1)).contains("command\":\"reload\"");
 	}
 
+	@Test
+	public void triggerReloadWithMultipleConnections() throws Exception {
+		List<LiveReloadWebSocketHandler> handlers = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			handlers.add(connect());
+		}
+		this.server.triggerReload();
+		Thread.sleep(200);
+		for (LiveReloadWebSocketHandler handler : handlers) {
+			assertThat(handler.getMessages().get(1)).contains("command\":\"reload\"");
+		}
+		assertThat(Thread.getAllStackTraces().keySet())
+				.filteredOn((thread) -> thread.getName().startsWith("Live Reload"))
+				.hasSize(1);
+	}
+
 	@Test
 	public void pingPong() throws Exception {
 		LiveReloadWebSocketHandler handler = connect();
@@ -123,6 +139,17 @@ public class LiveReloadServerTests {
 		assertThat(handler.getCloseStatus().getCode()).isEqualTo(1006);
 	}
 
+	@Test
+	public void acceptFailureDoesNotStopServer() throws Exception {
+		this.server.failNextAccept();
+		LiveReloadWebSocketHandler handler = connect();
+		assertThat(this.server.getAcceptFailures()).isEqualTo(1);
+		this.server.triggerReload();
+		Thread.sleep(200);
+		assertThat(handler.getMessages().get(1)).contains("command\":\"reload\"");
+		assertThat(this.server.isStarted()).isTrue();
+	}
+
 	private LiveReloadWebSocketHandler connect() throws Exception {
 		WebSocketClient client = new StandardWebSocketClient(new WsWebSocketContainer());
 		LiveReloadWebSocketHandler handler = new LiveReloadWebSocketHandler();
@@ -159,14 +186,35 @@ public class LiveReloadServerTests {
 
 		private final Object monitor = new Object();
 
+		private volatile boolean failNextAccept;
+
+		private volatile int acceptFailures;
+
 		MonitoredLiveReloadServer(int port) {
 			super(port);
 		}
 
 		@Override
-		protected Connection createConnection(java.net.Socket socket,
-				InputStream inputStream, OutputStream outputStream) throws IOException {
-			return new MonitoredConnection(socket, inputStream, outputStream);
+		SocketChannel accept(ServerSocketChannel serverChannel) throws IOException {
+			if (this.failNextAccept) {
+				this.failNextAccept = false;
+				this.acceptFailures++;
+				throw new IOException("Too many open files");
+			}
+			return super.accept(serverChannel);
+		}
+
+		public void failNextAccept() {
+			this.failNextAccept = true;
+		}
+
+		public int getAcceptFailures() {
+			return this.acceptFailures;
+		}
+
+		@Override
+		Connection createConnection(SocketChannel channel) throws IOException {
+			return new MonitoredConnection(channel);
 		}
 
 		public List<ConnectionClosedException> getClosedExceptions() {
@@ -177,15 +225,14 @@ public class LiveReloadServerTests {
 
 		private class MonitoredConnection extends Connection {
 
-			MonitoredConnection(java.net.Socket socket, InputStream inputStream,
-					OutputStream outputStream) throws IOException {
-				super(socket, inputStream, outputStream);
+			MonitoredConnection(SocketChannel channel) {
+				super(channel);
 			}
 
 			@Override
-			public void run() throws Exception {
+			public void read() throws Exception {
 				try {
-					super.run();
+					super.read();
 				}
 				catch (ConnectionClosedException ex) {
 					synchronized (MonitoredLiveReloadServer.this.monitor) {
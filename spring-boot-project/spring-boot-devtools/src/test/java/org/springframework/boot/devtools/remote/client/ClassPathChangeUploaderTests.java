@@ -19,7 +19,6 @@ package org.springframework.boot.devtools.remote.client;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.net.ConnectException;
 import java.util.Collection;
 import java.util.Iterator;
@@ -40,8 +39,12 @@ import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles.SourceFolder;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesPayload;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesPayload.MissingContentException;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesPayload.ResourceResolver;
 import org.springframework.boot.devtools.test.MockClientHttpRequestFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.util.FileCopyUtils;
 
@@ -123,8 +126,51 @@ public class ClassPathChangeUploaderTests {
 				this.requestFactory.getExecutedRequests().get(1));
 	}
 
+	@Test
+	public void sendsReferenceForContentsThatHaveAlreadyBeenUploaded() throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.OK, HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		this.uploader.onApplicationEvent(event);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(2);
+		MockClientHttpRequest request = this.requestFactory.getExecutedRequests().get(1);
+		this.thrown.expect(MissingContentException.class);
+		deserialize(request.getBodyAsBytes());
+	}
+
+	@Test
+	public void resolvesReferenceForContentsThatHaveAlreadyBeenUploaded()
+			throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.OK, HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		this.uploader.onApplicationEvent(event);
+		MockClientHttpRequest request = this.requestFactory.getExecutedRequests().get(1);
+		ClassLoaderFiles classLoaderFiles = deserialize(request.getBodyAsBytes(),
+				(name) -> name.getBytes());
+		assertThat(classLoaderFiles.getFile("File1").getContents())
+				.isEqualTo("File1".getBytes());
+	}
+
+	@Test
+	public void retriesWithAllContentsOnConflict() throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.OK, HttpStatus.CONFLICT,
+				HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		this.uploader.onApplicationEvent(event);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(3);
+		verifyUploadRequest(sourceFolder,
+				this.requestFactory.getExecutedRequests().get(2));
+	}
+
 	private void verifyUploadRequest(File sourceFolder, MockClientHttpRequest request)
-			throws IOException, ClassNotFoundException {
+			throws IOException {
+		assertThat(request.getHeaders().getContentType()).isEqualTo(
+				MediaType.parseMediaType(ClassLoaderFilesPayload.CONTENT_TYPE));
 		ClassLoaderFiles classLoaderFiles = deserialize(request.getBodyAsBytes());
 		Collection<SourceFolder> sourceFolders = classLoaderFiles.getSourceFolders();
 		assertThat(sourceFolders.size()).isEqualTo(1);
@@ -164,11 +210,14 @@ public class ClassPathChangeUploaderTests {
 		return file;
 	}
 
-	private ClassLoaderFiles deserialize(byte[] bytes)
-			throws IOException, ClassNotFoundException {
-		ObjectInputStream objectInputStream = new ObjectInputStream(
-				new ByteArrayInputStream(bytes));
-		return (ClassLoaderFiles) objectInputStream.readObject();
+	private ClassLoaderFiles deserialize(byte[] bytes) throws IOException {
+		return deserialize(bytes, (name) -> null);
+	}
+
+	private ClassLoaderFiles deserialize(byte[] bytes, ResourceResolver resourceResolver)
+			throws IOException {
+		return ClassLoaderFilesPayload.read(new ByteArrayInputStream(bytes),
+				resourceResolver);
 	}
 
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import org.h2.Driver;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link IncrementalRestartBeanFactoryPostProcessor}.
+ *
+ * @author agent
+ */
+public class IncrementalRestartBeanFactoryPostProcessorTests {
+
+	@Rule
+	public MockRestarter mockRestarter = new MockRestarter();
+
+	private AnnotationConfigApplicationContext context;
+
+	@After
+	public void cleanup() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	public void beanOfPreservedTypeIsMovedToRestartScope() {
+		load("javax.sql.DataSource");
+		assertThat(
+				this.context.getBeanFactory().getBeanDefinition("dataSource").getScope())
+						.isEqualTo("restart");
+		verify(this.mockRestarter.getMock()).preserveAttribute(eq("dataSource"),
+				eq(Collections.singleton(DataSourceConfig.class.getName())), any());
+	}
+
+	@Test
+	public void preservedBeanIsReusedAcrossContexts() {
+		load("javax.sql.DataSource");
+		DataSource dataSource = this.context.getBean(DataSource.class);
+		this.context.close();
+		load("javax.sql.DataSource");
+		assertThat(this.context.getBean(DataSource.class)).isSameAs(dataSource);
+	}
+
+	@Test
+	public void beanOfOtherTypeIsNotChanged() {
+		load("javax.sql.DataSource");
+		assertThat(this.context.getBeanFactory().getBeanDefinition("name").getScope())
+				.isEmpty();
+		verify(this.mockRestarter.getMock(), never()).preserveAttribute(eq("name"), any(),
+				any());
+	}
+
+	@Test
+	public void excludedTypeIsNotPreserved() {
+		load(Collections.singletonList("javax.sql.DataSource"), DataSourceConfig.class,
+				"javax.sql.DataSource");
+		assertThat(
+				this.context.getBeanFactory().getBeanDefinition("dataSource").getScope())
+						.isEmpty();
+	}
+
+	@Test
+	public void embeddedDatabaseIsNotPreserved() {
+		load(Collections.emptyList(), EmbeddedDatabaseConfig.class,
+				"javax.sql.DataSource");
+		assertThat(
+				this.context.getBeanFactory().getBeanDefinition("dataSource").getScope())
+						.isEmpty();
+		verify(this.mockRestarter.getMock(), never()).preserveAttribute(eq("dataSource"),
+				any(), any());
+	}
+
+	@Test
+	public void dataSourceIsReusable() {
+		assertThat(getReusablePredicate().test(new SimpleDriverDataSource())).isTrue();
+	}
+
+	@Test
+	public void dataSourceOfEmbeddedDatabaseIsNotReusable() {
+		SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new Driver(),
+				"jdbc:h2:mem:incremental", "sa", "");
+		assertThat(getReusablePredicate().test(dataSource)).isFalse();
+	}
+
+	@Test
+	public void hikariDataSourceIsReusable() {
+		try (HikariDataSource dataSource = new HikariDataSource()) {
+			assertThat(getReusablePredicate().test(dataSource)).isTrue();
+		}
+	}
+
+	@Test
+	public void hikariDataSourceBoundToMetricsIsNotReusable() {
+		try (HikariDataSource dataSource = new HikariDataSource()) {
+			dataSource.setMetricsTrackerFactory(mock(MetricsTrackerFactory.class));
+			assertThat(getReusablePredicate().test(dataSource)).isFalse();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Predicate<Object> getReusablePredicate() {
+		load("javax.sql.DataSource");
+		ArgumentCaptor<Predicate<Object>> reusable = ArgumentCaptor
+				.forClass(Predicate.class);
+		verify(this.mockRestarter.getMock()).preserveAttribute(eq("dataSource"), any(),
+				reusable.capture());
+		return reusable.getValue();
+	}
+
+	@Test
+	public void missingPreservedTypeIsIgnored() {
+		load("com.example.Missing");
+		assertThat(
+				this.context.getBeanFactory().getBeanDefinition("dataSource").getScope())
+						.isEmpty();
+	}
+
+	private void load(String... preservedTypeNames) {
+		load(Collections.emptyList(), DataSourceConfig.class, preservedTypeNames);
+	}
+
+	private void load(List<String> excludedTypeNames, Class<?> config,
+			String... preservedTypeNames) {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		new RestartScopeInitializer().initialize(context);
+		context.addBeanFactoryPostProcessor(
+				new IncrementalRestartBeanFactoryPostProcessor(
+						Arrays.asList(preservedTypeNames), excludedTypeNames));
+		context.register(config);
+		context.refresh();
+		this.context = context;
+	}
+
+	@Configuration
+	static class DataSourceConfig {
+
+		@Bean
+		public SimpleDriverDataSource dataSource() {
+			return new SimpleDriverDataSource();
+		}
+
+		@Bean
+		public String name() {
+			return "test";
+		}
+
+	}
+
+	@Configuration
+	static class EmbeddedDatabaseConfig {
+
+		@Bean(destroyMethod = "shutdown")
+		public EmbeddedDatabase dataSource() {
+			return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+					.generateUniqueName(true).build();
+		}
+
+	}
+
+}
@@ -18,8 +18,10 @@ package org.springframework.boot.devtools.restart;
 
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ThreadFactory;
 
 import org.junit.After;
@@ -150,6 +152,98 @@ public class RestarterTests {
 		verifyZeroInteractions(objectFactory);
 	}
 
+	@Test
+	public void restartWithoutChangesReleasesPreservedAttribute() {
+		Restarter restarter = Restarter.getInstance();
+		CloseableAttribute attribute = addPreservedAttribute(restarter, "x",
+				"com.example.Config");
+		restarter.restart();
+		assertThat(attribute.closed).isTrue();
+		assertThat(restarter.getOrAddAttribute("x", () -> "new")).isEqualTo("new");
+	}
+
+	@Test
+	public void restartWithUnrelatedClassChangeKeepsPreservedAttribute() {
+		Restarter restarter = Restarter.getInstance();
+		CloseableAttribute attribute = addPreservedAttribute(restarter, "x",
+				"com.example.Config");
+		restarter.restart(FailureHandler.NONE,
+				Collections.singleton("com/example/Other.class"));
+		assertThat(attribute.closed).isFalse();
+		assertThat(restarter.getOrAddAttribute("x", () -> "new")).isSameAs(attribute);
+	}
+
+	@Test
+	public void restartWithSourceClassChangeReleasesPreservedAttribute() {
+		Restarter restarter = Restarter.getInstance();
+		CloseableAttribute attribute = addPreservedAttribute(restarter, "x",
+				"com.example.Config$$EnhancerBySpringCGLIB$$1234");
+		restarter.restart(FailureHandler.NONE,
+				Collections.singleton("com/example/Config$Inner.class"));
+		assertThat(attribute.closed).isTrue();
+	}
+
+	@Test
+	public void restartWithResourceChangeReleasesPreservedAttribute() {
+		Restarter restarter = Restarter.getInstance();
+		CloseableAttribute attribute = addPreservedAttribute(restarter, "x",
+				"com.example.Config");
+		restarter.restart(FailureHandler.NONE,
+				Collections.singleton("application.properties"));
+		assertThat(attribute.closed).isTrue();
+	}
+
+	@Test
+	public void restartKeepsAttributeThatIsNotPreserved() {
+		Restarter restarter = Restarter.getInstance();
+		CloseableAttribute attribute = new CloseableAttribute();
+		restarter.getOrAddAttribute("x", () -> attribute);
+		restarter.restart();
+		assertThat(attribute.closed).isFalse();
+		assertThat(restarter.getOrAddAttribute("x", () -> "new")).isSameAs(attribute);
+	}
+
+	@Test
+	public void releasePreservedAttribute() {
+		Restarter restarter = Restarter.getInstance();
+		CloseableAttribute attribute = addPreservedAttribute(restarter, "x",
+				"com.example.Config");
+		restarter.releasePreservedAttribute(attribute);
+		assertThat(attribute.closed).isTrue();
+		assertThat(restarter.getOrAddAttribute("x", () -> "new")).isEqualTo("new");
+	}
+
+	@Test
+	public void restartReleasesPreservedAttributeThatIsNotReusable() {
+		Restarter restarter = Restarter.getInstance();
+		CloseableAttribute attribute = new CloseableAttribute();
+		restarter.preserveAttribute("x", Collections.singleton("com.example.Config"),
+				(value) -> value != attribute);
+		restarter.getOrAddAttribute("x", () -> attribute);
+		restarter.restart(FailureHandler.NONE,
+				Collections.singleton("com/example/Other.class"));
+		assertThat(attribute.closed).isTrue();
+	}
+
+	@Test
+	public void shutdownHookReleasesPreservedAttributes() {
+		TestableRestarter restarter = (TestableRestarter) Restarter.getInstance();
+		CloseableAttribute attribute = addPreservedAttribute(restarter, "x",
+				"com.example.Config");
+		addPreservedAttribute(restarter, "y", "com.example.Config");
+		assertThat(restarter.getShutdownHooks()).hasSize(1);
+		restarter.getShutdownHooks().get(0).run();
+		assertThat(attribute.closed).isTrue();
+	}
+
+	private CloseableAttribute addPreservedAttribute(Restarter restarter, String name,
+			String sourceClassName) {
+		CloseableAttribute attribute = new CloseableAttribute();
+		restarter.preserveAttribute(name, Collections.singleton(sourceClassName));
+		restarter.getOrAddAttribute(name, () -> attribute);
+		return attribute;
+	}
+
 	@Test
 	public void getThreadFactory() throws Exception {
 		final ClassLoader parentLoader = Thread.currentThread().getContextClassLoader();
@@ -234,10 +328,23 @@ public class RestarterTests {
 
 	}
 
+	private static class CloseableAttribute implements AutoCloseable {
+
+		private boolean closed;
+
+		@Override
+		public void close() {
+			this.closed = true;
+		}
+
+	}
+
 	private static class TestableRestarter extends Restarter {
 
 		private ClassLoader relaunchClassLoader;
 
+		private final List<Thread> shutdownHooks = new ArrayList<>();
+
 		TestableRestarter() {
 			this(Thread.currentThread(), new String[] {}, false,
 					new MockRestartInitializer());
@@ -249,9 +356,11 @@ public class RestarterTests {
 		}
 
 		@Override
-		public void restart(FailureHandler failureHandler) {
+		public void restart(FailureHandler failureHandler,
+				Collection<String> changedResourceNames) {
 			try {
 				stop();
+				releasePreservedAttributes(changedResourceNames);
 				start(failureHandler);
 			}
 			catch (Exception ex) {
@@ -273,6 +382,15 @@ public class RestarterTests {
 			return this.relaunchClassLoader;
 		}
 
+		@Override
+		void registerShutdownHook(Thread shutdownHook) {
+			this.shutdownHooks.add(shutdownHook);
+		}
+
+		public List<Thread> getShutdownHooks() {
+			return this.shutdownHooks;
+		}
+
 	}
 
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.classloader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesPayload.MissingContentException;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesPayload.ResourceResolver;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassLoaderFilesPayload}.
+ *
+ * @author agent
+ */
+public class ClassLoaderFilesPayloadTests {
+
+	private static final ResourceResolver NO_RESOURCES = (name) -> null;
+
+	private static final Class<?>[] SAMPLE_CLASSES = { ClassLoaderFiles.class,
+			ClassLoaderFile.class, ClassLoaderFilesPayload.class,
+			RestartClassLoader.class, ClassLoaderFileURLStreamHandler.class, Sample.class,
+			SampleParent.class };
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void writeAndRead() throws Exception {
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("a", "added", new ClassLoaderFile(Kind.ADDED, 1, bytes("1")));
+		files.addFile("a", "modified", new ClassLoaderFile(Kind.MODIFIED, 2, bytes("2")));
+		files.addFile("b", "deleted", new ClassLoaderFile(Kind.DELETED, 3, null));
+		Map<String, String> digests = new HashMap<>();
+		ClassLoaderFiles read = read(write(files, Collections.emptyMap(), digests),
+				NO_RESOURCES);
+		assertThat(read.size()).isEqualTo(3);
+		assertThat(read.getSourceFolders()).extracting("name").containsExactly("a", "b");
+		assertFile(read.getFile("added"), Kind.ADDED, 1, "1");
+		assertFile(read.getFile("modified"), Kind.MODIFIED, 2, "2");
+		assertFile(read.getFile("deleted"), Kind.DELETED, 3, null);
+		assertThat(digests).containsOnlyKeys("added", "modified", "deleted");
+		assertThat(digests.get("deleted")).isNull();
+	}
+
+	@Test
+	public void writeWhenContentsAreDuplicatedWritesContentsOnce() throws Exception {
+		byte[] contents = new byte[4096];
+		new Random(0).nextBytes(contents);
+		ClassLoaderFiles once = new ClassLoaderFiles();
+		once.addFile("a", new ClassLoaderFile(Kind.ADDED, contents));
+		ClassLoaderFiles twice = new ClassLoaderFiles();
+		twice.addFile("a", new ClassLoaderFile(Kind.ADDED, contents));
+		twice.addFile("b", new ClassLoaderFile(Kind.ADDED, contents.clone()));
+		byte[] payload = write(twice, Collections.emptyMap(), new HashMap<>());
+		assertThat(payload.length).isLessThan(
+				write(once, Collections.emptyMap(), new HashMap<>()).length + 64);
+		ClassLoaderFiles read = read(payload, NO_RESOURCES);
+		assertThat(read.getFile("a").getContents()).isEqualTo(contents);
+		assertThat(read.getFile("b").getContents()).isEqualTo(contents);
+	}
+
+	@Test
+	public void writeWhenContentsAreKnownWritesReference() throws Exception {
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("a", new ClassLoaderFile(Kind.MODIFIED, bytes("abc")));
+		Map<String, String> digests = new HashMap<>();
+		write(files, Collections.emptyMap(), digests);
+		Map<String, String> knownContents = Collections.singletonMap(digests.get("a"),
+				"remote");
+		byte[] payload = write(files, knownContents, new HashMap<>());
+		ClassLoaderFiles read = read(payload,
+				(name) -> name.equals("remote") ? bytes("abc") : null);
+		assertThat(read.getFile("a").getContents()).isEqualTo(bytes("abc"));
+	}
+
+	@Test
+	public void readWhenReferencedResourceIsMissingThrowsException() throws Exception {
+		byte[] payload = writeReferenceToRemoteResource();
+		this.thrown.expect(MissingContentException.class);
+		this.thrown.expectMessage("'remote'");
+		read(payload, NO_RESOURCES);
+	}
+
+	@Test
+	public void readWhenReferencedResourceHasChangedThrowsException() throws Exception {
+		byte[] payload = writeReferenceToRemoteResource();
+		this.thrown.expect(MissingContentException.class);
+		read(payload, (name) -> bytes("changed"));
+	}
+
+	@Test
+	public void readWhenNotPayloadThrowsException() throws Exception {
+		this.thrown.expect(IOException.class);
+		read(serialize(new ClassLoaderFiles()), NO_RESOURCES);
+	}
+
+	@Test
+	public void readWhenContentsLengthIsNegativeThrowsException() throws Exception {
+		this.thrown.expect(IOException.class);
+		this.thrown.expectMessage("Invalid contents length -1");
+		read(writeInlineContents(-1, new byte[0]), NO_RESOURCES);
+	}
+
+	@Test
+	public void readWhenContentsLengthExceedsPayloadThrowsException() throws Exception {
+		this.thrown.expect(IOException.class);
+		this.thrown.expectMessage("exceeds the remaining payload");
+		read(writeInlineContents(Integer.MAX_VALUE, bytes("abc")), NO_RESOURCES);
+	}
+
+	@Test
+	public void payloadIsSmallerThanSerializedFiles() throws Exception {
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		for (Class<?> sampleClass : SAMPLE_CLASSES) {
+			String name = sampleClass.getName().replace('.', '/') + ".class";
+			try (InputStream inputStream = sampleClass.getClassLoader()
+					.getResourceAsStream(name)) {
+				files.addFile("classes", name, new ClassLoaderFile(Kind.MODIFIED,
+						FileCopyUtils.copyToByteArray(inputStream)));
+			}
+		}
+		int serialized = serialize(files).length;
+		Map<String, String> digests = new HashMap<>();
+		int initialUpload = write(files, Collections.emptyMap(), digests).length;
+		Map<String, String> knownContents = new HashMap<>();
+		digests.forEach((name, digest) -> knownContents.put(digest, name));
+		int repeatedUpload = write(files, knownContents, new HashMap<>()).length;
+		assertThat(initialUpload).isLessThan(serialized * 2 / 3);
+		assertThat(repeatedUpload).isLessThan(serialized / 10);
+	}
+
+	private byte[] writeReferenceToRemoteResource() throws IOException {
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("a", new ClassLoaderFile(Kind.MODIFIED, bytes("abc")));
+		Map<String, String> digests = new HashMap<>();
+		write(files, Collections.emptyMap(), digests);
+		return write(files, Collections.singletonMap(digests.get("a"), "remote"),
+				new HashMap<>());
+	}
+
+	private byte[] writeInlineContents(int length, byte[] contents) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (DataOutputStream data = new DataOutputStream(
+				new GZIPOutputStream(outputStream))) {
+			data.writeInt(0x53424346);
+			data.writeByte(1);
+			data.writeBoolean(true);
+			data.writeUTF("a");
+			data.writeBoolean(true);
+			data.writeUTF("file");
+			data.writeByte(Kind.ADDED.ordinal());
+			data.writeLong(1);
+			data.writeByte(0);
+			data.write(new byte[20]);
+			data.writeInt(length);
+			data.write(contents);
+		}
+		return outputStream.toByteArray();
+	}
+
+	private void assertFile(ClassLoaderFile file, Kind kind, long lastModified,
+			String contents) {
+		assertThat(file.getKind()).isEqualTo(kind);
+		assertThat(file.getLastModified()).isEqualTo(lastModified);
+		assertThat(file.getContents())
+				.isEqualTo((contents != null) ? bytes(contents) : null);
+	}
+
+	private byte[] write(ClassLoaderFiles files, Map<String, String> knownContents,
+			Map<String, String> digests) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		digests.putAll(ClassLoaderFilesPayload.write(files, outputStream, knownContents));
+		return outputStream.toByteArray();
+	}
+
+	private ClassLoaderFiles read(byte[] payload, ResourceResolver resourceResolver)
+			throws IOException {
+		return ClassLoaderFilesPayload.read(new ByteArrayInputStream(payload),
+				resourceResolver);
+	}
+
+	private byte[] serialize(ClassLoaderFiles files) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+		objectOutputStream.writeObject(files);
+		objectOutputStream.close();
+		return outputStream.toByteArray();
+	}
+
+	private byte[] bytes(String contents) {
+		return contents.getBytes();
+	}
+
+}
@@ -19,6 +19,8 @@ package org.springframework.boot.devtools.restart.server;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -32,13 +34,16 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesPayload;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
@@ -94,6 +99,56 @@ public class HttpRestartServerTests {
 		assertThat(response.getStatus()).isEqualTo(200);
 	}
 
+	@Test
+	public void sendClassLoaderFilesPayload() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("name", new ClassLoaderFile(Kind.ADDED, "abc".getBytes()));
+		request.setContentType(ClassLoaderFilesPayload.CONTENT_TYPE);
+		request.setContent(writePayload(files, Collections.emptyMap()));
+		this.server.handle(new ServletServerHttpRequest(request),
+				new ServletServerHttpResponse(response));
+		verify(this.delegate).updateAndRestart(this.filesCaptor.capture());
+		assertThat(this.filesCaptor.getValue().getFile("name").getContents())
+				.isEqualTo("abc".getBytes());
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	public void sendClassLoaderFilesPayloadWithReference() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("name", new ClassLoaderFile(Kind.MODIFIED, "abc".getBytes()));
+		String digest = getDigest(files);
+		given(this.delegate.getResourceContents("name")).willReturn("abc".getBytes());
+		request.setContentType(ClassLoaderFilesPayload.CONTENT_TYPE);
+		request.setContent(writePayload(files, Collections.singletonMap(digest, "name")));
+		this.server.handle(new ServletServerHttpRequest(request),
+				new ServletServerHttpResponse(response));
+		verify(this.delegate).updateAndRestart(this.filesCaptor.capture());
+		assertThat(this.filesCaptor.getValue().getFile("name").getContents())
+				.isEqualTo("abc".getBytes());
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	public void sendClassLoaderFilesPayloadWithMissingReference() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("name", new ClassLoaderFile(Kind.MODIFIED, "abc".getBytes()));
+		String digest = getDigest(files);
+		request.setContentType(ClassLoaderFilesPayload.CONTENT_TYPE);
+		request.setContent(writePayload(files, Collections.singletonMap(digest, "name")));
+		this.server.handle(new ServletServerHttpRequest(request),
+				new ServletServerHttpResponse(response));
+		verify(this.delegate).getResourceContents("name");
+		verifyNoMoreInteractions(this.delegate);
+		assertThat(response.getStatus()).isEqualTo(409);
+	}
+
 	@Test
 	public void sendNoContent() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest();
@@ -116,6 +171,19 @@ public class HttpRestartServerTests {
 		assertThat(response.getStatus()).isEqualTo(500);
 	}
 
+	private String getDigest(ClassLoaderFiles files) throws IOException {
+		return ClassLoaderFilesPayload
+				.write(files, new ByteArrayOutputStream(), Collections.emptyMap())
+				.get("name");
+	}
+
+	private byte[] writePayload(ClassLoaderFiles files, Map<String, String> knownContents)
+			throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ClassLoaderFilesPayload.write(files, outputStream, knownContents);
+		return outputStream.toByteArray();
+	}
+
 	private byte[] serialize(Object object) throws IOException {
 		ByteArrayOutputStream bos = new ByteArrayOutputStream();
 		ObjectOutputStream oos = new ObjectOutputStream(bos);
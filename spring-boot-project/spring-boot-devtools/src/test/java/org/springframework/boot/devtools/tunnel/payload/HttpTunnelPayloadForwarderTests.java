@@ -17,13 +17,18 @@
 package org.springframework.boot.devtools.tunnel.payload;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -37,6 +42,9 @@ public class HttpTunnelPayloadForwarderTests {
 	@Rule
 	public ExpectedException thrown = ExpectedException.none();
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@Test
 	public void targetChannelMustNotBeNull() {
 		this.thrown.expect(IllegalArgumentException.class);
@@ -66,6 +74,34 @@ public class HttpTunnelPayloadForwarderTests {
 		assertThat(out.toByteArray()).isEqualTo("hello".getBytes());
 	}
 
+	@Test
+	public void forwardOutOfSequenceDoesNotRetainForwardedPayloads() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		WritableByteChannel channel = Channels.newChannel(out);
+		HttpTunnelPayloadForwarder forwarder = new HttpTunnelPayloadForwarder(channel);
+		StringBuilder expected = new StringBuilder();
+		for (int i = 1; i < 500; i += 2) {
+			forwarder.forward(payload(i + 1, "b"));
+			forwarder.forward(payload(i, "a"));
+			expected.append("ab");
+		}
+		assertThat(out.toString()).isEqualTo(expected.toString());
+	}
+
+	@Test
+	public void forwardOutOfSequenceToGatheringChannel() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.WRITE)) {
+			HttpTunnelPayloadForwarder forwarder = new HttpTunnelPayloadForwarder(
+					channel);
+			forwarder.forward(payload(3, "o"));
+			forwarder.forward(payload(2, "ll"));
+			forwarder.forward(payload(1, "he"));
+		}
+		assertThat(Files.readAllBytes(file.toPath())).isEqualTo("hello".getBytes());
+	}
+
 	@Test
 	public void overflow() throws Exception {
 		WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
@@ -24,6 +24,8 @@ import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -89,6 +91,74 @@ public class HttpTunnelPayloadTests {
 		assertThat(servletResponse.getContentAsString()).isEqualTo("hello");
 	}
 
+	@Test
+	public void assignToWithoutCompressionThresholdDoesNotCompressData()
+			throws Exception {
+		byte[] data = repeat("hello", 1000);
+		HttpTunnelPayload payload = new HttpTunnelPayload(2, ByteBuffer.wrap(data));
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+		payload.assignTo(new ServletServerHttpResponse(servletResponse));
+		assertThat(servletResponse.getHeader("Content-Encoding")).isNull();
+		assertThat(servletResponse.getContentAsByteArray()).isEqualTo(data);
+	}
+
+	@Test
+	public void assignToWithPayloadBelowCompressionThresholdDoesNotCompressData()
+			throws Exception {
+		byte[] data = repeat("hello", 1000);
+		HttpTunnelPayload payload = new HttpTunnelPayload(2, ByteBuffer.wrap(data));
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+		payload.assignTo(new ServletServerHttpResponse(servletResponse), data.length + 1);
+		assertThat(servletResponse.getHeader("Content-Encoding")).isNull();
+		assertThat(servletResponse.getContentAsByteArray()).isEqualTo(data);
+	}
+
+	@Test
+	public void assignToWithLargePayloadCompressesData() throws Exception {
+		byte[] data = repeat("hello", 1000);
+		HttpTunnelPayload payload = new HttpTunnelPayload(2, ByteBuffer.wrap(data));
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+		payload.assignTo(new ServletServerHttpResponse(servletResponse), 1024);
+		assertThat(servletResponse.getHeader("Content-Encoding")).isEqualTo("gzip");
+		assertThat(servletResponse.getContentAsByteArray().length)
+				.isLessThan(data.length);
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		servletRequest.setContent(servletResponse.getContentAsByteArray());
+		servletRequest.addHeader("x-seq", servletResponse.getHeader("x-seq"));
+		servletRequest.addHeader("Content-Encoding", "gzip");
+		HttpTunnelPayload received = HttpTunnelPayload
+				.get(new ServletServerHttpRequest(servletRequest));
+		assertThat(received.getSequence()).isEqualTo(2L);
+		assertThat(getData(received)).isEqualTo(data);
+	}
+
+	@Test
+	public void assignToWithIncompressiblePayloadDoesNotCompressData() throws Exception {
+		byte[] data = new byte[4096];
+		new Random(0).nextBytes(data);
+		HttpTunnelPayload payload = new HttpTunnelPayload(1, ByteBuffer.wrap(data));
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+		payload.assignTo(new ServletServerHttpResponse(servletResponse), 1024);
+		assertThat(servletResponse.getHeader("Content-Encoding")).isNull();
+		assertThat(servletResponse.getContentAsByteArray()).isEqualTo(data);
+	}
+
+	@Test
+	public void getWithCompressedDataThatIsTooLargeWhenDecompressed() throws Exception {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (GZIPOutputStream outputStream = new GZIPOutputStream(compressed)) {
+			outputStream.write(new byte[1024 * 1024 * 5]);
+		}
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		servletRequest.setContent(compressed.toByteArray());
+		servletRequest.addHeader("x-seq", 1);
+		servletRequest.addHeader("Content-Encoding", "gzip");
+		HttpInputMessage request = new ServletServerHttpRequest(servletRequest);
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Decompressed payload is too large");
+		HttpTunnelPayload.get(request);
+	}
+
 	@Test
 	public void getNoData() throws Exception {
 		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
@@ -140,6 +210,14 @@ public class HttpTunnelPayloadTests {
 		assertThat(payload).isNull();
 	}
 
+	private byte[] repeat(String value, int count) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			builder.append(value);
+		}
+		return builder.toString().getBytes();
+	}
+
 	private byte[] getData(HttpTunnelPayload payload) throws IOException {
 		ByteArrayOutputStream out = new ByteArrayOutputStream();
 		WritableByteChannel channel = Channels.newChannel(out);
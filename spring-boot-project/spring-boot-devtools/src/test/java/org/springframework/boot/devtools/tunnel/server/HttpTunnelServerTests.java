@@ -216,6 +216,89 @@ public class HttpTunnelServerTests {
 		this.server.getServerThread().join();
 	}
 
+	@Test
+	public void maxHttpConnections() throws Exception {
+		this.server.setMaxHttpConnections(3);
+		MockHttpConnection h1 = new MockHttpConnection();
+		this.server.handle(h1);
+		MockHttpConnection h2 = new MockHttpConnection("1", 1);
+		this.server.handle(h2);
+		MockHttpConnection h3 = new MockHttpConnection("2", 2);
+		this.server.handle(h3);
+		assertThat(h1.getServletResponse().isCommitted()).isFalse();
+		MockHttpConnection h4 = new MockHttpConnection("3", 3);
+		this.server.handle(h4);
+		h1.waitForResponse();
+		assertThat(h1.getServletResponse().getStatus()).isEqualTo(429);
+		assertThat(h2.getServletResponse().isCommitted()).isFalse();
+		this.serverChannel.disconnect();
+		this.server.getServerThread().join();
+	}
+
+	@Test
+	public void maxHttpConnectionsMustBePositive() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("MaxHttpConnections must be a positive value");
+		this.server.setMaxHttpConnections(0);
+	}
+
+	@Test
+	public void dataIsBatchedWhilstNoHttpConnectionIsAvailable() throws Exception {
+		MockHttpConnection h1 = new MockHttpConnection();
+		this.server.handle(h1);
+		this.serverChannel.send("hello");
+		h1.verifyReceived("hello", 1);
+		this.serverChannel.send(" ");
+		this.serverChannel.send("client");
+		this.serverChannel.waitForSentDataToBeRead();
+		MockHttpConnection h2 = new MockHttpConnection();
+		this.server.handle(h2);
+		h2.verifyReceived(" client", 2);
+		this.serverChannel.disconnect();
+		this.server.getServerThread().join();
+	}
+
+	@Test
+	public void incomingPayloadIsForwardedBeforePendingDataIsSent() throws Exception {
+		MockHttpConnection h1 = new MockHttpConnection();
+		this.server.handle(h1);
+		this.serverChannel.send("hello");
+		h1.verifyReceived("hello", 1);
+		this.serverChannel.send("pending");
+		this.serverChannel.waitForSentDataToBeRead();
+		MockHttpConnection h2 = new MockHttpConnection("hi", 1);
+		this.server.handle(h2);
+		h2.verifyReceived("pending", 2);
+		this.serverChannel.verifyReceived("hi");
+		this.serverChannel.disconnect();
+		this.server.getServerThread().join();
+	}
+
+	@Test
+	public void responsesAreNotCompressedByDefault() throws Exception {
+		String content = repeat("hello", 1000);
+		MockHttpConnection h1 = new MockHttpConnection();
+		this.server.handle(h1);
+		this.serverChannel.send(content);
+		h1.verifyReceived(content, 1);
+		assertThat(h1.getServletResponse().getHeader("Content-Encoding")).isNull();
+		this.serverChannel.disconnect();
+		this.server.getServerThread().join();
+	}
+
+	@Test
+	public void responsesAboveCompressionThresholdAreCompressed() throws Exception {
+		this.server.setCompressionThreshold(1024);
+		MockHttpConnection h1 = new MockHttpConnection();
+		this.server.handle(h1);
+		this.serverChannel.send(repeat("hello", 1000));
+		h1.waitForServletResponse();
+		assertThat(h1.getServletResponse().getHeader("Content-Encoding"))
+				.isEqualTo("gzip");
+		this.serverChannel.disconnect();
+		this.server.getServerThread().join();
+	}
+
 	@Test
 	public void requestReceivedOutOfOrder() throws Exception {
 		MockHttpConnection h1 = new MockHttpConnection();
@@ -326,6 +409,14 @@ public class HttpTunnelServerTests {
 		assertThat(connection.isOlderThan(100)).isTrue();
 	}
 
+	private String repeat(String value, int count) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			builder.append(value);
+		}
+		return builder.toString();
+	}
+
 	/**
 	 * Mock {@link ByteChannel} used to simulate the server connection.
 	 */
@@ -341,6 +432,16 @@ public class HttpTunnelServerTests {
 
 		private AtomicBoolean open = new AtomicBoolean(true);
 
+		private final Object monitor = new Object();
+
+		private int sent;
+
+		private int consumed;
+
+		private int reads;
+
+		private int lastConsumingRead;
+
 		public void setTimeout(int timeout) {
 			this.timeout = timeout;
 		}
@@ -350,6 +451,9 @@ public class HttpTunnelServerTests {
 		}
 
 		public void send(byte[] bytes) {
+			synchronized (this.monitor) {
+				this.sent++;
+			}
 			this.outgoing.addLast(ByteBuffer.wrap(bytes));
 		}
 
@@ -357,6 +461,20 @@ public class HttpTunnelServerTests {
 			this.outgoing.addLast(DISCONNECT);
 		}
 
+		/**
+		 * Wait until all sent data has been read and the server has finished handling it.
+		 * Handling is known to be complete once the server makes its next read.
+		 * @throws InterruptedException if interrupted whilst waiting
+		 */
+		public void waitForSentDataToBeRead() throws InterruptedException {
+			synchronized (this.monitor) {
+				while (this.consumed < this.sent
+						|| this.reads <= this.lastConsumingRead) {
+					this.monitor.wait();
+				}
+			}
+		}
+
 		public void verifyReceived(String expected) {
 			verifyReceived(expected.getBytes());
 		}
@@ -370,6 +488,11 @@ public class HttpTunnelServerTests {
 
 		@Override
 		public int read(ByteBuffer dst) throws IOException {
+			int read;
+			synchronized (this.monitor) {
+				read = ++this.reads;
+				this.monitor.notifyAll();
+			}
 			try {
 				ByteBuffer bytes = this.outgoing.pollFirst(this.timeout,
 						TimeUnit.MILLISECONDS);
@@ -380,6 +503,10 @@ public class HttpTunnelServerTests {
 					this.open.set(false);
 					return -1;
 				}
+				synchronized (this.monitor) {
+					this.consumed++;
+					this.lastConsumingRead = read;
+				}
 				int initialRemaining = dst.remaining();
 				bytes.limit(Math.min(bytes.limit(), initialRemaining));
 				dst.put(bytes);
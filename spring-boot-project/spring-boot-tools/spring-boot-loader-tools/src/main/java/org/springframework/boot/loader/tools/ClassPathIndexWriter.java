@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.springframework.util.StreamUtils;
+
+/**
+ * Collects the package folders of each nested archive and writes them as a class path
+ * index that can be used by the {@code LaunchedURLClassLoader} to find the archives that
+ * own a package without searching every archive. Every ancestor of a folder is also
+ * indexed so that packages that only contain other packages can be found.
+ *
+ * @author agent
+ */
+class ClassPathIndexWriter {
+
+	private final Map<String, Set<String>> archivePackages = new LinkedHashMap<>();
+
+	private final FactoriesIndexWriter factoriesIndex;
+
+	/**
+	 * Create a new {@link ClassPathIndexWriter} instance.
+	 * @param factoriesIndex the factories index that should also be populated with the
+	 * archives that are added or {@code null}
+	 */
+	ClassPathIndexWriter(FactoriesIndexWriter factoriesIndex) {
+		this.factoriesIndex = factoriesIndex;
+	}
+
+	/**
+	 * Add an entry of a nested folder archive (for example {@code BOOT-INF/classes/}).
+	 * @param archiveName the name of the nested archive
+	 * @param entryName the name of the entry relative to the archive
+	 */
+	void addEntry(String archiveName, String entryName) {
+		Set<String> packages = this.archivePackages.computeIfAbsent(archiveName,
+				(key) -> new TreeSet<>());
+		if (this.factoriesIndex != null) {
+			this.factoriesIndex.addArchive(archiveName);
+		}
+		int lastSlash = entryName.lastIndexOf('/');
+		while (lastSlash > 0) {
+			packages.add(entryName.substring(0, lastSlash + 1));
+			lastSlash = entryName.lastIndexOf('/', lastSlash - 1);
+		}
+	}
+
+	/**
+	 * Add all of the entries of a nested jar archive. Has no effect if the archive has
+	 * already been added. The stream remains owned by the caller and is not closed.
+	 * @param archiveName the name of the nested archive
+	 * @param inputStream the contents of the nested jar
+	 * @throws IOException on read error
+	 */
+	void addJar(String archiveName, InputStream inputStream) throws IOException {
+		if (this.archivePackages.containsKey(archiveName)) {
+			return;
+		}
+		this.archivePackages.put(archiveName, new TreeSet<>());
+		try (ZipInputStream zipInputStream = new ZipInputStream(
+				StreamUtils.nonClosing(inputStream))) {
+			ZipEntry entry;
+			while ((entry = zipInputStream.getNextEntry()) != null) {
+				addEntry(archiveName, entry.getName());
+				if (this.factoriesIndex != null && entry.getName()
+						.equals(FactoriesIndexWriter.FACTORIES_RESOURCE_LOCATION)) {
+					this.factoriesIndex.addFactories(archiveName, zipInputStream);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write the index to the given location.
+	 * @param writer the writer to use
+	 * @param location the location of the index in the archive
+	 * @throws IOException on write error
+	 */
+	void write(JarWriter writer, String location) throws IOException {
+		StringBuilder index = new StringBuilder();
+		this.archivePackages.forEach((archiveName, packages) -> {
+			index.append(archiveName).append('\n');
+			packages.forEach(
+					(packageName) -> index.append(' ').append(packageName).append('\n'));
+		});
+		writer.writeEntry(location, new ByteArrayInputStream(
+				index.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Collects the {@code META-INF/spring.factories} files of each nested archive and writes
+ * them as a single merged file that the {@code LaunchedURLClassLoader} can return in
+ * place of the files of every nested archive.
+ * <p>
+ * The merged file uses the standard {@code spring.factories} format. It starts with a
+ * comment line of the form {@code #archive=<name>} for each nested archive that was
+ * indexed, including those that contain no factories, so that the loader can check that
+ * the index covers its class path. The file is encoded in ISO-8859-1 and characters are
+ * escaped in the same way as {@link Properties#store(java.io.OutputStream, String)}.
+ *
+ * @author agent
+ */
+class FactoriesIndexWriter {
+
+	static final String FACTORIES_RESOURCE_LOCATION = "META-INF/spring.factories";
+
+	private final Map<String, List<Properties>> archiveFactories = new LinkedHashMap<>();
+
+	/**
+	 * Add a nested archive. Has no effect if the archive has already been added.
+	 * @param archiveName the name of the nested archive
+	 */
+	void addArchive(String archiveName) {
+		this.archiveFactories.computeIfAbsent(archiveName, (key) -> new ArrayList<>(1));
+	}
+
+	/**
+	 * Add the factories of a nested archive. The stream is not closed.
+	 * @param archiveName the name of the nested archive
+	 * @param inputStream the contents of the {@code spring.factories} file
+	 * @throws IOException on read error
+	 */
+	void addFactories(String archiveName, InputStream inputStream) throws IOException {
+		Properties properties = new Properties();
+		properties.load(inputStream);
+		this.archiveFactories.computeIfAbsent(archiveName, (key) -> new ArrayList<>(1))
+				.add(properties);
+	}
+
+	/**
+	 * Write the index to the given location.
+	 * @param writer the writer to use
+	 * @param location the location of the index in the archive
+	 * @throws IOException on write error
+	 */
+	void write(JarWriter writer, String location) throws IOException {
+		StringBuilder index = new StringBuilder();
+		Map<String, List<String>> factories = new LinkedHashMap<>();
+		this.archiveFactories.forEach((archiveName, archiveProperties) -> {
+			index.append("#archive=").append(escape(archiveName, false)).append('\n');
+			for (Properties properties : archiveProperties) {
+				for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+					List<String> values = factories.computeIfAbsent(key.trim(),
+							(k) -> new ArrayList<>());
+					for (String value : StringUtils.commaDelimitedListToStringArray(
+							properties.getProperty(key))) {
+						if (StringUtils.hasText(value)) {
+							values.add(value.trim());
+						}
+					}
+				}
+			}
+		});
+		factories
+				.forEach(
+						(key, values) -> index.append(escape(key, true)).append('=')
+								.append(escape(StringUtils
+										.collectionToCommaDelimitedString(values), false))
+								.append('\n'));
+		writer.writeEntry(location, new ByteArrayInputStream(
+				index.toString().getBytes(StandardCharsets.ISO_8859_1)));
+	}
+
+	private static String escape(String value, boolean key) {
+		StringBuilder escaped = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+			case ' ':
+				escaped.append((i == 0 || key) ? "\\ " : " ");
+				break;
+			case '\t':
+				escaped.append("\\t");
+				break;
+			case '\n':
+				escaped.append("\\n");
+				break;
+			case '\r':
+				escaped.append("\\r");
+				break;
+			case '\f':
+				escaped.append("\\f");
+				break;
+			case '\\':
+			case '=':
+			case ':':
+			case '#':
+			case '!':
+				escaped.append('\\').append(ch);
+				break;
+			default:
+				if (ch < 0x0020 || ch > 0x007e) {
+					escaped.append(String.format("\\u%04X", (int) ch));
+				}
+				else {
+					escaped.append(ch);
+				}
+			}
+		}
+		return escaped.toString();
+	}
+
+}
@@ -88,6 +88,35 @@ public final class Layouts {
 
 	}
 
+	/**
+	 * Executable JAR layout that writes dependencies, snapshot dependencies and
+	 * application classes to separate directories so that each can be extracted into its
+	 * own layer. The loader classes remain at the root of the archive.
+	 */
+	public static class LayeredJar extends Jar {
+
+		private static final String LAYERS = "BOOT-INF/layers/";
+
+		@Override
+		public String getLauncherClassName() {
+			return "org.springframework.boot.loader.LayeredJarLauncher";
+		}
+
+		@Override
+		public String getLibraryDestination(String libraryName, LibraryScope scope) {
+			if (libraryName.contains("SNAPSHOT")) {
+				return LAYERS + "snapshot-dependencies/";
+			}
+			return LAYERS + "dependencies/";
+		}
+
+		@Override
+		public String getRepackagedClassesLocation() {
+			return LAYERS + "application/classes/";
+		}
+
+	}
+
 	/**
 	 * Executable expanded archive layout.
 	 */
@@ -21,11 +21,13 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 
@@ -57,6 +59,14 @@ public class Repackager {
 
 	private static final String BOOT_CLASSES_ATTRIBUTE = "Spring-Boot-Classes";
 
+	private static final String BOOT_CLASSPATH_INDEX_ATTRIBUTE = "Spring-Boot-Classpath-Index";
+
+	private static final String CLASSPATH_INDEX_FILE_NAME = "classpath.idx";
+
+	private static final String BOOT_FACTORIES_INDEX_ATTRIBUTE = "Spring-Boot-Factories-Index";
+
+	private static final String FACTORIES_INDEX_FILE_NAME = "factories.idx";
+
 	private static final byte[] ZIP_FILE_HEADER = new byte[] { 'P', 'K', 3, 4 };
 
 	private static final long FIND_WARNING_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
@@ -246,7 +256,81 @@ public class Repackager {
 				writer.writeEntries(sourceJar, writeableLibraries);
 			}
 			writeableLibraries.write(writer);
+			writeClassPathIndex(sourceJar, writeableLibraries, writer);
+		}
+	}
+
+	private void writeClassPathIndex(JarFile sourceJar, WritableLibraries libraries,
+			JarWriter writer) throws IOException {
+		String location = getClassPathIndexLocation();
+		if (location == null) {
+			return;
+		}
+		String classesLocation = getClassesLocation();
+		EntryTransformer transformer = (this.layout instanceof RepackagingLayout)
+				? new RenamingEntryTransformer(classesLocation) : null;
+		FactoriesIndexWriter factoriesIndex = new FactoriesIndexWriter();
+		ClassPathIndexWriter index = new ClassPathIndexWriter(factoriesIndex);
+		index.addEntry(classesLocation, "");
+		Enumeration<JarEntry> entries = sourceJar.entries();
+		while (entries.hasMoreElements()) {
+			JarEntry entry = entries.nextElement();
+			String name = getTransformedName(entry, transformer);
+			if (name == null || entry.isDirectory()) {
+				continue;
+			}
+			if (name.startsWith(classesLocation)) {
+				String entryName = name.substring(classesLocation.length());
+				index.addEntry(classesLocation, entryName);
+				if (entryName.equals(FactoriesIndexWriter.FACTORIES_RESOURCE_LOCATION)) {
+					try (InputStream inputStream = sourceJar.getInputStream(entry)) {
+						factoriesIndex.addFactories(classesLocation, inputStream);
+					}
+				}
+			}
+			else if (name.endsWith(".jar")) {
+				try (InputStream inputStream = sourceJar.getInputStream(entry)) {
+					index.addJar(name, inputStream);
+				}
+			}
+		}
+		libraries.index(index);
+		index.write(writer, location);
+		factoriesIndex.write(writer, getFactoriesIndexLocation());
+	}
+
+	private String getTransformedName(JarEntry entry, EntryTransformer transformer) {
+		if (transformer == null) {
+			return entry.getName();
+		}
+		JarArchiveEntry transformed = transformer
+				.transform(new JarArchiveEntry(entry.getName()));
+		return (transformed != null) ? transformed.getName() : null;
+	}
+
+	private String getClassPathIndexLocation() {
+		return getIndexLocation(CLASSPATH_INDEX_FILE_NAME);
+	}
+
+	private String getFactoriesIndexLocation() {
+		return getIndexLocation(FACTORIES_INDEX_FILE_NAME);
+	}
+
+	private String getIndexLocation(String fileName) {
+		String lib = this.layout.getLibraryDestination("", LibraryScope.COMPILE);
+		if (!this.layout.isExecutable() || !StringUtils.hasLength(lib)
+				|| !StringUtils.hasLength(getClassesLocation())) {
+			return null;
 		}
+		String parent = lib.substring(0, lib.length() - 1);
+		int lastSlash = parent.lastIndexOf('/');
+		return parent.substring(0, lastSlash + 1) + fileName;
+	}
+
+	private String getClassesLocation() {
+		return (this.layout instanceof RepackagingLayout)
+				? ((RepackagingLayout) this.layout).getRepackagedClassesLocation()
+				: this.layout.getClassesLocation();
 	}
 
 	private void writeLoaderClasses(JarWriter writer) throws IOException {
@@ -307,13 +391,18 @@ public class Repackager {
 		String bootVersion = getClass().getPackage().getImplementationVersion();
 		manifest.getMainAttributes().putValue(BOOT_VERSION_ATTRIBUTE, bootVersion);
 		manifest.getMainAttributes().putValue(BOOT_CLASSES_ATTRIBUTE,
-				(this.layout instanceof RepackagingLayout)
-						? ((RepackagingLayout) this.layout).getRepackagedClassesLocation()
-						: this.layout.getClassesLocation());
+				getClassesLocation());
 		String lib = this.layout.getLibraryDestination("", LibraryScope.COMPILE);
 		if (StringUtils.hasLength(lib)) {
 			manifest.getMainAttributes().putValue(BOOT_LIB_ATTRIBUTE, lib);
 		}
+		String classPathIndex = getClassPathIndexLocation();
+		if (classPathIndex != null) {
+			manifest.getMainAttributes().putValue(BOOT_CLASSPATH_INDEX_ATTRIBUTE,
+					classPathIndex);
+			manifest.getMainAttributes().putValue(BOOT_FACTORIES_INDEX_ATTRIBUTE,
+					getFactoriesIndexLocation());
+		}
 		return manifest;
 	}
 
@@ -460,6 +549,15 @@ public class Repackager {
 			}
 		}
 
+		private void index(ClassPathIndexWriter index) throws IOException {
+			for (Entry<String, Library> entry : this.libraryEntryNames.entrySet()) {
+				try (InputStream inputStream = new FileInputStream(
+						entry.getValue().getFile())) {
+					index.addJar(entry.getKey(), inputStream);
+				}
+			}
+		}
+
 	}
 
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * Generates a class data sharing (CDS) archive for an executable jar. A training run of
+ * the jar records the classes that it loads and the recorded list is then used to dump a
+ * shared archive that the JVM can map when the jar is launched with
+ * {@code -XX:SharedArchiveFile}. The training run ends when the application exits or when
+ * the {@link #setTrainingRunTimeout(long, TimeUnit) timeout} is reached.
+ * <p>
+ * Only classes that are loaded by the JVM's built-in class loaders, such as the JDK's
+ * classes and the launcher classes at the root of the jar, can be shared. Generating the
+ * archive requires Java 10 or later, see {@link #isSupported()}. Both runs use the jar's
+ * folder as their working directory and refer to the jar by its file name so that the
+ * archive can be used with the same JVM once the jar has been deployed, provided that it
+ * is launched as {@code -jar <file name>} from the folder that contains it and that it
+ * has not been modified. Any additional option that is required when launching the jar is
+ * returned by {@link #getLaunchOptions()}.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class SharedArchiveGenerator {
+
+	private static final String SHARED_ARCHIVE_EXTENSION = ".jsa";
+
+	private static final String CLASS_LIST_EXTENSION = ".classlist";
+
+	private static final String USE_APP_CDS = "-XX:+UseAppCDS";
+
+	private final JavaExecutable javaExecutable;
+
+	private long trainingRunTimeout = TimeUnit.SECONDS.toMillis(60);
+
+	private List<String> trainingRunArguments = Collections.emptyList();
+
+	/**
+	 * Create a new {@link SharedArchiveGenerator} that uses the current JVM's
+	 * {@link JavaExecutable}.
+	 */
+	public SharedArchiveGenerator() {
+		this(new JavaExecutable());
+	}
+
+	/**
+	 * Create a new {@link SharedArchiveGenerator} that uses the given
+	 * {@link JavaExecutable}.
+	 * @param javaExecutable the java executable to use
+	 */
+	public SharedArchiveGenerator(JavaExecutable javaExecutable) {
+		Assert.notNull(javaExecutable, "JavaExecutable must not be null");
+		this.javaExecutable = javaExecutable;
+	}
+
+	/**
+	 * Set the maximum time that the training run is allowed to take before it is stopped.
+	 * Defaults to 60 seconds.
+	 * @param timeout the timeout
+	 * @param unit the unit of the timeout
+	 */
+	public void setTrainingRunTimeout(long timeout, TimeUnit unit) {
+		Assert.isTrue(timeout > 0, "Timeout must be greater than 0");
+		Assert.notNull(unit, "Unit must not be null");
+		this.trainingRunTimeout = unit.toMillis(timeout);
+	}
+
+	/**
+	 * Set the arguments that are passed to the application during the training run.
+	 * @param trainingRunArguments the application arguments
+	 */
+	public void setTrainingRunArguments(List<String> trainingRunArguments) {
+		this.trainingRunArguments = (trainingRunArguments != null)
+				? new ArrayList<>(trainingRunArguments) : Collections.emptyList();
+	}
+
+	/**
+	 * Return whether the {@link JavaExecutable} supports generating shared archives that
+	 * contain application classes, i.e. whether it is Java 10 or later.
+	 * @return {@code true} if shared archives can be generated
+	 */
+	public boolean isSupported() {
+		return getJavaMajorVersion() >= 10;
+	}
+
+	/**
+	 * Return the JVM options, in addition to {@code -XX:SharedArchiveFile}, that are
+	 * required to use an archive generated by the {@link JavaExecutable}. On Java 10,
+	 * this is {@code -XX:+UseAppCDS}.
+	 * @return the launch options
+	 */
+	public List<String> getLaunchOptions() {
+		return getLaunchOptions(getJavaMajorVersion());
+	}
+
+	private List<String> getLaunchOptions(int javaMajorVersion) {
+		return (javaMajorVersion == 10) ? Collections.singletonList(USE_APP_CDS)
+				: Collections.emptyList();
+	}
+
+	/**
+	 * Generate the shared archive for the given jar. The archive is written next to the
+	 * jar as returned by {@link #getSharedArchiveFile(File)}.
+	 * @param jar the executable jar
+	 * @return the generated shared archive
+	 * @throws IOException if the archive cannot be generated
+	 */
+	public File generate(File jar) throws IOException {
+		Assert.isTrue(jar != null && jar.isFile(), "Jar must be an existing file");
+		int javaMajorVersion = getJavaMajorVersion();
+		if (javaMajorVersion < 10) {
+			throw new IOException("Unable to generate shared archive for " + jar
+					+ " using " + this.javaExecutable + ". Java 10 or later is required");
+		}
+		File folder = jar.getAbsoluteFile().getParentFile();
+		File classList = getSiblingFile(jar, CLASS_LIST_EXTENSION);
+		File sharedArchive = getSharedArchiveFile(jar);
+		List<String> options = getLaunchOptions(javaMajorVersion);
+		try {
+			trainingRun(folder, jar, classList, options);
+			dump(folder, jar, classList, sharedArchive, options);
+		}
+		finally {
+			classList.delete();
+		}
+		return sharedArchive;
+	}
+
+	private void trainingRun(File folder, File jar, File classList, List<String> options)
+			throws IOException {
+		List<String> arguments = new ArrayList<>(options);
+		arguments.add("-Xshare:off");
+		arguments.add("-XX:DumpLoadedClassList=" + classList.getName());
+		arguments.add("-jar");
+		arguments.add(jar.getName());
+		arguments.addAll(this.trainingRunArguments);
+		RunProcess process = new RunProcess(folder, this.javaExecutable.toString());
+		process.run(false, arguments, Collections.emptyMap());
+		Process runningProcess = process.getRunningProcess();
+		try {
+			if (runningProcess != null && !runningProcess.waitFor(this.trainingRunTimeout,
+					TimeUnit.MILLISECONDS)) {
+				process.kill();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			process.kill();
+			throw new IOException("Interrupted during the training run of " + jar);
+		}
+		if (!classList.isFile()) {
+			throw new IOException(
+					"Training run of " + jar + " did not record the loaded classes");
+		}
+	}
+
+	private void dump(File folder, File jar, File classList, File sharedArchive,
+			List<String> options) throws IOException {
+		List<String> arguments = new ArrayList<>(options);
+		arguments.add("-Xshare:dump");
+		arguments.add("-XX:SharedClassListFile=" + classList.getName());
+		arguments.add("-XX:SharedArchiveFile=" + sharedArchive.getName());
+		arguments.add("-cp");
+		arguments.add(jar.getName());
+		RunProcess process = new RunProcess(folder, this.javaExecutable.toString());
+		int exitCode = process.run(true, arguments, Collections.emptyMap());
+		if (exitCode != 0 || !sharedArchive.isFile()) {
+			throw new IOException("Unable to dump shared archive for " + jar
+					+ " (exit code " + exitCode + ")");
+		}
+	}
+
+	/**
+	 * Return the location of the shared archive of the given jar. The archive has the
+	 * same name as the jar but with a {@code .jsa} extension.
+	 * @param jar the executable jar
+	 * @return the location of the shared archive
+	 */
+	public static File getSharedArchiveFile(File jar) {
+		return getSiblingFile(jar, SHARED_ARCHIVE_EXTENSION);
+	}
+
+	private int getJavaMajorVersion() {
+		File home = new File(this.javaExecutable.toString()).getParentFile()
+				.getParentFile();
+		File release = new File(home, "release");
+		if (!release.isFile()) {
+			return -1;
+		}
+		Properties properties = new Properties();
+		try (InputStream inputStream = new FileInputStream(release)) {
+			properties.load(inputStream);
+		}
+		catch (IOException ex) {
+			return -1;
+		}
+		String version = properties.getProperty("JAVA_VERSION", "").replace("\"", "");
+		if (version.startsWith("1.")) {
+			version = version.substring(2);
+		}
+		int end = 0;
+		while (end < version.length() && Character.isDigit(version.charAt(end))) {
+			end++;
+		}
+		return (end > 0) ? Integer.parseInt(version.substring(0, end)) : -1;
+	}
+
+	private static File getSiblingFile(File jar, String extension) {
+		String name = jar.getName();
+		int lastDot = name.lastIndexOf('.');
+		String baseName = (lastDot > 0) ? name.substring(0, lastDot) : name;
+		return new File(jar.getAbsoluteFile().getParentFile(), baseName + extension);
+	}
+
+}
@@ -128,6 +128,11 @@ public class DefaultLaunchScriptTests {
 		assertThatPlaceholderCanBeReplaced("stopWaitTime");
 	}
 
+	@Test
+	public void sharedArchiveOptionsCanBeReplaced() throws Exception {
+		assertThatPlaceholderCanBeReplaced("sharedArchiveOptions");
+	}
+
 	@Test
 	public void inlinedConfScriptFileLoad() throws IOException {
 		DefaultLaunchScript script = new DefaultLaunchScript(null,
@@ -73,6 +73,22 @@ public class LayoutsTests {
 				.isEqualTo("BOOT-INF/lib/");
 	}
 
+	@Test
+	public void layeredJarLayout() {
+		Layouts.LayeredJar layout = new Layouts.LayeredJar();
+		assertThat(layout.getLibraryDestination("lib.jar", LibraryScope.COMPILE))
+				.isEqualTo("BOOT-INF/layers/dependencies/");
+		assertThat(layout.getLibraryDestination("lib.jar", LibraryScope.RUNTIME))
+				.isEqualTo("BOOT-INF/layers/dependencies/");
+		assertThat(layout.getLibraryDestination("lib-1.0.0.BUILD-SNAPSHOT.jar",
+				LibraryScope.COMPILE))
+						.isEqualTo("BOOT-INF/layers/snapshot-dependencies/");
+		assertThat(layout.getRepackagedClassesLocation())
+				.isEqualTo("BOOT-INF/layers/application/classes/");
+		assertThat(layout.getLauncherClassName())
+				.isEqualTo("org.springframework.boot.loader.LayeredJarLauncher");
+	}
+
 	@Test
 	public void warLayout() {
 		Layout layout = new Layouts.War();
@@ -20,12 +20,15 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Properties;
 import java.util.Random;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
@@ -47,6 +50,7 @@ import org.zeroturnaround.zip.ZipUtil;
 import org.springframework.boot.loader.tools.sample.ClassWithMainMethod;
 import org.springframework.boot.loader.tools.sample.ClassWithoutMainMethod;
 import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -604,6 +608,122 @@ public class RepackagerTests {
 				"BOOT-INF/lib/" + libraryThree.getName());
 	}
 
+	@Test
+	public void classPathIndexIsWritten() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		File library = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.repackage(dest, (callback) -> callback
+				.library(new Library(library, LibraryScope.COMPILE, false)));
+		assertThat(getManifest(dest).getMainAttributes()
+				.getValue("Spring-Boot-Classpath-Index"))
+						.isEqualTo("BOOT-INF/classpath.idx");
+		try (JarFile jarFile = new JarFile(dest)) {
+			String index = StreamUtils.copyToString(
+					jarFile.getInputStream(jarFile.getEntry("BOOT-INF/classpath.idx")),
+					StandardCharsets.UTF_8);
+			assertThat(index).isEqualTo("BOOT-INF/classes/\n com/\n com/example/\n"
+					+ "BOOT-INF/lib/" + library.getName()
+					+ "\n com/\n com/example/\n com/example/library/\n");
+		}
+	}
+
+	@Test
+	public void layeredJarLayout() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		File library = createLibrary();
+		File snapshotLibrary = this.temporaryFolder.newFile("lib-1.0-SNAPSHOT.jar");
+		FileCopyUtils.copy(createLibrary(), snapshotLibrary);
+		Repackager repackager = new Repackager(source);
+		repackager.setLayout(new Layouts.LayeredJar());
+		repackager.repackage(dest, (callback) -> {
+			callback.library(new Library(library, LibraryScope.COMPILE));
+			callback.library(new Library(snapshotLibrary, LibraryScope.COMPILE));
+		});
+		assertThat(hasLauncherClasses(dest)).isTrue();
+		assertThat(hasEntry(dest,
+				"BOOT-INF/layers/application/classes/com/example/Application.class"))
+						.isTrue();
+		assertThat(hasEntry(dest, "BOOT-INF/layers/dependencies/" + library.getName()))
+				.isTrue();
+		assertThat(hasEntry(dest,
+				"BOOT-INF/layers/snapshot-dependencies/" + snapshotLibrary.getName()))
+						.isTrue();
+		Attributes attributes = getManifest(dest).getMainAttributes();
+		assertThat(attributes.getValue("Main-Class"))
+				.isEqualTo("org.springframework.boot.loader.LayeredJarLauncher");
+		assertThat(attributes.getValue("Spring-Boot-Classes"))
+				.isEqualTo("BOOT-INF/layers/application/classes/");
+	}
+
+	@Test
+	public void factoriesIndexIsWritten() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		this.testJarFile.addFile("META-INF/spring.factories",
+				createFactories("com.example.Factory=com.example.One"));
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		TestJarFile libraryJar = new TestJarFile(this.temporaryFolder);
+		libraryJar.addFile("META-INF/spring.factories",
+				createFactories(
+						"com.example.Factory=com.example.Two,\\\n com.example.Three\n"
+								+ "com.example.Other=com.example.Four"));
+		File library = libraryJar.getFile();
+		File libraryWithoutFactories = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.repackage(dest, (callback) -> {
+			callback.library(new Library(library, LibraryScope.COMPILE, false));
+			callback.library(
+					new Library(libraryWithoutFactories, LibraryScope.COMPILE, false));
+		});
+		assertThat(getManifest(dest).getMainAttributes()
+				.getValue("Spring-Boot-Factories-Index"))
+						.isEqualTo("BOOT-INF/factories.idx");
+		try (JarFile jarFile = new JarFile(dest)) {
+			String index = StreamUtils.copyToString(
+					jarFile.getInputStream(jarFile.getEntry("BOOT-INF/factories.idx")),
+					StandardCharsets.ISO_8859_1);
+			assertThat(index).isEqualTo("#archive=BOOT-INF/classes/\n"
+					+ "#archive=BOOT-INF/lib/" + library.getName() + "\n"
+					+ "#archive=BOOT-INF/lib/" + libraryWithoutFactories.getName() + "\n"
+					+ "com.example.Factory=com.example.One,com.example.Two,"
+					+ "com.example.Three\n" + "com.example.Other=com.example.Four\n");
+		}
+	}
+
+	@Test
+	public void factoriesIndexEscapesKeysAndValues() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		this.testJarFile.addFile("META-INF/spring.factories",
+				createFactories("com.example\\:Factory=com.example.Caf\\u00e9\n"
+						+ "com.example.Other=com.example.Two\\\\Three"));
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		new Repackager(source).repackage(dest, NO_LIBRARIES);
+		try (JarFile jarFile = new JarFile(dest)) {
+			InputStream inputStream = jarFile
+					.getInputStream(jarFile.getEntry("BOOT-INF/factories.idx"));
+			String index = StreamUtils.copyToString(inputStream,
+					StandardCharsets.ISO_8859_1);
+			assertThat(index).contains("com.example\\:Factory=com.example.Caf\\u00E9\n");
+			Properties properties = new Properties();
+			properties.load(
+					jarFile.getInputStream(jarFile.getEntry("BOOT-INF/factories.idx")));
+			assertThat(properties).containsEntry("com.example:Factory",
+					"com.example.Caf\u00e9");
+			assertThat(properties).containsEntry("com.example.Other",
+					"com.example.Two\\Three");
+		}
+	}
+
 	@Test
 	public void existingEntryThatMatchesUnpackLibraryIsMarkedForUnpack()
 			throws IOException {
@@ -664,6 +784,12 @@ public class RepackagerTests {
 		repackager.repackage(dest, NO_LIBRARIES);
 	}
 
+	private File createFactories(String content) throws IOException {
+		File factories = this.temporaryFolder.newFile();
+		FileCopyUtils.copy(content.getBytes(StandardCharsets.ISO_8859_1), factories);
+		return factories;
+	}
+
 	private File createLibrary() throws IOException {
 		TestJarFile library = new TestJarFile(this.temporaryFolder);
 		library.addClass("com/example/library/Library.class",
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.tools.sample.ClassWithMainMethod;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link SharedArchiveGenerator}.
+ *
+ * @author agent
+ */
+public class SharedArchiveGeneratorTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void sharedArchiveFileIsNextToJar() throws Exception {
+		File folder = this.temporaryFolder.newFolder();
+		File jar = new File(folder, "my-app-1.0.jar");
+		assertThat(SharedArchiveGenerator.getSharedArchiveFile(jar))
+				.isEqualTo(new File(folder, "my-app-1.0.jsa"));
+	}
+
+	@Test
+	public void sharedArchiveFileOfFileWithoutExtension() throws Exception {
+		File folder = this.temporaryFolder.newFolder();
+		File jar = new File(folder, "my-app");
+		assertThat(SharedArchiveGenerator.getSharedArchiveFile(jar))
+				.isEqualTo(new File(folder, "my-app.jsa"));
+	}
+
+	@Test
+	public void generateWhenJarDoesNotExistThrowsException() throws Exception {
+		File jar = new File(this.temporaryFolder.getRoot(), "missing.jar");
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new SharedArchiveGenerator().generate(jar))
+				.withMessageContaining("Jar must be an existing file");
+	}
+
+	@Test
+	public void setTrainingRunTimeoutWhenZeroThrowsException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new SharedArchiveGenerator().setTrainingRunTimeout(0,
+						TimeUnit.SECONDS))
+				.withMessageContaining("Timeout must be greater than 0");
+	}
+
+	@Test
+	public void generateCreatesArchiveThatIsUsedWhenLaunchingJar() throws Exception {
+		SharedArchiveGenerator generator = new SharedArchiveGenerator();
+		Assume.assumeTrue(generator.isSupported());
+		TestJarFile testJarFile = new TestJarFile(this.temporaryFolder);
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS,
+				ClassWithMainMethod.class.getName());
+		testJarFile.addManifest(manifest);
+		testJarFile.addClass("org/springframework/boot/loader/tools/sample/"
+				+ "ClassWithMainMethod.class", ClassWithMainMethod.class);
+		File jar = testJarFile.getFile();
+		File sharedArchive = generator.generate(jar);
+		assertThat(sharedArchive)
+				.isEqualTo(SharedArchiveGenerator.getSharedArchiveFile(jar));
+		assertThat(sharedArchive).isFile();
+		List<String> arguments = new ArrayList<>(generator.getLaunchOptions());
+		arguments.add("-Xshare:on");
+		arguments.add("-XX:SharedArchiveFile=" + sharedArchive.getName());
+		arguments.add("-verbose:class");
+		arguments.add("-jar");
+		arguments.add(jar.getName());
+		Process process = new JavaExecutable()
+				.processBuilder(arguments.toArray(new String[0]))
+				.directory(jar.getParentFile()).redirectErrorStream(true).start();
+		String output = FileCopyUtils.copyToString(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+		assertThat(process.waitFor()).as(output).isEqualTo(0);
+		assertThat(output).contains("Hello World");
+		assertThat(output).contains(
+				ClassWithMainMethod.class.getName() + " source: shared objects file");
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the packages contained in each nested archive of an executable archive. The
+ * index is written when the archive is repackaged and allows the
+ * {@link LaunchedURLClassLoader} to go directly to the archives that own a package.
+ * <p>
+ * The index is a UTF-8 text file. Each line that does not start with a space names a
+ * nested archive entry (for example {@code BOOT-INF/lib/spring-core.jar} or
+ * {@code BOOT-INF/classes/}). Each following line that starts with a space names a
+ * package folder (for example {@code org/springframework/core/}) that contains at least
+ * one entry of that archive, either directly or in one of its sub-folders.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public final class ClassPathIndex {
+
+	/**
+	 * The name of the manifest attribute that contains the location of the index.
+	 */
+	public static final String MANIFEST_ATTRIBUTE = "Spring-Boot-Classpath-Index";
+
+	private final Map<String, Set<String>> archivePackages;
+
+	private ClassPathIndex(Map<String, Set<String>> archivePackages) {
+		this.archivePackages = archivePackages;
+	}
+
+	/**
+	 * Return the URLs that own each indexed package, in the order that they appear in the
+	 * given {@code urls}.
+	 * @param urls the class path URLs
+	 * @return the owners of each package or {@code null} if any of the URLs is not
+	 * covered by this index
+	 */
+	Map<String, URL[]> getPackageOwners(URL[] urls) {
+		Map<String, List<URL>> owners = new HashMap<>();
+		for (URL url : urls) {
+			Set<String> packages = this.archivePackages.get(getArchiveName(url));
+			if (packages == null) {
+				return null;
+			}
+			for (String packageName : packages) {
+				owners.computeIfAbsent(packageName, (key) -> new ArrayList<>(1)).add(url);
+			}
+		}
+		Map<String, URL[]> result = new HashMap<>(owners.size());
+		owners.forEach((packageName, packageOwners) -> result.put(packageName,
+				packageOwners.toArray(new URL[0])));
+		return result;
+	}
+
+	private String getArchiveName(URL url) {
+		String name = getNestedArchiveName(url);
+		if (name == null) {
+			return null;
+		}
+		return this.archivePackages.containsKey(name) ? name : name + "/";
+	}
+
+	/**
+	 * Return the name of the nested archive entry that the given URL refers to, for
+	 * example {@code BOOT-INF/lib/spring-core.jar} or {@code BOOT-INF/classes}.
+	 * @param url the URL of a nested archive
+	 * @return the name of the nested archive entry or {@code null} if the URL does not
+	 * refer to a nested archive
+	 */
+	static String getNestedArchiveName(URL url) {
+		String file = url.getFile();
+		if (!"jar".equals(url.getProtocol()) || !file.endsWith("!/")) {
+			return null;
+		}
+		file = file.substring(0, file.length() - 2);
+		int separator = file.lastIndexOf("!/");
+		if (separator == -1) {
+			return null;
+		}
+		return file.substring(separator + 2);
+	}
+
+	/**
+	 * Load a {@link ClassPathIndex} from the given input stream. The stream is closed
+	 * once the index has been read.
+	 * @param inputStream the source input stream
+	 * @return the loaded index
+	 * @throws IOException on read error
+	 */
+	public static ClassPathIndex load(InputStream inputStream) throws IOException {
+		Map<String, Set<String>> archivePackages = new LinkedHashMap<>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			Set<String> packages = null;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				if (line.charAt(0) == ' ') {
+					if (packages == null) {
+						throw new IOException("Malformed class path index");
+					}
+					packages.add(line.substring(1));
+				}
+				else {
+					packages = new LinkedHashSet<>();
+					archivePackages.put(line, packages);
+				}
+			}
+		}
+		return new ClassPathIndex(archivePackages);
+	}
+
+}
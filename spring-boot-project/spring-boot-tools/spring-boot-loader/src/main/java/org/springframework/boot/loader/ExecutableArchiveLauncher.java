@@ -16,6 +16,8 @@
 
 package org.springframework.boot.loader;
 
+import java.io.IOException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.jar.JarEntry;
@@ -64,6 +66,55 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 		return mainClass;
 	}
 
+	@Override
+	protected ClassLoader createClassLoader(URL[] urls) throws Exception {
+		return new LaunchedURLClassLoader(urls, getClass().getClassLoader(),
+				getClassPathIndex(), getFactoriesIndex());
+	}
+
+	/**
+	 * Return the {@link ClassPathIndex} written when the archive was repackaged.
+	 * @return the class path index or {@code null} if the archive has no index
+	 * @throws Exception if the index cannot be read
+	 */
+	protected ClassPathIndex getClassPathIndex() throws Exception {
+		Manifest manifest = this.archive.getManifest();
+		String location = (manifest != null)
+				? manifest.getMainAttributes().getValue(ClassPathIndex.MANIFEST_ATTRIBUTE)
+				: null;
+		if (location == null) {
+			return null;
+		}
+		try {
+			URL url = new URL(this.archive.getUrl(), location);
+			return ClassPathIndex.load(url.openStream());
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Return the {@link FactoriesIndex} written when the archive was repackaged.
+	 * @return the factories index or {@code null} if the archive has no index
+	 * @throws Exception if the index cannot be read
+	 */
+	protected FactoriesIndex getFactoriesIndex() throws Exception {
+		Manifest manifest = this.archive.getManifest();
+		String location = (manifest != null)
+				? manifest.getMainAttributes().getValue(FactoriesIndex.MANIFEST_ATTRIBUTE)
+				: null;
+		if (location == null) {
+			return null;
+		}
+		try {
+			return FactoriesIndex.load(new URL(this.archive.getUrl(), location));
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
 	@Override
 	protected List<Archive> getClassPathArchives() throws Exception {
 		List<Archive> archives = new ArrayList<>(
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Index of the {@code META-INF/spring.factories} files of the nested archives of an
+ * executable archive. The index is written when the archive is repackaged and merges the
+ * factories of every nested archive into a single file so that the
+ * {@link LaunchedURLClassLoader} does not have to search each archive for them.
+ * <p>
+ * The index uses the standard {@code spring.factories} format. It starts with a comment
+ * line of the form {@code #archive=<name>} for each nested archive that was indexed (for
+ * example {@code #archive=BOOT-INF/lib/spring-core.jar}). Archive names are escaped in
+ * the same way as property values.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public final class FactoriesIndex {
+
+	/**
+	 * The name of the manifest attribute that contains the location of the index.
+	 */
+	public static final String MANIFEST_ATTRIBUTE = "Spring-Boot-Factories-Index";
+
+	static final String FACTORIES_RESOURCE_LOCATION = "META-INF/spring.factories";
+
+	private static final String ARCHIVE_PREFIX = "#archive=";
+
+	private final URL location;
+
+	private final Set<String> archiveNames;
+
+	private FactoriesIndex(URL location, Set<String> archiveNames) {
+		this.location = location;
+		this.archiveNames = archiveNames;
+	}
+
+	/**
+	 * Return the location of the merged {@code spring.factories} file.
+	 * @return the location of the index
+	 */
+	URL getLocation() {
+		return this.location;
+	}
+
+	/**
+	 * Return whether the index covers exactly the given {@code urls}.
+	 * @param urls the class path URLs
+	 * @return {@code true} if each URL is indexed and no other archive is indexed
+	 */
+	boolean covers(URL[] urls) {
+		if (urls.length != this.archiveNames.size()) {
+			return false;
+		}
+		Set<String> covered = new HashSet<>(urls.length);
+		for (URL url : urls) {
+			String name = ClassPathIndex.getNestedArchiveName(url);
+			if (name == null) {
+				return false;
+			}
+			if (!this.archiveNames.contains(name)) {
+				name = name + "/";
+			}
+			if (!this.archiveNames.contains(name) || !covered.add(name)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Load a {@link FactoriesIndex} from the given location.
+	 * @param location the location of the index
+	 * @return the loaded index
+	 * @throws IOException on read error
+	 */
+	public static FactoriesIndex load(URL location) throws IOException {
+		Set<String> archiveNames = new HashSet<>();
+		try (InputStream inputStream = location.openStream();
+				BufferedReader reader = new BufferedReader(new InputStreamReader(
+						inputStream, StandardCharsets.ISO_8859_1))) {
+			String line;
+			while ((line = reader.readLine()) != null
+					&& line.startsWith(ARCHIVE_PREFIX)) {
+				archiveNames.add(unescape(line.substring(ARCHIVE_PREFIX.length())));
+			}
+		}
+		return new FactoriesIndex(location, archiveNames);
+	}
+
+	private static String unescape(String value) throws IOException {
+		if (value.indexOf('\\') == -1) {
+			return value;
+		}
+		Properties properties = new Properties();
+		properties.load(new StringReader("value=" + value));
+		return properties.getProperty("value");
+	}
+
+}
@@ -23,7 +23,9 @@ import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.security.AccessController;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Map;
 import java.util.jar.JarFile;
 
 import org.springframework.boot.loader.jar.Handler;
@@ -41,19 +43,64 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		ClassLoader.registerAsParallelCapable();
 	}
 
+	private static final URL[] NO_URLS = {};
+
+	private final Map<String, URL[]> packageOwners;
+
+	private final URL factoriesLocation;
+
 	/**
 	 * Create a new {@link LaunchedURLClassLoader} instance.
 	 * @param urls the URLs from which to load classes and resources
 	 * @param parent the parent class loader for delegation
 	 */
 	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent) {
+		this(urls, parent, null);
+	}
+
+	/**
+	 * Create a new {@link LaunchedURLClassLoader} instance.
+	 * @param urls the URLs from which to load classes and resources
+	 * @param parent the parent class loader for delegation
+	 * @param classPathIndex an index of the packages in each URL or {@code null}. The
+	 * index is only used if it covers all of the URLs
+	 * @since 2.1.0
+	 */
+	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent,
+			ClassPathIndex classPathIndex) {
+		this(urls, parent, classPathIndex, null);
+	}
+
+	/**
+	 * Create a new {@link LaunchedURLClassLoader} instance.
+	 * @param urls the URLs from which to load classes and resources
+	 * @param parent the parent class loader for delegation
+	 * @param classPathIndex an index of the packages in each URL or {@code null}. The
+	 * index is only used if it covers all of the URLs
+	 * @param factoriesIndex an index of the {@code spring.factories} of each URL or
+	 * {@code null}. The index is only used if it covers exactly the URLs
+	 * @since 2.1.0
+	 */
+	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent,
+			ClassPathIndex classPathIndex, FactoriesIndex factoriesIndex) {
 		super(urls, parent);
+		this.packageOwners = (classPathIndex != null)
+				? classPathIndex.getPackageOwners(urls) : null;
+		this.factoriesLocation = (factoriesIndex != null && factoriesIndex.covers(urls))
+				? factoriesIndex.getLocation() : null;
 	}
 
 	@Override
 	public URL findResource(String name) {
+		URL[] owners = getPackageOwners(name);
+		if (owners == NO_URLS) {
+			return null;
+		}
 		Handler.setUseFastConnectionExceptions(true);
 		try {
+			if (owners != null && isSimpleName(name)) {
+				return findResource(owners, name);
+			}
 			return super.findResource(name);
 		}
 		finally {
@@ -61,8 +108,68 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	private URL findResource(URL[] owners, String name) {
+		for (URL owner : owners) {
+			try {
+				JarFile jarFile = getJarFile(owner);
+				if (jarFile != null && jarFile.getEntry(name) != null) {
+					return new URL(owner, name);
+				}
+			}
+			catch (IOException ex) {
+				// Ignore
+			}
+		}
+		return null;
+	}
+
+	private boolean isSimpleName(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			char ch = name.charAt(i);
+			if (!Character.isLetterOrDigit(ch) && ch != '/' && ch != '.' && ch != '-'
+					&& ch != '_' && ch != '$') {
+				return false;
+			}
+		}
+		return !name.startsWith("/");
+	}
+
+	/**
+	 * Return the URLs that own the package of the given resource name.
+	 * @param name the resource name
+	 * @return the owning URLs, an empty array if no URL contains the package or
+	 * {@code null} if the index cannot be used
+	 */
+	private URL[] getPackageOwners(String name) {
+		if (this.packageOwners == null) {
+			return null;
+		}
+		int lastSlash = name.lastIndexOf('/');
+		if (lastSlash <= 0) {
+			return null;
+		}
+		URL[] owners = this.packageOwners.get(name.substring(0, lastSlash + 1));
+		return (owners != null) ? owners : NO_URLS;
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		if (getPackageOwners(name.replace('.', '/')) == NO_URLS) {
+			throw new ClassNotFoundException(name);
+		}
+		return super.findClass(name);
+	}
+
 	@Override
 	public Enumeration<URL> findResources(String name) throws IOException {
+		if (this.factoriesLocation != null
+				&& FactoriesIndex.FACTORIES_RESOURCE_LOCATION.equals(name)) {
+			return Collections
+					.enumeration(Collections.singletonList(this.factoriesLocation));
+		}
+		if (getPackageOwners(name) == NO_URLS) {
+			return Collections.emptyEnumeration();
+		}
 		Handler.setUseFastConnectionExceptions(true);
 		try {
 			return new UseFastConnectionExceptionsEnumeration(super.findResources(name));
@@ -131,18 +238,15 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 			AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
 				String packageEntryName = packageName.replace('.', '/') + "/";
 				String classEntryName = className.replace('.', '/') + ".class";
-				for (URL url : getURLs()) {
+				URL[] owners = getPackageOwners(classEntryName);
+				for (URL url : (owners != null) ? owners : getURLs()) {
 					try {
-						URLConnection connection = url.openConnection();
-						if (connection instanceof JarURLConnection) {
-							JarFile jarFile = ((JarURLConnection) connection)
-									.getJarFile();
-							if (jarFile.getEntry(classEntryName) != null
-									&& jarFile.getEntry(packageEntryName) != null
-									&& jarFile.getManifest() != null) {
-								definePackage(packageName, jarFile.getManifest(), url);
-								return null;
-							}
+						JarFile jarFile = getJarFile(url);
+						if (jarFile != null && jarFile.getEntry(classEntryName) != null
+								&& jarFile.getEntry(packageEntryName) != null
+								&& jarFile.getManifest() != null) {
+							definePackage(packageName, jarFile.getManifest(), url);
+							return null;
 						}
 					}
 					catch (IOException ex) {
@@ -157,6 +261,14 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	private JarFile getJarFile(URL url) throws IOException {
+		URLConnection connection = url.openConnection();
+		if (connection instanceof JarURLConnection) {
+			return ((JarURLConnection) connection).getJarFile();
+		}
+		return null;
+	}
+
 	/**
 	 * Clear URL caches.
 	 */
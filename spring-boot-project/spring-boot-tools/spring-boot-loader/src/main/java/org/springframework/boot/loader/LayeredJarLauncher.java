@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.ExplodedArchive;
+
+/**
+ * {@link Launcher} for layered JAR based archives. This launcher assumes that dependency
+ * jars are included inside {@code /BOOT-INF/layers/dependencies} and
+ * {@code /BOOT-INF/layers/snapshot-dependencies} directories and that application classes
+ * are included inside a {@code /BOOT-INF/layers/application/classes} directory.
+ * <p>
+ * Each layer can be extracted separately, for example into its own container image layer.
+ * When the archive has been extracted, the launcher loads classes using a plain
+ * {@link URLClassLoader} rather than reading the nested jars.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class LayeredJarLauncher extends ExecutableArchiveLauncher {
+
+	static final String BOOT_INF_LAYERS = "BOOT-INF/layers/";
+
+	static final String APPLICATION_CLASSES = BOOT_INF_LAYERS + "application/classes/";
+
+	static final String DEPENDENCIES = BOOT_INF_LAYERS + "dependencies/";
+
+	static final String SNAPSHOT_DEPENDENCIES = BOOT_INF_LAYERS
+			+ "snapshot-dependencies/";
+
+	public LayeredJarLauncher() {
+	}
+
+	protected LayeredJarLauncher(Archive archive) {
+		super(archive);
+	}
+
+	@Override
+	protected boolean isNestedArchive(Archive.Entry entry) {
+		if (entry.isDirectory()) {
+			return entry.getName().equals(APPLICATION_CLASSES);
+		}
+		String name = entry.getName();
+		return (name.startsWith(DEPENDENCIES) || name.startsWith(SNAPSHOT_DEPENDENCIES))
+				&& name.endsWith(".jar");
+	}
+
+	@Override
+	protected ClassLoader createClassLoader(List<Archive> archives) throws Exception {
+		if (!(getArchive() instanceof ExplodedArchive)) {
+			return super.createClassLoader(archives);
+		}
+		URL[] urls = new URL[archives.size()];
+		for (int i = 0; i < urls.length; i++) {
+			urls[i] = getFileUrl(archives.get(i).getUrl());
+		}
+		return new URLClassLoader(urls, getClass().getClassLoader());
+	}
+
+	/**
+	 * Return a {@code file:} URL for the given URL of an extracted archive, unwrapping
+	 * the {@code jar:} URL of an extracted jar.
+	 * @param url the archive URL
+	 * @return the file URL
+	 * @throws Exception if the URL cannot be created
+	 */
+	private URL getFileUrl(URL url) throws Exception {
+		String file = url.getFile();
+		if ("jar".equals(url.getProtocol()) && file.endsWith("!/")
+				&& file.indexOf("!/") == file.length() - 2) {
+			return new URL(file.substring(0, file.length() - 2));
+		}
+		return url;
+	}
+
+	public static void main(String[] args) throws Exception {
+		new LayeredJarLauncher().launch(args);
+	}
+
+}
@@ -22,15 +22,31 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}.
+ * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}. The file
+ * can optionally be memory-mapped, in which case reads are served directly from the
+ * mapped region rather than by seeking and reading the file.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
  */
 public class RandomAccessDataFile implements RandomAccessData {
 
+	/**
+	 * System property that can be set to {@code true} to memory-map files by default.
+	 * Mapped files that are larger than 2GB are read without being mapped.
+	 * @since 2.1.0
+	 */
+	public static final String MEMORY_MAPPED_PROPERTY = "spring.boot.loader.memory-mapped";
+
 	private final FileAccess fileAccess;
 
 	private final long offset;
@@ -43,10 +59,23 @@ public class RandomAccessDataFile implements RandomAccessData {
 	 * @throws IllegalArgumentException if the file is null or does not exist
 	 */
 	public RandomAccessDataFile(File file) {
+		this(file, Boolean.getBoolean(MEMORY_MAPPED_PROPERTY));
+	}
+
+	/**
+	 * Create a new {@link RandomAccessDataFile} backed by the specified file.
+	 * @param file the underlying file
+	 * @param memoryMapped if the file should be memory-mapped. A mapping cannot be
+	 * released until it is garbage collected so, on some platforms, a mapped file cannot
+	 * be deleted until that has happened
+	 * @throws IllegalArgumentException if the file is null or does not exist
+	 * @since 2.1.0
+	 */
+	public RandomAccessDataFile(File file, boolean memoryMapped) {
 		if (file == null) {
 			throw new IllegalArgumentException("File must not be null");
 		}
-		this.fileAccess = new FileAccess(file);
+		this.fileAccess = new FileAccess(file, memoryMapped);
 		this.offset = 0L;
 		this.length = file.length();
 	}
@@ -203,57 +232,183 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 	}
 
+	/**
+	 * Provides access to the underlying file using a pool of {@link RandomAccessFile}
+	 * instances so that concurrent reads do not contend on a single file pointer.
+	 */
 	private static final class FileAccess {
 
-		private final Object monitor = new Object();
+		private static final int MAX_POOL_SIZE = Math.max(2,
+				Runtime.getRuntime().availableProcessors());
 
 		private final File file;
 
-		private RandomAccessFile randomAccessFile;
+		private final Queue<PooledFile> pool = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger poolSize = new AtomicInteger();
+
+		private final AtomicInteger generation = new AtomicInteger();
 
-		private FileAccess(File file) {
+		private volatile boolean memoryMapped;
+
+		private volatile ByteBuffer mappedBuffer;
+
+		private FileAccess(File file, boolean memoryMapped) {
 			this.file = file;
-			openIfNecessary();
+			this.memoryMapped = memoryMapped;
+			release(open());
 		}
 
 		private int read(byte[] bytes, long position, int offset, int length)
 				throws IOException {
-			synchronized (this.monitor) {
-				openIfNecessary();
-				this.randomAccessFile.seek(position);
-				return this.randomAccessFile.read(bytes, offset, length);
+			ByteBuffer mappedBuffer = getMappedBuffer();
+			if (mappedBuffer != null) {
+				if (position >= mappedBuffer.limit()) {
+					return -1;
+				}
+				ByteBuffer view = mappedBuffer.duplicate();
+				view.position((int) position);
+				int read = Math.min(length, view.remaining());
+				view.get(bytes, offset, read);
+				return read;
+			}
+			PooledFile pooledFile = acquire();
+			try {
+				pooledFile.randomAccessFile.seek(position);
+				return pooledFile.randomAccessFile.read(bytes, offset, length);
+			}
+			finally {
+				release(pooledFile);
+			}
+		}
+
+		private int readByte(long position) throws IOException {
+			ByteBuffer mappedBuffer = getMappedBuffer();
+			if (mappedBuffer != null) {
+				return (position < mappedBuffer.limit())
+						? mappedBuffer.get((int) position) & 0xFF : -1;
+			}
+			PooledFile pooledFile = acquire();
+			try {
+				pooledFile.randomAccessFile.seek(position);
+				return pooledFile.randomAccessFile.read();
+			}
+			finally {
+				release(pooledFile);
 			}
 		}
 
-		private void openIfNecessary() {
-			if (this.randomAccessFile == null) {
-				try {
-					this.randomAccessFile = new RandomAccessFile(this.file, "r");
+		/**
+		 * Return a buffer that maps the whole file, creating it if necessary.
+		 * @return the mapped buffer or {@code null} if the file is not memory-mapped
+		 * @throws IOException if the file cannot be mapped
+		 */
+		private ByteBuffer getMappedBuffer() throws IOException {
+			if (!this.memoryMapped) {
+				return null;
+			}
+			ByteBuffer mappedBuffer = this.mappedBuffer;
+			if (mappedBuffer == null) {
+				synchronized (this) {
+					if (this.mappedBuffer == null) {
+						this.mappedBuffer = map();
+					}
+					mappedBuffer = this.mappedBuffer;
 				}
-				catch (FileNotFoundException ex) {
-					throw new IllegalArgumentException(String.format("File %s must exist",
-							this.file.getAbsolutePath()));
+			}
+			return mappedBuffer;
+		}
+
+		private ByteBuffer map() throws IOException {
+			// Use a dedicated file as interrupting a channel operation closes the file
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(this.file,
+					"r")) {
+				FileChannel channel = randomAccessFile.getChannel();
+				long size = channel.size();
+				if (size > Integer.MAX_VALUE) {
+					this.memoryMapped = false;
+					return null;
 				}
+				MappedByteBuffer mapped = channel.map(MapMode.READ_ONLY, 0, size);
+				return mapped.asReadOnlyBuffer();
+			}
+		}
+
+		private PooledFile acquire() {
+			PooledFile pooledFile = this.pool.poll();
+			if (pooledFile == null) {
+				return open();
+			}
+			this.poolSize.decrementAndGet();
+			return pooledFile;
+		}
+
+		private PooledFile open() {
+			try {
+				return new PooledFile(new RandomAccessFile(this.file, "r"),
+						this.generation.get());
+			}
+			catch (FileNotFoundException ex) {
+				throw new IllegalArgumentException(
+						String.format("File %s must exist", this.file.getAbsolutePath()));
+			}
+		}
+
+		private void release(PooledFile pooledFile) {
+			if (pooledFile.generation != this.generation.get()) {
+				closeQuietly(pooledFile);
+				return;
+			}
+			if (this.poolSize.incrementAndGet() > MAX_POOL_SIZE) {
+				this.poolSize.decrementAndGet();
+				closeQuietly(pooledFile);
+				return;
+			}
+			this.pool.offer(pooledFile);
+			if (pooledFile.generation != this.generation.get()
+					&& this.pool.remove(pooledFile)) {
+				// The file access was closed while we were returning the file
+				this.poolSize.decrementAndGet();
+				closeQuietly(pooledFile);
 			}
 		}
 
 		private void close() throws IOException {
-			synchronized (this.monitor) {
-				if (this.randomAccessFile != null) {
-					this.randomAccessFile.close();
-					this.randomAccessFile = null;
-				}
+			this.mappedBuffer = null;
+			this.generation.incrementAndGet();
+			PooledFile pooledFile = this.pool.poll();
+			while (pooledFile != null) {
+				this.poolSize.decrementAndGet();
+				pooledFile.randomAccessFile.close();
+				pooledFile = this.pool.poll();
 			}
 		}
 
-		private int readByte(long position) throws IOException {
-			synchronized (this.monitor) {
-				openIfNecessary();
-				this.randomAccessFile.seek(position);
-				return this.randomAccessFile.read();
+		private void closeQuietly(PooledFile pooledFile) {
+			try {
+				pooledFile.randomAccessFile.close();
+			}
+			catch (IOException ex) {
+				// Ignore
 			}
 		}
 
 	}
 
+	/**
+	 * A {@link RandomAccessFile} held in the {@link FileAccess} pool.
+	 */
+	private static final class PooledFile {
+
+		private final RandomAccessFile randomAccessFile;
+
+		private final int generation;
+
+		private PooledFile(RandomAccessFile randomAccessFile, int generation) {
+			this.randomAccessFile = randomAccessFile;
+			this.generation = generation;
+		}
+
+	}
+
 }
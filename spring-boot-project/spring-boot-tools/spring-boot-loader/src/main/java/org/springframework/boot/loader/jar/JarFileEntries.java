@@ -19,11 +19,9 @@ package org.springframework.boot.loader.jar;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.zip.ZipEntry;
 
 import org.springframework.boot.loader.data.RandomAccessData;
@@ -38,6 +36,12 @@ import org.springframework.boot.loader.data.RandomAccessData;
  * <p>
  * A typical Spring Boot application will have somewhere in the region of 10,500 entries
  * which should consume about 122K.
+ * <p>
+ * Recently used entries are held in a fixed size cache that can be read and updated
+ * concurrently without locking. Each entry has a single slot determined by its index so
+ * an entry simply replaces whatever previously occupied that slot. The size of the cache
+ * can be configured using the {@value #ENTRY_CACHE_SIZE_PROPERTY} system property, a
+ * value of {@code 0} disables caching. Entries of signed jars are always cached.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -50,7 +54,13 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private static final char NO_SUFFIX = 0;
 
-	protected static final int ENTRY_CACHE_SIZE = 25;
+	protected static final int ENTRY_CACHE_SIZE = 256;
+
+	/**
+	 * The name of the system property that can be used to configure the maximum number of
+	 * entries cached for each jar.
+	 */
+	static final String ENTRY_CACHE_SIZE_PROPERTY = "spring.boot.loader.entry-cache-size";
 
 	private final JarFile jarFile;
 
@@ -66,19 +76,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private int[] positions;
 
-	private final Map<Integer, FileHeader> entriesCache = Collections
-			.synchronizedMap(new LinkedHashMap<Integer, FileHeader>(16, 0.75f, true) {
-
-				@Override
-				protected boolean removeEldestEntry(
-						Map.Entry<Integer, FileHeader> eldest) {
-					if (JarFileEntries.this.jarFile.isSigned()) {
-						return false;
-					}
-					return size() >= ENTRY_CACHE_SIZE;
-				}
-
-			});
+	private AtomicReferenceArray<CachedEntry> entriesCache;
 
 	JarFileEntries(JarFile jarFile, JarEntryFilter filter) {
 		this.jarFile = jarFile;
@@ -118,6 +116,18 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		for (int i = 0; i < this.size; i++) {
 			this.positions[positions[i]] = i;
 		}
+		int cacheSize = (this.jarFile.isSigned() ? this.size
+				: Math.min(getEntryCacheSize(), this.size));
+		this.entriesCache = new AtomicReferenceArray<>(Math.max(cacheSize, 0));
+	}
+
+	private int getEntryCacheSize() {
+		try {
+			return Integer.getInteger(ENTRY_CACHE_SIZE_PROPERTY, ENTRY_CACHE_SIZE);
+		}
+		catch (SecurityException ex) {
+			return ENTRY_CACHE_SIZE;
+		}
 	}
 
 	int getSize() {
@@ -242,7 +252,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	private <T extends FileHeader> T getEntry(int index, Class<T> type,
 			boolean cacheEntry) {
 		try {
-			FileHeader cached = this.entriesCache.get(index);
+			FileHeader cached = getCachedEntry(index);
 			FileHeader entry = (cached != null) ? cached
 					: CentralDirectoryFileHeader.fromRandomAccessData(
 							this.centralDirectoryData,
@@ -252,7 +262,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 				entry = new JarEntry(this.jarFile, (CentralDirectoryFileHeader) entry);
 			}
 			if (cacheEntry && cached != entry) {
-				this.entriesCache.put(index, entry);
+				putCachedEntry(index, entry);
 			}
 			return (T) entry;
 		}
@@ -261,6 +271,22 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		}
 	}
 
+	private FileHeader getCachedEntry(int index) {
+		AtomicReferenceArray<CachedEntry> cache = this.entriesCache;
+		if (cache.length() == 0) {
+			return null;
+		}
+		CachedEntry cached = cache.get(index % cache.length());
+		return (cached != null && cached.index == index) ? cached.entry : null;
+	}
+
+	private void putCachedEntry(int index, FileHeader entry) {
+		AtomicReferenceArray<CachedEntry> cache = this.entriesCache;
+		if (cache.length() > 0) {
+			cache.set(index % cache.length(), new CachedEntry(index, entry));
+		}
+	}
+
 	private int getFirstIndex(int hashCode) {
 		int index = Arrays.binarySearch(this.hashCodes, 0, this.size, hashCode);
 		if (index < 0) {
@@ -273,13 +299,32 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	}
 
 	public void clearCache() {
-		this.entriesCache.clear();
+		AtomicReferenceArray<CachedEntry> cache = this.entriesCache;
+		for (int i = 0; i < cache.length(); i++) {
+			cache.set(i, null);
+		}
 	}
 
 	private AsciiBytes applyFilter(AsciiBytes name) {
 		return (this.filter != null) ? this.filter.apply(name) : name;
 	}
 
+	/**
+	 * A cached entry along with the index that it was loaded from.
+	 */
+	private static final class CachedEntry {
+
+		private final int index;
+
+		private final FileHeader entry;
+
+		CachedEntry(int index, FileHeader entry) {
+			this.index = index;
+			this.entry = entry;
+		}
+
+	}
+
 	/**
 	 * Iterator for contained entries.
 	 */
@@ -16,11 +16,24 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.jar.JarFile;
@@ -40,6 +53,9 @@ public class LaunchedURLClassLoaderTests {
 	@Rule
 	public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	@Test
 	public void resolveResourceFromArchive() throws Exception {
 		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
@@ -105,4 +121,115 @@ public class LaunchedURLClassLoaderTests {
 		}
 	}
 
+	@Test
+	public void resolveFromNestedWithClassPathIndex() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL url = jarFile.getNestedJarFile(jarFile.getEntry("nested.jar")).getUrl();
+		ClassPathIndex index = ClassPathIndex.load(new ByteArrayInputStream(
+				"nested.jar\n META-INF/\n".getBytes(StandardCharsets.UTF_8)));
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, index);
+		URL resource = loader.getResource("META-INF/MANIFEST.MF");
+		assertThat(resource.toString()).isEqualTo(url + "META-INF/MANIFEST.MF");
+		assertThat(loader.getResource("META-INF/missing.txt")).isNull();
+		assertThat(loader.getResource("d/missing.dat")).isNull();
+		assertThat(loader.getResources("d/missing.dat").hasMoreElements()).isFalse();
+		assertThat(loader.getResource("3.dat")).isNotNull();
+		this.thrown.expect(ClassNotFoundException.class);
+		loader.loadClass("com.example.Missing");
+	}
+
+	@Test
+	public void resolveResourcesOfPackageWithOnlySubPackagesWithClassPathIndex()
+			throws Exception {
+		File file = this.temporaryFolder.newFile();
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(file))) {
+			byte[] nested = createJar("com/", "com/example/", "com/example/sub/",
+					"com/example/sub/Sample.class");
+			JarEntry entry = new JarEntry("nested.jar");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(nested.length);
+			CRC32 crc32 = new CRC32();
+			crc32.update(nested);
+			entry.setCrc(crc32.getValue());
+			jarOutputStream.putNextEntry(entry);
+			jarOutputStream.write(nested);
+			jarOutputStream.closeEntry();
+		}
+		JarFile jarFile = new JarFile(file);
+		URL url = jarFile.getNestedJarFile(jarFile.getEntry("nested.jar")).getUrl();
+		ClassPathIndex index = ClassPathIndex.load(new ByteArrayInputStream(
+				"nested.jar\n com/\n com/example/\n com/example/sub/\n"
+						.getBytes(StandardCharsets.UTF_8)));
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, index);
+		assertThat(loader.getResource("com/example/")).isNotNull();
+		List<URL> resources = Collections.list(loader.getResources("com/example/"));
+		assertThat(resources).hasSize(1);
+		assertThat(resources.get(0).toString()).isEqualTo(url + "com/example/");
+		assertThat(loader.getResource("com/example/sub/Sample.class")).isNotNull();
+	}
+
+	@Test
+	public void classPathIndexIsIgnoredWhenUrlsAreNotIndexed() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL url = jarFile.getNestedJarFile(jarFile.getEntry("nested.jar")).getUrl();
+		ClassPathIndex index = ClassPathIndex.load(new ByteArrayInputStream(
+				"another-nested.jar\n META-INF/\n".getBytes(StandardCharsets.UTF_8)));
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, index);
+		assertThat(loader.getResource("META-INF/MANIFEST.MF")).isNotNull();
+	}
+
+	@Test
+	public void resolveFactoriesFromFactoriesIndex() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL url = jarFile.getNestedJarFile(jarFile.getEntry("nested.jar")).getUrl();
+		FactoriesIndex index = FactoriesIndex.load(createFactoriesIndex(
+				"#archive=nested.jar\ncom.example.Factory=com.example.One\n"));
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, null, index);
+		List<URL> resources = Collections
+				.list(loader.getResources("META-INF/spring.factories"));
+		assertThat(resources).containsExactly(index.getLocation());
+	}
+
+	@Test
+	public void factoriesIndexIsIgnoredWhenUrlsAreNotIndexed() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL url = jarFile.getNestedJarFile(jarFile.getEntry("nested.jar")).getUrl();
+		FactoriesIndex index = FactoriesIndex.load(createFactoriesIndex(
+				"#archive=another-nested.jar\ncom.example.Factory=com.example.One\n"));
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, null, index);
+		assertThat(loader.getResources("META-INF/spring.factories").hasMoreElements())
+				.isFalse();
+	}
+
+	private byte[] createJar(String... entryNames) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JarOutputStream jarOutputStream = new JarOutputStream(bytes)) {
+			for (String entryName : entryNames) {
+				jarOutputStream.putNextEntry(new JarEntry(entryName));
+				jarOutputStream.closeEntry();
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private URL createFactoriesIndex(String content) throws Exception {
+		File index = this.temporaryFolder.newFile();
+		Files.write(index.toPath(), content.getBytes(StandardCharsets.ISO_8859_1));
+		return index.toURI().toURL();
+	}
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.junit.Test;
+
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.ExplodedArchive;
+import org.springframework.boot.loader.archive.JarFileArchive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LayeredJarLauncher}.
+ *
+ * @author agent
+ */
+public class LayeredJarLauncherTests extends AbstractExecutableArchiveLauncherTests {
+
+	@Test
+	public void archivedJarHasApplicationClassesAndDependenciesOnClasspath()
+			throws Exception {
+		File jarRoot = createLayeredJarArchive();
+		LayeredJarLauncher launcher = new LayeredJarLauncher(new JarFileArchive(jarRoot));
+		List<Archive> archives = launcher.getClassPathArchives();
+		String root = "jar:" + jarRoot.toURI().toURL() + "!/BOOT-INF/layers/";
+		assertThat(getUrls(archives)).containsOnly(
+				new URL(root + "application/classes!/"),
+				new URL(root + "dependencies/foo.jar!/"),
+				new URL(root + "snapshot-dependencies/bar-SNAPSHOT.jar!/"));
+		ClassLoader classLoader = launcher.createClassLoader(archives);
+		assertThat(classLoader).isInstanceOf(LaunchedURLClassLoader.class);
+	}
+
+	@Test
+	public void explodedJarUsesPlainUrlClassLoader() throws Exception {
+		File explodedRoot = explode(createLayeredJarArchive());
+		LayeredJarLauncher launcher = new LayeredJarLauncher(
+				new ExplodedArchive(explodedRoot, true));
+		List<Archive> archives = launcher.getClassPathArchives();
+		assertThat(archives).hasSize(3);
+		ClassLoader classLoader = launcher.createClassLoader(archives);
+		assertThat(classLoader).isExactlyInstanceOf(URLClassLoader.class);
+		File layers = new File(explodedRoot, "BOOT-INF/layers");
+		assertThat(((URLClassLoader) classLoader).getURLs()).containsOnly(
+				new File(layers, "application/classes").toURI().toURL(),
+				new File(layers, "dependencies/foo.jar").toURI().toURL(),
+				new File(layers, "snapshot-dependencies/bar-SNAPSHOT.jar").toURI()
+						.toURL());
+	}
+
+	private File createLayeredJarArchive() throws IOException {
+		File archive = this.temp.newFile("archive.jar");
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(archive))) {
+			jarOutputStream.putNextEntry(new JarEntry("BOOT-INF/"));
+			jarOutputStream.putNextEntry(new JarEntry("BOOT-INF/layers/"));
+			jarOutputStream.putNextEntry(new JarEntry("BOOT-INF/layers/application/"));
+			jarOutputStream
+					.putNextEntry(new JarEntry("BOOT-INF/layers/application/classes/"));
+			jarOutputStream.putNextEntry(new JarEntry("BOOT-INF/layers/dependencies/"));
+			writeNestedJar(jarOutputStream, "BOOT-INF/layers/dependencies/foo.jar");
+			jarOutputStream
+					.putNextEntry(new JarEntry("BOOT-INF/layers/snapshot-dependencies/"));
+			writeNestedJar(jarOutputStream,
+					"BOOT-INF/layers/snapshot-dependencies/bar-SNAPSHOT.jar");
+		}
+		return archive;
+	}
+
+	private void writeNestedJar(JarOutputStream jarOutputStream, String name)
+			throws IOException {
+		JarEntry entry = new JarEntry(name);
+		ByteArrayOutputStream nestedJar = new ByteArrayOutputStream();
+		new JarOutputStream(nestedJar).close();
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(nestedJar.size());
+		CRC32 crc32 = new CRC32();
+		crc32.update(nestedJar.toByteArray());
+		entry.setCrc(crc32.getValue());
+		jarOutputStream.putNextEntry(entry);
+		jarOutputStream.write(nestedJar.toByteArray());
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.boot.loader.data;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -309,4 +310,89 @@ public class RandomAccessDataFileTests {
 		}
 	}
 
+	@Test
+	public void readAfterCloseShouldReopenFile() throws Exception {
+		this.file.close();
+		assertThat(this.file.read(0, 256)).isEqualTo(BYTES);
+	}
+
+	@Test
+	public void concurrentReadsAndClose() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(20);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			int index = i;
+			results.add(executorService.submit(() -> {
+				if (index % 10 == 0) {
+					RandomAccessDataFileTests.this.file.close();
+				}
+				byte[] b = RandomAccessDataFileTests.this.file.getSubsection(0, 256)
+						.read();
+				return Arrays.equals(b, BYTES);
+			}));
+		}
+		for (Future<Boolean> future : results) {
+			assertThat(future.get()).isTrue();
+		}
+		executorService.shutdown();
+	}
+
+	@Test
+	public void memoryMappedRead() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, true);
+		try {
+			assertThat(file.read()).isEqualTo(BYTES);
+			assertThat(file.read(2, 3)).isEqualTo(new byte[] { 2, 3, 4 });
+		}
+		finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void memoryMappedInputStreamReadPastSubsection() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, true);
+		try {
+			InputStream inputStream = file.getSubsection(254, 2).getInputStream();
+			assertThat(inputStream.read()).isEqualTo(254);
+			byte[] b = new byte[3];
+			assertThat(inputStream.read(b)).isEqualTo(1);
+			assertThat(b).isEqualTo(new byte[] { (byte) 255, 0, 0 });
+			assertThat(inputStream.read()).isEqualTo(-1);
+		}
+		finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void memoryMappedReadAfterCloseShouldRemapFile() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, true);
+		file.read();
+		file.close();
+		assertThat(file.read(0, 256)).isEqualTo(BYTES);
+		file.close();
+	}
+
+	@Test
+	public void memoryMappedReadAfterInterruptedMappingShouldSucceed() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, true);
+		try {
+			Thread.currentThread().interrupt();
+			try {
+				file.read();
+			}
+			catch (IOException ex) {
+				// Expected when the interrupt is detected by the channel
+			}
+			finally {
+				Thread.interrupted();
+			}
+			assertThat(file.read(0, 256)).isEqualTo(BYTES);
+		}
+		finally {
+			file.close();
+		}
+	}
+
 }
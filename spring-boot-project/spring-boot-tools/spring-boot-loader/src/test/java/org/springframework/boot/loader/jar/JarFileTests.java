@@ -26,7 +26,13 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
@@ -503,4 +509,55 @@ public class JarFileTests {
 		}
 	}
 
+	@Test
+	public void getEntryReturnsCachedEntry() throws Exception {
+		ZipEntry entry = this.jarFile.getEntry("1.dat");
+		assertThat(this.jarFile.getEntry("1.dat")).isSameAs(entry);
+		this.jarFile.clearCache();
+		assertThat(this.jarFile.getEntry("1.dat")).isNotSameAs(entry);
+	}
+
+	@Test
+	public void getEntryWhenEntryCacheIsDisabled() throws Exception {
+		System.setProperty(JarFileEntries.ENTRY_CACHE_SIZE_PROPERTY, "0");
+		try {
+			JarFile jarFile = new JarFile(this.rootJarFile);
+			ZipEntry entry = jarFile.getEntry("1.dat");
+			assertThat(entry.getName()).isEqualTo("1.dat");
+			assertThat(jarFile.getEntry("1.dat")).isNotSameAs(entry);
+			jarFile.close();
+		}
+		finally {
+			System.clearProperty(JarFileEntries.ENTRY_CACHE_SIZE_PROPERTY);
+		}
+	}
+
+	@Test
+	public void getEntryWithSmallEntryCacheFromMultipleThreads() throws Exception {
+		System.setProperty(JarFileEntries.ENTRY_CACHE_SIZE_PROPERTY, "2");
+		try {
+			JarFile jarFile = new JarFile(this.rootJarFile);
+			String[] names = { "1.dat", "2.dat", "d/9.dat", "special/\u00EB.dat",
+					"nested.jar", "d/" };
+			ExecutorService executor = Executors.newFixedThreadPool(4);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						String name = names[j % names.length];
+						assertThat(jarFile.getEntry(name).getName()).isEqualTo(name);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+			executor.shutdown();
+			jarFile.close();
+		}
+		finally {
+			System.clearProperty(JarFileEntries.ENTRY_CACHE_SIZE_PROPERTY);
+		}
+	}
+
 }
@@ -19,9 +19,11 @@ package org.springframework.boot.maven;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.apache.maven.artifact.Artifact;
@@ -44,11 +46,13 @@ import org.springframework.boot.loader.tools.Layout;
 import org.springframework.boot.loader.tools.LayoutFactory;
 import org.springframework.boot.loader.tools.Layouts.Expanded;
 import org.springframework.boot.loader.tools.Layouts.Jar;
+import org.springframework.boot.loader.tools.Layouts.LayeredJar;
 import org.springframework.boot.loader.tools.Layouts.None;
 import org.springframework.boot.loader.tools.Layouts.War;
 import org.springframework.boot.loader.tools.Libraries;
 import org.springframework.boot.loader.tools.Repackager;
 import org.springframework.boot.loader.tools.Repackager.MainClassTimeoutWarningListener;
+import org.springframework.boot.loader.tools.SharedArchiveGenerator;
 
 /**
  * Repackages existing JAR and WAR archives so that they can be executed from the command
@@ -132,8 +136,8 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 
 	/**
 	 * The type of archive (which corresponds to how the dependencies are laid out inside
-	 * it). Possible values are JAR, WAR, ZIP, DIR, NONE. Defaults to a guess based on the
-	 * archive type.
+	 * it). Possible values are JAR, LAYERED_JAR, WAR, ZIP, DIR, NONE. Defaults to a guess
+	 * based on the archive type.
 	 * @since 1.0
 	 */
 	@Parameter
@@ -200,6 +204,32 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 	@Parameter(defaultValue = "false")
 	public boolean includeSystemScope;
 
+	/**
+	 * Generate a class data sharing archive for the repackaged jar. The jar is run once
+	 * to record the classes that it loads and the archive is written next to it with a
+	 * {@code .jsa} extension. The embedded launch script uses the archive automatically
+	 * when it is present. Requires Java 10 or later and is skipped otherwise.
+	 * @since 2.1.0
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean classDataSharing;
+
+	/**
+	 * The maximum time, in seconds, that the training run of the application is allowed
+	 * to take when generating a class data sharing archive.
+	 * @since 2.1.0
+	 */
+	@Parameter(defaultValue = "60")
+	private long classDataSharingTimeout = 60;
+
+	/**
+	 * Arguments that should be passed to the application during the training run used to
+	 * generate a class data sharing archive.
+	 * @since 2.1.0
+	 */
+	@Parameter
+	private String[] classDataSharingArguments;
+
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		if (this.project.getPackaging().equals("pom")) {
@@ -224,6 +254,9 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 		try {
 			LaunchScript launchScript = getLaunchScript();
 			repackager.repackage(target, libraries, launchScript);
+			if (this.classDataSharing) {
+				generateSharedArchive(target);
+			}
 		}
 		catch (IOException ex) {
 			throw new MojoExecutionException(ex.getMessage(), ex);
@@ -231,6 +264,23 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 		updateArtifact(source, target, repackager.getBackupFile());
 	}
 
+	private void generateSharedArchive(File target) throws IOException {
+		SharedArchiveGenerator generator = new SharedArchiveGenerator();
+		if (!generator.isSupported()) {
+			getLog().warn("Skipping class data sharing archive generation as it "
+					+ "requires Java 10 or later");
+			return;
+		}
+		getLog().info("Generating class data sharing archive for " + target);
+		generator.setTrainingRunTimeout(this.classDataSharingTimeout, TimeUnit.SECONDS);
+		if (this.classDataSharingArguments != null) {
+			generator.setTrainingRunArguments(
+					Arrays.asList(this.classDataSharingArguments));
+		}
+		File sharedArchive = generator.generate(target);
+		getLog().info("Class data sharing archive written to " + sharedArchive);
+	}
+
 	/**
 	 * Return the source {@link Artifact} to repackage. If a classifier is specified and
 	 * an artifact with that classifier exists, it is used. Otherwise, the main artifact
@@ -311,6 +361,10 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 		putIfMissing(properties, "initInfoDescription",
 				removeLineBreaks(this.project.getDescription()), this.project.getName(),
 				this.project.getArtifactId());
+		if (this.classDataSharing) {
+			putIfMissing(properties, "sharedArchiveOptions",
+					String.join(" ", new SharedArchiveGenerator().getLaunchOptions()));
+		}
 		return properties;
 	}
 
@@ -377,6 +431,11 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 		 */
 		JAR(new Jar()),
 
+		/**
+		 * Layered Jar Layout.
+		 */
+		LAYERED_JAR(new LayeredJar()),
+
 		/**
 		 * War Layout.
 		 */
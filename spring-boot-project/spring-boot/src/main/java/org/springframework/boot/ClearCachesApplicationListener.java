@@ -18,6 +18,7 @@ package org.springframework.boot;
 
 import java.lang.reflect.Method;
 
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.util.ReflectionUtils;
@@ -33,6 +34,7 @@ class ClearCachesApplicationListener
 	@Override
 	public void onApplicationEvent(ContextRefreshedEvent event) {
 		ReflectionUtils.clearCache();
+		Binder.clearCaches();
 		clearClassLoaderCaches(Thread.currentThread().getContextClassLoader());
 	}
 
@@ -45,6 +45,8 @@ import org.springframework.boot.Banner.Mode;
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimelineBeanPostProcessor;
 import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.boot.web.reactive.context.StandardReactiveWebEnvironment;
 import org.springframework.context.ApplicationContext;
@@ -245,6 +247,8 @@ public class SpringApplication {
 
 	private boolean isCustomEnvironment = false;
 
+	private StartupTimeline startupTimeline;
+
 	/**
 	 * Create a new {@link SpringApplication} instance. The application context will load
 	 * beans from the specified primary sources (see {@link SpringApplication class-level}
@@ -406,6 +410,12 @@ public class SpringApplication {
 		if (printedBanner != null) {
 			beanFactory.registerSingleton("springBootBanner", printedBanner);
 		}
+		if (this.startupTimeline != null) {
+			beanFactory.registerSingleton(StartupTimeline.BEAN_NAME,
+					this.startupTimeline);
+			beanFactory.addBeanPostProcessor(new StartupTimelineBeanPostProcessor(
+					this.startupTimeline, beanFactory));
+		}
 		if (beanFactory instanceof DefaultListableBeanFactory) {
 			((DefaultListableBeanFactory) beanFactory)
 					.setAllowBeanDefinitionOverriding(this.allowBeanDefinitionOverriding);
@@ -418,7 +428,7 @@ public class SpringApplication {
 	}
 
 	private void refreshContext(ConfigurableApplicationContext context) {
-		refresh(context);
+		recordStep("spring.boot.application.refresh", () -> refresh(context));
 		if (this.registerShutdownHook) {
 			try {
 				context.registerShutdownHook();
@@ -429,6 +439,19 @@ public class SpringApplication {
 		}
 	}
 
+	private void recordStep(String name, Runnable action) {
+		StartupTimeline.Step step = (this.startupTimeline != null)
+				? this.startupTimeline.start(name) : null;
+		try {
+			action.run();
+		}
+		finally {
+			if (step != null) {
+				step.end();
+			}
+		}
+	}
+
 	private void configureHeadlessProperty() {
 		System.setProperty(SYSTEM_PROPERTY_JAVA_AWT_HEADLESS, System.getProperty(
 				SYSTEM_PROPERTY_JAVA_AWT_HEADLESS, Boolean.toString(this.headless)));
@@ -436,8 +459,10 @@ public class SpringApplication {
 
 	private SpringApplicationRunListeners getRunListeners(String[] args) {
 		Class<?>[] types = new Class<?>[] { SpringApplication.class, String[].class };
-		return new SpringApplicationRunListeners(logger, getSpringFactoriesInstances(
-				SpringApplicationRunListener.class, types, this, args));
+		return new SpringApplicationRunListeners(logger,
+				getSpringFactoriesInstances(SpringApplicationRunListener.class, types,
+						this, args),
+				this.startupTimeline);
 	}
 
 	private <T> Collection<T> getSpringFactoriesInstances(Class<T> type) {
@@ -811,14 +836,16 @@ public class SpringApplication {
 		runners.addAll(context.getBeansOfType(ApplicationRunner.class).values());
 		runners.addAll(context.getBeansOfType(CommandLineRunner.class).values());
 		AnnotationAwareOrderComparator.sort(runners);
-		for (Object runner : new LinkedHashSet<>(runners)) {
-			if (runner instanceof ApplicationRunner) {
-				callRunner((ApplicationRunner) runner, args);
-			}
-			if (runner instanceof CommandLineRunner) {
-				callRunner((CommandLineRunner) runner, args);
+		recordStep("spring.boot.application.runners", () -> {
+			for (Object runner : new LinkedHashSet<>(runners)) {
+				if (runner instanceof ApplicationRunner) {
+					callRunner((ApplicationRunner) runner, args);
+				}
+				if (runner instanceof CommandLineRunner) {
+					callRunner((CommandLineRunner) runner, args);
+				}
 			}
-		}
+		});
 	}
 
 	private void callRunner(ApplicationRunner runner, ApplicationArguments args) {
@@ -1047,6 +1074,28 @@ public class SpringApplication {
 		this.logStartupInfo = logStartupInfo;
 	}
 
+	/**
+	 * Returns the {@link StartupTimeline} that is used to record the steps of the
+	 * application's startup.
+	 * @return the startup timeline or {@code null} if startup is not recorded
+	 * @since 2.1.0
+	 */
+	public StartupTimeline getStartupTimeline() {
+		return this.startupTimeline;
+	}
+
+	/**
+	 * Sets the {@link StartupTimeline} that should be used to record the steps of the
+	 * application's startup. The timeline is registered as a bean so that it can be
+	 * inspected once the application has started. Defaults to {@code null}, meaning that
+	 * startup is not recorded.
+	 * @param startupTimeline the startup timeline or {@code null}
+	 * @since 2.1.0
+	 */
+	public void setStartupTimeline(StartupTimeline startupTimeline) {
+		this.startupTimeline = startupTimeline;
+	}
+
 	/**
 	 * Sets if a {@link CommandLinePropertySource} should be added to the application
 	 * context in order to expose arguments. Defaults to {@code true}.
@@ -19,9 +19,11 @@ package org.springframework.boot;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.commons.logging.Log;
 
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.util.ReflectionUtils;
@@ -37,46 +39,44 @@ class SpringApplicationRunListeners {
 
 	private final List<SpringApplicationRunListener> listeners;
 
+	private final StartupTimeline timeline;
+
 	SpringApplicationRunListeners(Log log,
-			Collection<? extends SpringApplicationRunListener> listeners) {
+			Collection<? extends SpringApplicationRunListener> listeners,
+			StartupTimeline timeline) {
 		this.log = log;
 		this.listeners = new ArrayList<>(listeners);
+		this.timeline = timeline;
 	}
 
 	public void starting() {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.starting();
-		}
+		doWithListeners("spring.boot.application.starting",
+				SpringApplicationRunListener::starting);
 	}
 
 	public void environmentPrepared(ConfigurableEnvironment environment) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.environmentPrepared(environment);
-		}
+		doWithListeners("spring.boot.application.environment-prepared",
+				(listener) -> listener.environmentPrepared(environment));
 	}
 
 	public void contextPrepared(ConfigurableApplicationContext context) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.contextPrepared(context);
-		}
+		doWithListeners("spring.boot.application.context-prepared",
+				(listener) -> listener.contextPrepared(context));
 	}
 
 	public void contextLoaded(ConfigurableApplicationContext context) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.contextLoaded(context);
-		}
+		doWithListeners("spring.boot.application.context-loaded",
+				(listener) -> listener.contextLoaded(context));
 	}
 
 	public void started(ConfigurableApplicationContext context) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.started(context);
-		}
+		doWithListeners("spring.boot.application.started",
+				(listener) -> listener.started(context));
 	}
 
 	public void running(ConfigurableApplicationContext context) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.running(context);
-		}
+		doWithListeners("spring.boot.application.running",
+				(listener) -> listener.running(context));
 	}
 
 	public void failed(ConfigurableApplicationContext context, Throwable exception) {
@@ -85,6 +85,20 @@ class SpringApplicationRunListeners {
 		}
 	}
 
+	private void doWithListeners(String stepName,
+			Consumer<SpringApplicationRunListener> listenerAction) {
+		StartupTimeline.Step step = (this.timeline != null)
+				? this.timeline.start(stepName) : null;
+		try {
+			this.listeners.forEach(listenerAction);
+		}
+		finally {
+			if (step != null) {
+				step.end();
+			}
+		}
+	}
+
 	private void callFailedListener(SpringApplicationRunListener listener,
 			ConfigurableApplicationContext context, Throwable exception) {
 		try {
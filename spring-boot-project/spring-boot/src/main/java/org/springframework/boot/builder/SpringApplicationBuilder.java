@@ -31,6 +31,7 @@ import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextInitializer;
@@ -312,6 +313,17 @@ public class SpringApplicationBuilder {
 		return this;
 	}
 
+	/**
+	 * Timeline that should be used to record the steps of the application's startup.
+	 * @param startupTimeline the startup timeline to use
+	 * @return the current builder
+	 * @since 2.1.0
+	 */
+	public SpringApplicationBuilder startupTimeline(StartupTimeline startupTimeline) {
+		this.application.setStartupTimeline(startupTimeline);
+		return this;
+	}
+
 	/**
 	 * Sets the {@link Banner} instance which will be used to print the banner when no
 	 * static banner file is provided.
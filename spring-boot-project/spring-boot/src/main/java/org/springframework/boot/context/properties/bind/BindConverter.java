@@ -21,6 +21,7 @@ import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -41,8 +42,11 @@ import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.util.Assert;
 
 /**
- * Utility to handle any conversion needed during binding. This class is not thread-safe
- * and so a new instance is created for each top-level bind.
+ * Utility to handle any conversion needed during binding. A single instance is used for
+ * all of the binds of a {@link Binder}. Which conversion service can handle a source and
+ * target type is not cached as the services may be configured further once binding has
+ * started. Instead, each {@link GenericConversionService} caches its own lookups and
+ * clears its cache when its converters change.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -217,11 +221,15 @@ final class BindConverter {
 
 	/**
 	 * {@link ConditionalGenericConverter} that delegates to {@link SimpleTypeConverter}.
+	 * Access to the type converter and its {@link PropertyEditor property editors} is
+	 * synchronized as editors hold state while converting.
 	 */
 	private static class TypeConverterConverter implements ConditionalGenericConverter {
 
 		private final SimpleTypeConverter typeConverter;
 
+		private final Map<Class<?>, PropertyEditor> conventionEditors = new HashMap<>();
+
 		TypeConverterConverter(SimpleTypeConverter typeConverter) {
 			this.typeConverter = typeConverter;
 		}
@@ -233,14 +241,37 @@ final class BindConverter {
 
 		@Override
 		public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
-			return getPropertyEditor(targetType.getType()) != null;
+			synchronized (this.typeConverter) {
+				return getPropertyEditor(targetType.getType()) != null;
+			}
 		}
 
 		@Override
 		public Object convert(Object source, TypeDescriptor sourceType,
 				TypeDescriptor targetType) {
 			SimpleTypeConverter typeConverter = this.typeConverter;
-			return typeConverter.convertIfNecessary(source, targetType.getType());
+			Class<?> type = targetType.getType();
+			synchronized (typeConverter) {
+				PropertyEditor editor = this.conventionEditors.get(type);
+				if (editor != null && source instanceof String) {
+					Object value = convertText(editor, (String) source);
+					if (type.isInstance(value)) {
+						return value;
+					}
+				}
+				return typeConverter.convertIfNecessary(source, type);
+			}
+		}
+
+		private Object convertText(PropertyEditor editor, String text) {
+			try {
+				editor.setValue(null);
+			}
+			catch (Exception ex) {
+				// Continue as the type converter does
+			}
+			editor.setAsText(text);
+			return editor.getValue();
 		}
 
 		private PropertyEditor getPropertyEditor(Class<?> type) {
@@ -255,7 +286,7 @@ final class BindConverter {
 				editor = typeConverter.findCustomEditor(type, null);
 			}
 			if (editor == null && String.class != type) {
-				editor = BeanUtils.findEditorByConvention(type);
+				editor = findEditorByConvention(type);
 			}
 			if (editor == null || EXCLUDED_EDITORS.contains(editor.getClass())) {
 				return null;
@@ -263,6 +294,19 @@ final class BindConverter {
 			return editor;
 		}
 
+		/**
+		 * Find the editor for the given type by convention, reusing the same instance for
+		 * each conversion rather than letting the type converter create a new one.
+		 * @param type the target type
+		 * @return the editor or {@code null}
+		 */
+		private PropertyEditor findEditorByConvention(Class<?> type) {
+			if (!this.conventionEditors.containsKey(type)) {
+				this.conventionEditors.put(type, BeanUtils.findEditorByConvention(type));
+			}
+			return this.conventionEditors.get(type);
+		}
+
 	}
 
 }
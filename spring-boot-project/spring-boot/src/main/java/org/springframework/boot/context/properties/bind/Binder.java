@@ -75,6 +75,8 @@ public class Binder {
 
 	private final Consumer<PropertyEditorRegistry> propertyEditorInitializer;
 
+	private volatile BindConverter converter;
+
 	/**
 	 * Create a new {@link Binder} instance for the specified sources. A
 	 * {@link DefaultFormattingConversionService} will be used for all conversion.
@@ -373,6 +375,25 @@ public class Binder {
 				new PropertySourcesPlaceholdersResolver(environment));
 	}
 
+	/**
+	 * Clear any metadata that has been cached by binders. Typically called once the
+	 * application context has been refreshed and further binding is unlikely.
+	 * @since 2.1.0
+	 */
+	public static void clearCaches() {
+		JavaBeanBinder.clearCache();
+	}
+
+	private BindConverter getBindConverter() {
+		BindConverter converter = this.converter;
+		if (converter == null) {
+			converter = BindConverter.get(this.conversionService,
+					this.propertyEditorInitializer);
+			this.converter = converter;
+		}
+		return converter;
+	}
+
 	/**
 	 * Context used when binding and the {@link BindContext} implementation.
 	 */
@@ -392,8 +413,7 @@ public class Binder {
 		private ConfigurationProperty configurationProperty;
 
 		Context() {
-			this.converter = BindConverter.get(Binder.this.conversionService,
-					Binder.this.propertyEditorInitializer);
+			this.converter = getBindConverter();
 		}
 
 		private void increaseDepth() {
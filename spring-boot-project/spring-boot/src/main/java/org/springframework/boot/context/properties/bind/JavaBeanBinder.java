@@ -32,6 +32,7 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyN
 import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * {@link BeanBinder} for mutable Java Beans.
@@ -85,12 +86,21 @@ class JavaBeanBinder implements BeanBinder {
 		return true;
 	}
 
+	/**
+	 * Clear the cache of introspected beans.
+	 */
+	static void clearCache() {
+		Bean.cache.clear();
+	}
+
 	/**
 	 * The bean being bound.
 	 */
 	private static class Bean<T> {
 
-		private static Bean<?> cached;
+		private static final int CACHE_SIZE = 256;
+
+		private static final Map<ResolvableType, Bean<?>> cache = new ConcurrentReferenceHashMap<>();
 
 		private final Class<?> type;
 
@@ -189,10 +199,14 @@ class JavaBeanBinder implements BeanBinder {
 			if (instance == null && !isInstantiable(type)) {
 				return null;
 			}
-			Bean<?> bean = Bean.cached;
+			ResolvableType resolvableType = bindable.getType();
+			Bean<?> bean = cache.get(resolvableType);
 			if (bean == null || !type.equals(bean.getType())) {
-				bean = new Bean<>(bindable.getType(), type);
-				cached = bean;
+				bean = new Bean<>(resolvableType, type);
+				if (cache.size() >= CACHE_SIZE) {
+					cache.clear();
+				}
+				cache.put(resolvableType, bean);
 			}
 			return (Bean<T>) bean;
 		}
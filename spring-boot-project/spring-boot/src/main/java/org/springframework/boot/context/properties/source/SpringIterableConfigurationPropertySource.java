@@ -18,12 +18,15 @@ package org.springframework.boot.context.properties.source;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
 import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
@@ -72,7 +75,11 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		ConfigurationProperty configurationProperty = super.getConfigurationProperty(
 				name);
 		if (configurationProperty == null) {
-			configurationProperty = find(getPropertyMappings(getCache()), name);
+			Cache cache = getCache();
+			PropertyMapping[] mappings = (cache != null)
+					? getMappingIndex(cache).getMappings(name)
+					: getPropertyMappings(cache);
+			configurationProperty = find(mappings, name);
 		}
 		return configurationProperty;
 	}
@@ -90,6 +97,10 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	@Override
 	public ConfigurationPropertyState containsDescendantOf(
 			ConfigurationPropertyName name) {
+		Cache cache = getCache();
+		if (cache != null) {
+			return getMappingIndex(cache).containsDescendantOf(name);
+		}
 		return ConfigurationPropertyState.search(this, name::isAncestorOf);
 	}
 
@@ -130,6 +141,15 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		return result;
 	}
 
+	private MappingIndex getMappingIndex(Cache cache) {
+		MappingIndex index = cache.getMappingIndex();
+		if (index == null) {
+			index = new MappingIndex(getPropertyMappings(cache));
+			cache.setMappingIndex(index);
+		}
+		return index;
+	}
+
 	private Cache getCache() {
 		CacheKey cacheKey = CacheKey.get(getPropertySource());
 		if (cacheKey == null) {
@@ -154,6 +174,8 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 
 		private PropertyMapping[] mappings;
 
+		private MappingIndex mappingIndex;
+
 		public List<ConfigurationPropertyName> getNames() {
 			return this.names;
 		}
@@ -170,6 +192,99 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			this.mappings = mappings;
 		}
 
+		public MappingIndex getMappingIndex() {
+			return this.mappingIndex;
+		}
+
+		public void setMappingIndex(MappingIndex mappingIndex) {
+			this.mappingIndex = mappingIndex;
+		}
+
+	}
+
+	/**
+	 * Element based trie of {@link PropertyMapping PropertyMappings} keyed on the
+	 * {@link Form#UNIFORM uniform} form of each {@link ConfigurationPropertyName}
+	 * element. Allows mapped lookups and descendant checks to be performed in time
+	 * proportional to the depth of the name rather than the number of mappings.
+	 */
+	private static final class MappingIndex {
+
+		private static final PropertyMapping[] NO_MAPPINGS = {};
+
+		private final Node root;
+
+		MappingIndex(PropertyMapping[] mappings) {
+			Node root = new Node();
+			for (PropertyMapping mapping : mappings) {
+				ConfigurationPropertyName name = mapping.getConfigurationPropertyName();
+				Node node = root;
+				for (int i = 0; i < name.getNumberOfElements(); i++) {
+					node = node.getOrCreateChild(name.getElement(i, Form.UNIFORM));
+				}
+				node.addMapping(mapping);
+			}
+			this.root = root;
+		}
+
+		public PropertyMapping[] getMappings(ConfigurationPropertyName name) {
+			Node node = find(name);
+			return (node != null) ? node.getMappings() : NO_MAPPINGS;
+		}
+
+		public ConfigurationPropertyState containsDescendantOf(
+				ConfigurationPropertyName name) {
+			Node node = find(name);
+			return (node != null && node.hasChildren())
+					? ConfigurationPropertyState.PRESENT
+					: ConfigurationPropertyState.ABSENT;
+		}
+
+		private Node find(ConfigurationPropertyName name) {
+			Node node = this.root;
+			for (int i = 0; i < name.getNumberOfElements() && node != null; i++) {
+				node = node.getChild(name.getElement(i, Form.UNIFORM));
+			}
+			return node;
+		}
+
+	}
+
+	/**
+	 * A single node of a {@link MappingIndex}.
+	 */
+	private static final class Node {
+
+		private Map<String, Node> children;
+
+		private PropertyMapping[] mappings = MappingIndex.NO_MAPPINGS;
+
+		Node getOrCreateChild(String element) {
+			if (this.children == null) {
+				this.children = new HashMap<>();
+			}
+			return this.children.computeIfAbsent(element, (key) -> new Node());
+		}
+
+		Node getChild(String element) {
+			return (this.children != null) ? this.children.get(element) : null;
+		}
+
+		boolean hasChildren() {
+			return this.children != null;
+		}
+
+		void addMapping(PropertyMapping mapping) {
+			PropertyMapping[] mappings = new PropertyMapping[this.mappings.length + 1];
+			System.arraycopy(this.mappings, 0, mappings, 0, this.mappings.length);
+			mappings[this.mappings.length] = mapping;
+			this.mappings = mappings;
+		}
+
+		PropertyMapping[] getMappings() {
+			return this.mappings;
+		}
+
 	}
 
 	private static final class CacheKey {
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * Records the steps of an application's startup, such as the
+ * {@link org.springframework.boot.SpringApplication} phases, the processing of
+ * auto-configuration imports and the creation of each bean. Recorded {@link Event events}
+ * are buffered in memory up to a fixed capacity, events that are recorded once the
+ * capacity has been reached are dropped.
+ * <p>
+ * A {@link Step} is {@link #start(String) started} and then {@link Step#end() ended} by
+ * the same thread. Events are recorded without locking so that a timeline can be used
+ * with very little overhead.
+ *
+ * @author agent
+ * @since 2.1.0
+ * @see org.springframework.boot.SpringApplication#setStartupTimeline(StartupTimeline)
+ */
+public class StartupTimeline {
+
+	/**
+	 * The name of the bean under which the timeline of a running application is
+	 * registered.
+	 */
+	public static final String BEAN_NAME = "springBootStartupTimeline";
+
+	private static final Comparator<Event> START_TIME_ORDER = Comparator
+			.comparingLong((event) -> event.startNanoTime);
+
+	private final Instant startTime;
+
+	private final long startNanoTime;
+
+	private final AtomicLong nextIndex = new AtomicLong();
+
+	private final AtomicReferenceArray<Event> events;
+
+	/**
+	 * Create a new {@link StartupTimeline} instance.
+	 * @param capacity the maximum number of events to record
+	 */
+	public StartupTimeline(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.startTime = Instant.now();
+		this.startNanoTime = System.nanoTime();
+		this.events = new AtomicReferenceArray<>(capacity);
+	}
+
+	/**
+	 * Start a new step with the given name. The step is recorded as an {@link Event} when
+	 * it is {@link Step#end() ended}.
+	 * @param name the name of the step
+	 * @return the started step
+	 */
+	public Step start(String name) {
+		Assert.hasText(name, "Name must not be empty");
+		return new Step(name);
+	}
+
+	/**
+	 * Return the time at which the timeline was created.
+	 * @return the start time
+	 */
+	public Instant getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Return the events that have been recorded, in the order that their steps were
+	 * started.
+	 * @return the recorded events
+	 */
+	public List<Event> getEvents() {
+		int size = (int) Math.min(this.nextIndex.get(), this.events.length());
+		List<Event> events = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Event event = this.events.get(i);
+			if (event != null) {
+				events.add(event);
+			}
+		}
+		events.sort(START_TIME_ORDER);
+		return Collections.unmodifiableList(events);
+	}
+
+	/**
+	 * Return the number of events that were dropped because the timeline's capacity had
+	 * been reached.
+	 * @return the number of dropped events
+	 */
+	public long getDroppedEvents() {
+		return Math.max(0, this.nextIndex.get() - this.events.length());
+	}
+
+	private void record(Event event) {
+		long index = this.nextIndex.getAndIncrement();
+		if (index < this.events.length()) {
+			this.events.set((int) index, event);
+		}
+	}
+
+	/**
+	 * A step of the startup that is in progress.
+	 */
+	public final class Step {
+
+		private final String name;
+
+		private final long startNanoTime;
+
+		private Map<String, String> tags;
+
+		private boolean ended;
+
+		private Step(String name) {
+			this.name = name;
+			this.startNanoTime = System.nanoTime();
+		}
+
+		/**
+		 * Add a tag that describes the step.
+		 * @param key the tag key
+		 * @param value the tag value
+		 * @return this step
+		 */
+		public Step tag(String key, Object value) {
+			Assert.hasText(key, "Key must not be empty");
+			if (this.tags == null) {
+				this.tags = new LinkedHashMap<>();
+			}
+			this.tags.put(key, String.valueOf(value));
+			return this;
+		}
+
+		/**
+		 * End the step and record it in the timeline. Calling this method more than once
+		 * has no effect.
+		 */
+		public void end() {
+			if (!this.ended) {
+				this.ended = true;
+				record(new Event(this.name,
+						StartupTimeline.this.startTime.plusNanos(
+								this.startNanoTime - StartupTimeline.this.startNanoTime),
+						this.startNanoTime, System.nanoTime() - this.startNanoTime,
+						this.tags));
+			}
+		}
+
+	}
+
+	/**
+	 * A step of the startup that has been recorded.
+	 */
+	public static final class Event {
+
+		private final String name;
+
+		private final Instant startTime;
+
+		private final long startNanoTime;
+
+		private final Duration duration;
+
+		private final Map<String, String> tags;
+
+		private Event(String name, Instant startTime, long startNanoTime,
+				long durationNanos, Map<String, String> tags) {
+			this.name = name;
+			this.startTime = startTime;
+			this.startNanoTime = startNanoTime;
+			this.duration = Duration.ofNanos(durationNanos);
+			this.tags = (tags != null) ? Collections.unmodifiableMap(tags)
+					: Collections.emptyMap();
+		}
+
+		/**
+		 * Return the name of the step.
+		 * @return the name
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the time at which the step started.
+		 * @return the start time
+		 */
+		public Instant getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return how long the step took.
+		 * @return the duration
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		/**
+		 * Return the tags that describe the step.
+		 * @return the tags
+		 */
+		public Map<String, String> getTags() {
+			return this.tags;
+		}
+
+		@Override
+		public String toString() {
+			return this.name + this.tags + " " + this.duration.toMillis() + "ms";
+		}
+
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
+import org.springframework.util.Assert;
+
+/**
+ * {@link InstantiationAwareBeanPostProcessor} that records the creation of each bean in a
+ * {@link StartupTimeline}. A step is started before a bean is instantiated and ended once
+ * it has been initialized. Beans that are created before this post-processor has been
+ * registered are not recorded.
+ * <p>
+ * Steps are tracked per thread in the order in which bean creation starts. When the
+ * creation of a bean fails its step is discarded, either once the creation of the bean
+ * that depended on it completes or, for a bean that was not created as a dependency, once
+ * the bean factory no longer reports it as being in creation.
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class StartupTimelineBeanPostProcessor
+		implements InstantiationAwareBeanPostProcessor {
+
+	private static final String STEP_NAME = "spring.beans.instantiate";
+
+	private final StartupTimeline timeline;
+
+	private final ConfigurableBeanFactory beanFactory;
+
+	private final ThreadLocal<Deque<InFlightStep>> inFlight = new ThreadLocal<>();
+
+	/**
+	 * Create a new {@link StartupTimelineBeanPostProcessor} instance.
+	 * @param timeline the timeline used to record the steps
+	 */
+	public StartupTimelineBeanPostProcessor(StartupTimeline timeline) {
+		this(timeline, null);
+	}
+
+	/**
+	 * Create a new {@link StartupTimelineBeanPostProcessor} instance.
+	 * @param timeline the timeline used to record the steps
+	 * @param beanFactory the bean factory used to detect beans whose creation has failed
+	 * or {@code null}
+	 */
+	public StartupTimelineBeanPostProcessor(StartupTimeline timeline,
+			ConfigurableBeanFactory beanFactory) {
+		Assert.notNull(timeline, "Timeline must not be null");
+		this.timeline = timeline;
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName)
+			throws BeansException {
+		if (beanName != null) {
+			Deque<InFlightStep> steps = this.inFlight.get();
+			if (steps == null) {
+				steps = new ArrayDeque<>();
+				this.inFlight.set(steps);
+			}
+			removeFailed(steps);
+			steps.push(new InFlightStep(beanName, this.timeline.start(STEP_NAME)
+					.tag("beanName", beanName).tag("beanType", beanClass.getName())));
+		}
+		return null;
+	}
+
+	private void removeFailed(Deque<InFlightStep> steps) {
+		if (this.beanFactory != null) {
+			while (!steps.isEmpty() && !this.beanFactory
+					.isCurrentlyInCreation(steps.peekLast().beanName)) {
+				steps.removeLast();
+			}
+		}
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName)
+			throws BeansException {
+		Deque<InFlightStep> steps = this.inFlight.get();
+		if (beanName == null || steps == null || !contains(steps, beanName)) {
+			return bean;
+		}
+		InFlightStep step = steps.pop();
+		while (!step.beanName.equals(beanName)) {
+			step = steps.pop();
+		}
+		step.step.end();
+		if (steps.isEmpty()) {
+			this.inFlight.remove();
+		}
+		return bean;
+	}
+
+	private boolean contains(Deque<InFlightStep> steps, String beanName) {
+		Iterator<InFlightStep> iterator = steps.iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().beanName.equals(beanName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * A {@link Step} for a bean whose creation is in progress.
+	 */
+	private static final class InFlightStep {
+
+		private final String beanName;
+
+		private final Step step;
+
+		private InFlightStep(String beanName, Step step) {
+			this.beanName = beanName;
+			this.step = step;
+		}
+
+	}
+
+}
@@ -22,9 +22,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 
@@ -57,6 +59,8 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.boot.context.event.ApplicationStartingEvent;
 import org.springframework.boot.context.event.SpringApplicationEvent;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Event;
 import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.boot.testsupport.rule.OutputCapture;
 import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
@@ -948,6 +952,27 @@ public class SpringApplicationTests {
 		verify(applicationContext.getApplicationContext()).registerShutdownHook();
 	}
 
+	@Test
+	public void startupTimelineRecordsStartup() {
+		SpringApplication application = new SpringApplication(ExampleConfig.class);
+		application.setWebApplicationType(WebApplicationType.NONE);
+		StartupTimeline timeline = new StartupTimeline(128);
+		application.setStartupTimeline(timeline);
+		this.context = application.run();
+		assertThat(this.context.getBean(StartupTimeline.BEAN_NAME)).isSameAs(timeline);
+		List<String> names = timeline.getEvents().stream().map(Event::getName)
+				.collect(Collectors.toList());
+		assertThat(names).contains("spring.boot.application.starting",
+				"spring.boot.application.environment-prepared",
+				"spring.boot.application.context-prepared",
+				"spring.boot.application.context-loaded",
+				"spring.boot.application.refresh", "spring.boot.application.started",
+				"spring.boot.application.runners", "spring.boot.application.running",
+				"spring.beans.instantiate");
+		assertThat(timeline.getEvents()).anySatisfy((event) -> assertThat(event.getTags())
+				.containsEntry("beanName", "someBean"));
+	}
+
 	@Test
 	public void registerListener() {
 		SpringApplication application = new SpringApplication(ExampleConfig.class,
@@ -20,6 +20,7 @@ import java.beans.PropertyEditorSupport;
 import java.io.File;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.junit.Before;
@@ -159,6 +160,32 @@ public class BindConverterTests {
 		assertThat(converted.getText()).isEqualTo("test");
 	}
 
+	@Test
+	public void convertWhenHasEditorByConventionShouldReuseEditor() {
+		BindConverter bindConverter = getPropertyEditorOnlyBindConverter(null);
+		int instances = ConventionTypeEditor.instances.get();
+		for (int i = 0; i < 10; i++) {
+			ConventionType converted = bindConverter.convert("test" + i,
+					ResolvableType.forClass(ConventionType.class));
+			assertThat(converted.getText()).isEqualTo("test" + i);
+		}
+		assertThat(ConventionTypeEditor.instances.get() - instances).isEqualTo(1);
+	}
+
+	@Test
+	public void convertWhenConverterAddedAfterFirstUseShouldUseConverter() {
+		GenericConversionService conversionService = new GenericConversionService();
+		BindConverter bindConverter = BindConverter.get(conversionService, null);
+		assertThat(bindConverter.canConvert("test",
+				ResolvableType.forClass(SampleType.class))).isFalse();
+		conversionService.addConverter(new SampleTypeConverter());
+		assertThat(bindConverter.canConvert("test",
+				ResolvableType.forClass(SampleType.class))).isTrue();
+		SampleType converted = bindConverter.convert("test",
+				ResolvableType.forClass(SampleType.class));
+		assertThat(converted.getText()).isEqualTo("test");
+	}
+
 	@Test
 	public void convertWhenHasEditorForCollectionElementShouldConvert() {
 		BindConverter bindConverter = getPropertyEditorOnlyBindConverter(
@@ -274,6 +301,12 @@ public class BindConverterTests {
 
 	static class ConventionTypeEditor extends PropertyEditorSupport {
 
+		static final AtomicInteger instances = new AtomicInteger();
+
+		ConventionTypeEditor() {
+			instances.incrementAndGet();
+		}
+
 		@Override
 		public void setAsText(String text) throws IllegalArgumentException {
 			ConventionType value = new ConventionType();
@@ -36,6 +36,7 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyN
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.MockConfigurationPropertySource;
 import org.springframework.boot.convert.Delimiter;
+import org.springframework.core.ResolvableType;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -498,6 +499,35 @@ public class JavaBeanBinderTests {
 		assertThat(bean.getCounter()).isEqualTo(42);
 	}
 
+	@Test
+	public void bindToGenericTypesShouldUseResolvedPropertyTypes() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.value", "123");
+		this.sources.add(source);
+		ExampleGenericBean<String> stringBean = this.binder
+				.bind("foo", Bindable.<ExampleGenericBean<String>>of(ResolvableType
+						.forClassWithGenerics(ExampleGenericBean.class, String.class)))
+				.get();
+		ExampleGenericBean<Integer> integerBean = this.binder
+				.bind("foo", Bindable.<ExampleGenericBean<Integer>>of(ResolvableType
+						.forClassWithGenerics(ExampleGenericBean.class, Integer.class)))
+				.get();
+		assertThat(stringBean.getValue()).isEqualTo("123");
+		assertThat(integerBean.getValue()).isEqualTo(123);
+	}
+
+	@Test
+	public void bindToClassAfterClearingCacheShouldBind() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.int-value", "12");
+		this.sources.add(source);
+		assertThat(this.binder.bind("foo", Bindable.of(ExampleValueBean.class)).get()
+				.getIntValue()).isEqualTo(12);
+		Binder.clearCaches();
+		assertThat(this.binder.bind("foo", Bindable.of(ExampleValueBean.class)).get()
+				.getIntValue()).isEqualTo(12);
+	}
+
 	public static class ExampleValueBean {
 
 		private int intValue;
@@ -918,4 +948,18 @@ public class JavaBeanBinderTests {
 
 	}
 
+	public static class ExampleGenericBean<T> {
+
+		private T value;
+
+		public T getValue() {
+			return this.value;
+		}
+
+		public void setValue(T value) {
+			this.value = value;
+		}
+
+	}
+
 }
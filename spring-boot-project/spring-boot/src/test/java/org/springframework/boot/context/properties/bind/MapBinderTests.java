@@ -16,6 +16,7 @@
 
 package org.springframework.boot.context.properties.bind;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -104,6 +105,22 @@ public class MapBinderTests {
 		assertThat(result).containsEntry("BiNg", "3");
 	}
 
+	@Test
+	public void bindToLargeMapOfCollectionsShouldConvertEachValue() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		for (int i = 0; i < 2000; i++) {
+			source.put("foo.key" + i, i + "s," + i + "m");
+		}
+		this.sources.add(source);
+		Bindable<Map<String, List<Duration>>> target = Bindable.of(ResolvableType
+				.forClassWithGenerics(Map.class, ResolvableType.forClass(String.class),
+						ResolvableType.forClassWithGenerics(List.class, Duration.class)));
+		Map<String, List<Duration>> result = this.binder.bind("foo", target).get();
+		assertThat(result).hasSize(2000);
+		assertThat(result.get("key1999")).containsExactly(Duration.ofSeconds(1999),
+				Duration.ofMinutes(1999));
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void bindToMapWithEmptyPrefix() {
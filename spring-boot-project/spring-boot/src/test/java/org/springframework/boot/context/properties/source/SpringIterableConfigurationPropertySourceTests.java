@@ -172,6 +172,58 @@ public class SpringIterableConfigurationPropertySourceTests {
 		assertThat(adapter.stream().count()).isEqualTo(3);
 	}
 
+	@Test
+	public void containsDescendantOfShouldCheckNestedAndIndexedNames() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("foo.bar-baz[0].spring", "value");
+		source.put("foo.map[Key.Name]", "value");
+		EnumerablePropertySource<?> propertySource = new MapPropertySource("test",
+				source);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, DefaultPropertyMapper.INSTANCE);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.EMPTY))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(
+				adapter.containsDescendantOf(ConfigurationPropertyName.of("foo.barbaz")))
+						.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter
+				.containsDescendantOf(ConfigurationPropertyName.of("foo.bar-baz[0]")))
+						.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(
+				ConfigurationPropertyName.of("foo.bar-baz[0].spring")))
+						.isEqualTo(ConfigurationPropertyState.ABSENT);
+		assertThat(adapter
+				.containsDescendantOf(ConfigurationPropertyName.of("foo.bar-baz[1]")))
+						.isEqualTo(ConfigurationPropertyState.ABSENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo.map")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.getConfigurationProperty(
+				ConfigurationPropertyName.of("foo.map[Key.Name]")).getValue())
+						.isEqualTo("value");
+		assertThat(adapter.getConfigurationProperty(
+				ConfigurationPropertyName.of("foo.map[key.name]"))).isNull();
+	}
+
+	@Test
+	public void propertySourceKeyDataChangeInvalidatesDescendantCache() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("key1.a", "value1");
+		EnumerablePropertySource<?> source = new MapPropertySource("test", map);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				source, DefaultPropertyMapper.INSTANCE);
+		ConfigurationPropertyName key2 = ConfigurationPropertyName.of("key2");
+		assertThat(adapter.containsDescendantOf(key2))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+		map.put("key2.b", "value2");
+		assertThat(adapter.containsDescendantOf(key2))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(
+				adapter.getConfigurationProperty(ConfigurationPropertyName.of("key2.b"))
+						.getValue()).isEqualTo("value2");
+	}
+
 	/**
 	 * Test {@link PropertySource} that's also an {@link OriginLookup}.
 	 */
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.context.startup.StartupTimeline.Event;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link StartupTimelineBeanPostProcessor}.
+ *
+ * @author agent
+ */
+public class StartupTimelineBeanPostProcessorTests {
+
+	private final StartupTimeline timeline = new StartupTimeline(16);
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final StartupTimelineBeanPostProcessor postProcessor = new StartupTimelineBeanPostProcessor(
+			this.timeline, this.beanFactory);
+
+	@Test
+	public void beanCreationIsRecorded() {
+		this.beanFactory.addBeanPostProcessor(this.postProcessor);
+		this.beanFactory.registerBeanDefinition("test",
+				new RootBeanDefinition(Object.class));
+		this.beanFactory.getBean("test");
+		assertThat(this.timeline.getEvents()).extracting(this::getBeanName)
+				.containsExactly("test");
+		assertThat(getInFlight()).isNull();
+	}
+
+	@Test
+	public void failedDependencyIsDiscardedWhenDependentIsCreated() {
+		this.beanFactory.addBeanPostProcessor(this.postProcessor);
+		this.beanFactory.registerBeanDefinition("failing",
+				new RootBeanDefinition(Failing.class));
+		this.beanFactory.registerBeanDefinition("dependent",
+				new RootBeanDefinition(Object.class, () -> {
+					try {
+						this.beanFactory.getBean("failing");
+					}
+					catch (BeanCreationException ex) {
+						// Continue without the failing bean
+					}
+					return new Object();
+				}));
+		this.beanFactory.getBean("dependent");
+		assertThat(this.timeline.getEvents()).extracting(this::getBeanName)
+				.containsExactly("dependent");
+		assertThat(getInFlight()).isNull();
+	}
+
+	@Test
+	public void failedBeanIsDiscardedWhenNextBeanIsCreated() {
+		this.beanFactory.addBeanPostProcessor(this.postProcessor);
+		this.beanFactory.registerBeanDefinition("failing",
+				new RootBeanDefinition(Failing.class));
+		this.beanFactory.registerBeanDefinition("test",
+				new RootBeanDefinition(Object.class));
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(() -> this.beanFactory.getBean("failing"));
+		this.beanFactory.getBean("test");
+		assertThat(this.timeline.getEvents()).extracting(this::getBeanName)
+				.containsExactly("test");
+		assertThat(getInFlight()).isNull();
+	}
+
+	private String getBeanName(Event event) {
+		return event.getTags().get("beanName");
+	}
+
+	private Object getInFlight() {
+		return ((ThreadLocal<?>) ReflectionTestUtils.getField(this.postProcessor,
+				"inFlight")).get();
+	}
+
+	static class Failing {
+
+		Failing() {
+			throw new IllegalStateException("Failed");
+		}
+
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.boot.context.startup.StartupTimeline.Event;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link StartupTimeline}.
+ *
+ * @author agent
+ */
+public class StartupTimelineTests {
+
+	@Test
+	public void createWhenCapacityIsZeroShouldThrowException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new StartupTimeline(0))
+				.withMessageContaining("Capacity must be greater than 0");
+	}
+
+	@Test
+	public void startWhenNameIsEmptyShouldThrowException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new StartupTimeline(1).start(""))
+				.withMessageContaining("Name must not be empty");
+	}
+
+	@Test
+	public void stepIsRecordedWhenEnded() {
+		StartupTimeline timeline = new StartupTimeline(10);
+		Step step = timeline.start("test").tag("count", 1);
+		assertThat(timeline.getEvents()).isEmpty();
+		step.end();
+		List<Event> events = timeline.getEvents();
+		assertThat(events).hasSize(1);
+		Event event = events.get(0);
+		assertThat(event.getName()).isEqualTo("test");
+		assertThat(event.getTags()).containsEntry("count", "1");
+		assertThat(event.getStartTime()).isAfterOrEqualTo(timeline.getStartTime());
+		assertThat(event.getDuration().isNegative()).isFalse();
+	}
+
+	@Test
+	public void stepIsRecordedOnceWhenEndedMoreThanOnce() {
+		StartupTimeline timeline = new StartupTimeline(10);
+		Step step = timeline.start("test");
+		step.end();
+		step.end();
+		assertThat(timeline.getEvents()).hasSize(1);
+	}
+
+	@Test
+	public void eventsAreOrderedByStartTime() {
+		StartupTimeline timeline = new StartupTimeline(10);
+		Step outer = timeline.start("outer");
+		timeline.start("inner").end();
+		outer.end();
+		assertThat(timeline.getEvents()).extracting(Event::getName)
+				.containsExactly("outer", "inner");
+	}
+
+	@Test
+	public void eventsAreDroppedWhenCapacityIsReached() {
+		StartupTimeline timeline = new StartupTimeline(2);
+		timeline.start("one").end();
+		timeline.start("two").end();
+		timeline.start("three").end();
+		assertThat(timeline.getEvents()).extracting(Event::getName).containsExactly("one",
+				"two");
+		assertThat(timeline.getDroppedEvents()).isEqualTo(1);
+	}
+
+}